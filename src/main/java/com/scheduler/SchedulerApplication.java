@@ -6,6 +6,8 @@ import com.scheduler.service.DistributedSchedulerService;
 import org.eclipse.jetty.ee10.servlet.ServletContextHandler;
 import org.eclipse.jetty.ee10.servlet.ServletHolder;
 import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -36,19 +38,23 @@ public class SchedulerApplication {
         SchedulerConfig config = SchedulerConfig.getInstance();
         logger.info("Starting Scheduler Application with config: {}", config);
         
-        schedulerService = new DistributedSchedulerService(
-                config.getInstanceId(), 
-                config.getKafkaBootstrapServers()
-        );
+        schedulerService = new DistributedSchedulerService(config);
         
-        SchedulerController controller = new SchedulerController(schedulerService);
+        SchedulerController controller = new SchedulerController(schedulerService, config);
         
-        server = new Server(config.getServerPort());
+        QueuedThreadPool threadPool = new QueuedThreadPool(config.getIntProperty("scheduler.server.max.threads", 200));
+        threadPool.setName("scheduler-http");
+        server = new Server(threadPool);
+        ServerConnector connector = new ServerConnector(server);
+        connector.setPort(config.getServerPort());
+        server.addConnector(connector);
         
         ServletContextHandler context = new ServletContextHandler();
         context.setContextPath(config.getContextPath());
         
-        context.addServlet(new ServletHolder(controller), "/*");
+        ServletHolder holder = new ServletHolder(controller);
+        holder.setAsyncSupported(true);
+        context.addServlet(holder, "/*");
         
         server.setHandler(context);
         server.start();
@@ -104,9 +110,14 @@ public class SchedulerApplication {
                 "     \"jobGroup\": \"default\",\n" +
                 "     \"scheduleTime\": \"2024-12-31T10:30:00\",\n" +
                 "     \"description\": \"Test job\",\n" +
-                "     \"recurring\": false\n" +
+                "     \"recurring\": false,\n" +
+                "     \"priority\": \"NORMAL\",\n" +
+                "     \"maxLatenessMs\": 5000,\n" +
+                "     \"misfirePolicy\": \"FIRE_ONCE_NOW\"\n" +
                 "   }\n" +
                 "\n" +
+                "   Batch: POST {}/create/batch with a JSON array or NDJSON stream of jobs\n" +
+                "\n" +
                 "2. Reschedule Job:\n" +
                 "   POST {}/reschedule\n" +
                 "   Content-Type: application/json\n" +
@@ -116,6 +127,8 @@ public class SchedulerApplication {
                 "     \"newScheduleTime\": \"2024-12-31T11:00:00\"\n" +
                 "   }\n" +
                 "\n" +
+                "   Batch: POST {}/reschedule/batch with {\"jobs\": [...], \"newScheduleTime\": ...}\n" +
+                "\n" +
                 "3. Cancel Job:\n" +
                 "   POST {}/cancel\n" +
                 "   Content-Type: application/json\n" +
@@ -124,13 +137,26 @@ public class SchedulerApplication {
                 "     \"jobGroup\": \"default\"\n" +
                 "   }\n" +
                 "\n" +
+                "   Batch: POST {}/cancel/batch with {\"jobs\": [{\"jobId\": ..., \"jobGroup\": ...}]}\n" +
+                "\n" +
                 "4. Get All Jobs:\n" +
-                "   GET {}/jobs\n" +
+                "   GET {}/jobs?group=default&limit=100&cursor=<nextCursor>\n" +
+                "   Add format=ndjson to stream every matching job\n" +
                 "\n" +
                 "5. Get Job Status:\n" +
-                "   GET {}/status/job-001\n" +
+                "   GET {}/status/job-001?group=<jobGroup>\n" +
+                "\n" +
+                "6. Metrics:\n" +
+                "   GET {}/metrics\n" +
+                "\n" +
+                "7. Bulk Operation (streams NDJSON progress):\n" +
+                "   POST {}/bulk\n" +
+                "   Body: {\"action\": \"CANCEL|PAUSE|RESUME|SHIFT\", \"group\": \"tenant-a\", \"shiftSeconds\": 3600}\n" +
+                "\n" +
+                "8. Cron Preview:\n" +
+                "   GET {}/cron/preview?expression=0+0/15+*+*+*+?&count=5\n" +
                 "\n" +
                 "===============================", 
-                baseUrl, baseUrl, baseUrl, baseUrl, baseUrl, baseUrl);
+                baseUrl, baseUrl, baseUrl, baseUrl, baseUrl, baseUrl, baseUrl, baseUrl, baseUrl, baseUrl, baseUrl, baseUrl);
     }
 }
\ No newline at end of file
@@ -61,6 +61,18 @@ public class SchedulerConfig {
         return properties.getProperty(key, defaultValue);
     }
 
+    public int getIntProperty(String key, int defaultValue) {
+        return Integer.parseInt(properties.getProperty(key, String.valueOf(defaultValue)).trim());
+    }
+
+    public long getLongProperty(String key, long defaultValue) {
+        return Long.parseLong(properties.getProperty(key, String.valueOf(defaultValue)).trim());
+    }
+
+    public boolean getBooleanProperty(String key, boolean defaultValue) {
+        return Boolean.parseBoolean(properties.getProperty(key, String.valueOf(defaultValue)).trim());
+    }
+
     @Override
     public String toString() {
         return "SchedulerConfig{" +
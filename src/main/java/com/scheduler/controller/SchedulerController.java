@@ -1,31 +1,73 @@
 package com.scheduler.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.scheduler.config.SchedulerConfig;
+import com.scheduler.model.BulkOperation;
+import com.scheduler.model.BulkResult;
 import com.scheduler.model.JobDetails;
+import com.scheduler.model.JobPage;
 import com.scheduler.model.SchedulerResponse;
 import com.scheduler.service.DistributedSchedulerService;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServlet;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.quartz.JobKey;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.text.ParseException;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class SchedulerController extends HttpServlet {
     private static final Logger logger = LoggerFactory.getLogger(SchedulerController.class);
+    private static final long ASYNC_TIMEOUT_MARGIN_MS = 2000;
+    // Keeps a shifted fire time, in milliseconds, far from overflowing.
+    private static final long MAX_SHIFT_SECONDS = 100L * 366 * 24 * 3600;
     
     private final DistributedSchedulerService schedulerService;
     private final ObjectMapper objectMapper;
+    // Existing endpoints keep Jackson's array dates; the /jobs listing and cron preview use ISO strings.
+    private final ObjectWriter isoWriter;
+    private final int batchChunkSize;
+    private final int batchInFlightChunks;
+    private final int defaultPageSize;
+    private final int maxPageSize;
 
-    public SchedulerController(DistributedSchedulerService schedulerService) {
+    public SchedulerController(DistributedSchedulerService schedulerService, SchedulerConfig config) {
         this.schedulerService = schedulerService;
         this.objectMapper = new ObjectMapper();
         this.objectMapper.findAndRegisterModules();
+        this.isoWriter = objectMapper.writer().without(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        this.batchChunkSize = config.getIntProperty("scheduler.batch.chunk.size", 500);
+        this.batchInFlightChunks = config.getIntProperty("scheduler.batch.inflight.chunks", 4);
+        this.defaultPageSize = config.getIntProperty("scheduler.jobs.page.size", 100);
+        this.maxPageSize = config.getIntProperty("scheduler.jobs.page.max", 1000);
     }
 
     @Override
@@ -41,12 +83,24 @@ public class SchedulerController extends HttpServlet {
                 case "/create":
                     handleCreateJob(req, resp);
                     break;
+                case "/create/batch":
+                    handleCreateJobBatch(req, resp);
+                    break;
                 case "/reschedule":
                     handleRescheduleJob(req, resp);
                     break;
                 case "/cancel":
                     handleCancelJob(req, resp);
                     break;
+                case "/reschedule/batch":
+                    handleRescheduleBatch(req, resp);
+                    break;
+                case "/cancel/batch":
+                    handleCancelBatch(req, resp);
+                    break;
+                case "/bulk":
+                    handleBulkOperation(req, resp);
+                    break;
                 default:
                     sendErrorResponse(resp, HttpServletResponse.SC_NOT_FOUND, "Endpoint not found");
             }
@@ -63,6 +117,10 @@ public class SchedulerController extends HttpServlet {
         try {
             if ("/jobs".equals(pathInfo)) {
                 handleGetJobs(req, resp);
+            } else if ("/metrics".equals(pathInfo)) {
+                handleGetMetrics(resp);
+            } else if ("/cron/preview".equals(pathInfo)) {
+                handleCronPreview(req, resp);
             } else if (pathInfo != null && pathInfo.startsWith("/status/")) {
                 String jobId = pathInfo.substring(8);
                 handleGetJobStatus(jobId, req, resp);
@@ -82,13 +140,92 @@ public class SchedulerController extends HttpServlet {
             return;
         }
 
-        boolean success = schedulerService.scheduleJob(jobDetails);
-        if (success) {
-            SchedulerResponse response = SchedulerResponse.success("Job scheduled successfully", jobDetails.getJobId());
-            sendJsonResponse(resp, HttpServletResponse.SC_OK, response);
-        } else {
-            sendErrorResponse(resp, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Failed to schedule job");
+        CompletableFuture<SchedulerResponse> future = schedulerService.scheduleJobAsync(jobDetails);
+        sendAsyncResponse(req, resp, future, "Failed to schedule job", HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+    }
+
+    private void handleCreateJobBatch(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        ObjectReader reader = objectMapper.readerFor(JobDetails.class);
+        int total = 0;
+        int scheduled = 0;
+        String parseError = null;
+
+        try (MappingIterator<JobDetails> jobs = reader.readValues(req.getInputStream())) {
+            resp.setStatus(HttpServletResponse.SC_OK);
+            resp.setContentType("application/json");
+            resp.setCharacterEncoding("UTF-8");
+
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(resp.getOutputStream())) {
+                generator.writeStartObject();
+                generator.writeBooleanField("success", true);
+                generator.writeStringField("message", "Batch processed");
+                generator.writeObjectFieldStart("data");
+                generator.writeArrayFieldStart("results");
+
+                List<JobDetails> chunk = new ArrayList<>(batchChunkSize);
+                Deque<CompletableFuture<List<SchedulerResponse>>> inFlight = new ArrayDeque<>();
+                while (true) {
+                    JobDetails next;
+                    try {
+                        next = nextBatchEntry(jobs);
+                    } catch (JsonProcessingException e) {
+                        // Entries already scheduled stay scheduled; report where the stream broke.
+                        logger.error("Error reading batch entry after {} jobs: {}", total + chunk.size(), e.getOriginalMessage());
+                        parseError = "Invalid job entry: " + e.getOriginalMessage();
+                        next = null;
+                    }
+                    if (next != null) {
+                        chunk.add(next);
+                    }
+                    if (chunk.size() >= batchChunkSize || (next == null && !chunk.isEmpty())) {
+                        inFlight.add(schedulerService.scheduleJobsAsync(new ArrayList<>(chunk)));
+                        total += chunk.size();
+                        chunk.clear();
+                    }
+                    // Results go out in request order; parsing only waits once too many chunks are outstanding.
+                    while (!inFlight.isEmpty() && (next == null || inFlight.peek().isDone()
+                            || inFlight.size() > batchInFlightChunks)) {
+                        scheduled += writeBatchResults(generator, inFlight.poll().join());
+                    }
+                    if (next == null) {
+                        break;
+                    }
+                }
+
+                generator.writeEndArray();
+                generator.writeNumberField("total", total);
+                generator.writeNumberField("scheduled", scheduled);
+                generator.writeNumberField("failed", total - scheduled);
+                if (parseError != null) {
+                    generator.writeStringField("error", parseError);
+                }
+                generator.writeEndObject();
+                generator.writeEndObject();
+            }
+        }
+        logger.info("Batch create processed {} jobs, {} scheduled", total, scheduled);
+    }
+
+    private static int writeBatchResults(JsonGenerator generator, List<SchedulerResponse> results) throws IOException {
+        int scheduled = 0;
+        for (SchedulerResponse result : results) {
+            generator.writeObject(result);
+            if (result.isSuccess()) {
+                scheduled++;
+            }
+        }
+        generator.flush();
+        return scheduled;
+    }
+
+    private JobDetails nextBatchEntry(MappingIterator<JobDetails> jobs) throws IOException {
+        while (jobs.hasNextValue()) {
+            JobDetails jobDetails = jobs.nextValue();
+            if (jobDetails != null) {
+                return jobDetails;
+            }
         }
+        return null;
     }
 
     private void handleRescheduleJob(HttpServletRequest req, HttpServletResponse resp) throws IOException {
@@ -105,21 +242,7 @@ public class SchedulerController extends HttpServlet {
                 rescheduleReq.newCronExpression
         );
 
-        future.thenAccept(response -> {
-            try {
-                sendJsonResponse(resp, HttpServletResponse.SC_OK, response);
-            } catch (IOException e) {
-                logger.error("Error sending reschedule response: {}", e.getMessage(), e);
-            }
-        }).exceptionally(throwable -> {
-            try {
-                sendErrorResponse(resp, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, 
-                        "Failed to reschedule job: " + throwable.getMessage());
-            } catch (IOException e) {
-                logger.error("Error sending error response: {}", e.getMessage(), e);
-            }
-            return null;
-        });
+        sendAsyncResponse(req, resp, future, "Failed to reschedule job", HttpServletResponse.SC_OK);
     }
 
     private void handleCancelJob(HttpServletRequest req, HttpServletResponse resp) throws IOException {
@@ -131,38 +254,245 @@ public class SchedulerController extends HttpServlet {
 
         CompletableFuture<SchedulerResponse> future = schedulerService.cancelJobAsync(cancelReq.jobId, cancelReq.jobGroup);
 
-        future.thenAccept(response -> {
-            try {
-                sendJsonResponse(resp, HttpServletResponse.SC_OK, response);
-            } catch (IOException e) {
-                logger.error("Error sending cancel response: {}", e.getMessage(), e);
+        sendAsyncResponse(req, resp, future, "Failed to cancel job", HttpServletResponse.SC_OK);
+    }
+
+    private void handleRescheduleBatch(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        BatchRequest batchReq = readBatchRequest(req);
+        List<JobKey> jobKeys = batchReq != null ? batchReq.toJobKeys() : null;
+        if (jobKeys == null) {
+            sendErrorResponse(resp, HttpServletResponse.SC_BAD_REQUEST, "Invalid batch reschedule request");
+            return;
+        }
+        if (batchReq.newScheduleTime == null
+                && (batchReq.newCronExpression == null || batchReq.newCronExpression.trim().isEmpty())) {
+            sendErrorResponse(resp, HttpServletResponse.SC_BAD_REQUEST, "newScheduleTime or newCronExpression is required");
+            return;
+        }
+
+        CompletableFuture<SchedulerResponse> future = schedulerService
+                .rescheduleJobsAsync(jobKeys, batchReq.newScheduleTime, batchReq.newCronExpression)
+                .thenApply(this::batchResponse);
+        sendAsyncResponse(req, resp, future, "Failed to reschedule jobs", HttpServletResponse.SC_OK);
+    }
+
+    private void handleCancelBatch(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        BatchRequest batchReq = readBatchRequest(req);
+        List<JobKey> jobKeys = batchReq != null ? batchReq.toJobKeys() : null;
+        if (jobKeys == null) {
+            sendErrorResponse(resp, HttpServletResponse.SC_BAD_REQUEST, "Invalid batch cancel request");
+            return;
+        }
+
+        CompletableFuture<SchedulerResponse> future = schedulerService.cancelJobsAsync(jobKeys)
+                .thenApply(this::batchResponse);
+        sendAsyncResponse(req, resp, future, "Failed to cancel jobs", HttpServletResponse.SC_OK);
+    }
+
+    private SchedulerResponse batchResponse(List<SchedulerResponse> results) {
+        int succeeded = 0;
+        for (SchedulerResponse result : results) {
+            if (result.isSuccess()) {
+                succeeded++;
             }
-        }).exceptionally(throwable -> {
-            try {
-                sendErrorResponse(resp, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, 
-                        "Failed to cancel job: " + throwable.getMessage());
-            } catch (IOException e) {
-                logger.error("Error sending error response: {}", e.getMessage(), e);
+        }
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("results", results);
+        data.put("total", results.size());
+        data.put("succeeded", succeeded);
+        data.put("failed", results.size() - succeeded);
+        return SchedulerResponse.success("Batch processed", null, data);
+    }
+
+    private void handleBulkOperation(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        BulkOperation operation;
+        try {
+            operation = objectMapper.readValue(req.getInputStream(), BulkOperation.class);
+        } catch (Exception e) {
+            logger.error("Error reading bulk operation: {}", e.getMessage(), e);
+            sendErrorResponse(resp, HttpServletResponse.SC_BAD_REQUEST, "Invalid bulk operation");
+            return;
+        }
+        String invalid = validateBulkOperation(operation);
+        if (invalid != null) {
+            sendErrorResponse(resp, HttpServletResponse.SC_BAD_REQUEST, invalid);
+            return;
+        }
+
+        resp.setStatus(HttpServletResponse.SC_OK);
+        resp.setContentType("application/x-ndjson");
+        resp.setCharacterEncoding("UTF-8");
+        AsyncContext asyncContext = req.startAsync();
+        asyncContext.setTimeout(schedulerService.getBulkTimeoutMs() + ASYNC_TIMEOUT_MARGIN_MS);
+        BulkStream stream = new BulkStream(asyncContext, objectMapper.writer()
+                .withRootValueSeparator("\n")
+                .writeValues(resp.getOutputStream()));
+
+        asyncContext.addListener(new AsyncListener() {
+            @Override
+            public void onTimeout(AsyncEvent event) {
+                logger.warn("Bulk operation timed out waiting for results");
+                CompletableFuture<Void> finished = stream.finishNow(
+                        SchedulerResponse.error("Bulk operation failed: response timeout"));
+                if (finished != null) {
+                    try {
+                        finished.get(ASYNC_TIMEOUT_MARGIN_MS, TimeUnit.MILLISECONDS);
+                    } catch (Exception e) {
+                        logger.warn("Could not finish timed out bulk response: {}", e.getMessage());
+                    }
+                }
+            }
+
+            @Override
+            public void onComplete(AsyncEvent event) {
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+                logger.error("Bulk request failed: {}", event.getThrowable() != null ? event.getThrowable().getMessage() : "unknown");
+                stream.abort();
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+            }
+        });
+
+        schedulerService.applyBulkAsync(operation, stream::write).whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                        ? throwable.getCause() : throwable;
+                logger.error("Bulk operation failed: {}", cause.getMessage(), cause);
+                stream.finish(SchedulerResponse.error("Bulk operation failed: " + cause.getMessage()));
+            } else {
+                stream.finish(result);
             }
-            return null;
         });
     }
 
+    private static String validateBulkOperation(BulkOperation operation) {
+        if (operation == null || operation.getAction() == null) {
+            return "action is required";
+        }
+        if (operation.getGroup() == null && operation.getGroupPrefix() == null && operation.getDataKey() == null) {
+            return "At least one of group, groupPrefix or dataKey is required";
+        }
+        if (operation.getGroup() != null && operation.getGroupPrefix() != null) {
+            return "group and groupPrefix are mutually exclusive";
+        }
+        if (operation.getAction() == BulkOperation.Action.SHIFT && operation.getShiftSeconds() == 0) {
+            return "shiftSeconds is required for SHIFT";
+        }
+        if (Math.abs(operation.getShiftSeconds()) > MAX_SHIFT_SECONDS) {
+            return "shiftSeconds must be within " + MAX_SHIFT_SECONDS + " seconds (100 years) either way";
+        }
+        return null;
+    }
+
     private void handleGetJobs(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        String jobGroup = req.getParameter("group");
+        String cursor = req.getParameter("cursor");
+        boolean stream = "ndjson".equalsIgnoreCase(req.getParameter("format"));
+
+        int limit;
         try {
-            var jobs = schedulerService.getAllJobs();
-            SchedulerResponse response = SchedulerResponse.success("Jobs retrieved successfully", null, jobs);
-            sendJsonResponse(resp, HttpServletResponse.SC_OK, response);
+            String limitParam = req.getParameter("limit");
+            limit = limitParam != null ? Integer.parseInt(limitParam) : (stream ? 0 : defaultPageSize);
+        } catch (NumberFormatException e) {
+            sendErrorResponse(resp, HttpServletResponse.SC_BAD_REQUEST, "Invalid limit");
+            return;
+        }
+        if (limit < 0 || (!stream && (limit == 0 || limit > maxPageSize))) {
+            sendErrorResponse(resp, HttpServletResponse.SC_BAD_REQUEST, "Limit must be between 1 and " + maxPageSize);
+            return;
+        }
+
+        try {
+            if (stream) {
+                streamJobs(resp, jobGroup, cursor, limit);
+                return;
+            }
+            JobPage page = schedulerService.getJobs(jobGroup, cursor, limit);
+            SchedulerResponse response = SchedulerResponse.success("Jobs retrieved successfully", null, page);
+            sendJsonResponse(resp, HttpServletResponse.SC_OK, response, isoWriter);
+        } catch (IllegalArgumentException e) {
+            sendErrorResponse(resp, HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
         } catch (Exception e) {
             logger.error("Error getting jobs: {}", e.getMessage(), e);
             sendErrorResponse(resp, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Failed to get jobs");
         }
     }
 
+    private void streamJobs(HttpServletResponse resp, String jobGroup, String cursor, int limit) throws IOException {
+        resp.setStatus(HttpServletResponse.SC_OK);
+        resp.setContentType("application/x-ndjson");
+        resp.setCharacterEncoding("UTF-8");
+
+        try (SequenceWriter writer = isoWriter
+                .withRootValueSeparator("\n")
+                .writeValues(resp.getOutputStream())) {
+            schedulerService.forEachJob(jobGroup, cursor, limit, summary -> {
+                try {
+                    writer.write(summary);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            logger.warn("Client stopped reading job stream: {}", e.getCause().getMessage());
+        }
+    }
+
+    private void handleCronPreview(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        String expression = req.getParameter("expression");
+        if (expression == null || expression.trim().isEmpty()) {
+            sendErrorResponse(resp, HttpServletResponse.SC_BAD_REQUEST, "expression is required");
+            return;
+        }
+        int count;
+        LocalDateTime from;
+        try {
+            String countParam = req.getParameter("count");
+            count = countParam != null ? Integer.parseInt(countParam) : 10;
+            String fromParam = req.getParameter("from");
+            from = fromParam != null ? LocalDateTime.parse(fromParam) : LocalDateTime.now();
+        } catch (NumberFormatException | DateTimeParseException e) {
+            sendErrorResponse(resp, HttpServletResponse.SC_BAD_REQUEST, "Invalid count or from");
+            return;
+        }
+        if (count < 1 || count > maxPageSize) {
+            sendErrorResponse(resp, HttpServletResponse.SC_BAD_REQUEST, "Count must be between 1 and " + maxPageSize);
+            return;
+        }
+
+        try {
+            Map<String, Object> preview = new LinkedHashMap<>();
+            preview.put("expression", expression.trim());
+            preview.put("from", from);
+            preview.put("fireTimes", schedulerService.previewCron(expression, from, count));
+            sendJsonResponse(resp, HttpServletResponse.SC_OK, SchedulerResponse.success("Cron preview", null, preview),
+                    isoWriter);
+        } catch (ParseException e) {
+            sendErrorResponse(resp, HttpServletResponse.SC_BAD_REQUEST, "Invalid cron expression: " + e.getMessage());
+        }
+    }
+
+    private void handleGetMetrics(HttpServletResponse resp) throws IOException {
+        SchedulerResponse response = SchedulerResponse.success("Metrics retrieved", null, schedulerService.getMetrics());
+        sendJsonResponse(resp, HttpServletResponse.SC_OK, response);
+    }
+
     private void handleGetJobStatus(String jobId, HttpServletRequest req, HttpServletResponse resp) throws IOException {
         try {
-            var status = schedulerService.getJobStatus(jobId);
-            SchedulerResponse response = SchedulerResponse.success("Job status retrieved", jobId, status);
+            var status = schedulerService.getJobStatus(jobId, req.getParameter("group"));
+            if (status == null) {
+                sendErrorResponse(resp, HttpServletResponse.SC_NOT_FOUND, "No status for job " + jobId);
+                return;
+            }
+            String skipReason = schedulerService.getJobSkipReason(jobId, req.getParameter("group"));
+            SchedulerResponse response = SchedulerResponse.success(
+                    skipReason != null ? "Job status retrieved; last fire skipped: " + skipReason : "Job status retrieved",
+                    jobId, status);
             sendJsonResponse(resp, HttpServletResponse.SC_OK, response);
         } catch (Exception e) {
             logger.error("Error getting job status: {}", e.getMessage(), e);
@@ -170,6 +500,84 @@ public class SchedulerController extends HttpServlet {
         }
     }
 
+    private void sendAsyncResponse(HttpServletRequest req, HttpServletResponse resp,
+                                   CompletableFuture<SchedulerResponse> future, String failureMessage,
+                                   int unsuccessfulStatus) throws IOException {
+        if (future.isDone()) {
+            // Local operations complete inline; no need to detach from the request thread.
+            SchedulerResponse response = null;
+            Throwable failure = null;
+            try {
+                response = future.join();
+            } catch (CompletionException | CancellationException e) {
+                failure = e;
+            }
+            writeFutureResult(resp, failure, response, failureMessage, unsuccessfulStatus);
+            return;
+        }
+
+        AsyncContext asyncContext = req.startAsync();
+        asyncContext.setTimeout(schedulerService.getResponseTimeoutMs() + ASYNC_TIMEOUT_MARGIN_MS);
+        AtomicBoolean responded = new AtomicBoolean(false);
+
+        asyncContext.addListener(new AsyncListener() {
+            @Override
+            public void onTimeout(AsyncEvent event) throws IOException {
+                if (responded.compareAndSet(false, true)) {
+                    logger.warn("Async request timed out waiting for remote response");
+                    try {
+                        sendErrorResponse((HttpServletResponse) event.getAsyncContext().getResponse(),
+                                HttpServletResponse.SC_GATEWAY_TIMEOUT, failureMessage + ": response timeout");
+                    } finally {
+                        event.getAsyncContext().complete();
+                    }
+                }
+            }
+
+            @Override
+            public void onComplete(AsyncEvent event) {
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+                logger.error("Async request failed: {}", event.getThrowable() != null ? event.getThrowable().getMessage() : "unknown");
+                responded.set(true);
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+            }
+        });
+
+        future.whenComplete((response, throwable) -> {
+            if (!responded.compareAndSet(false, true)) {
+                return;
+            }
+            // Hand the write back to the container pool so the Kafka listener thread is never blocked on I/O.
+            asyncContext.start(() -> {
+                try {
+                    writeFutureResult((HttpServletResponse) asyncContext.getResponse(), throwable, response,
+                            failureMessage, unsuccessfulStatus);
+                } catch (IOException e) {
+                    logger.error("Error sending async response: {}", e.getMessage(), e);
+                } finally {
+                    asyncContext.complete();
+                }
+            });
+        });
+    }
+
+    private void writeFutureResult(HttpServletResponse resp, Throwable throwable, SchedulerResponse response,
+                                   String failureMessage, int unsuccessfulStatus) throws IOException {
+        if (throwable != null) {
+            Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                    ? throwable.getCause() : throwable;
+            sendErrorResponse(resp, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, failureMessage + ": " + cause.getMessage());
+        } else {
+            sendJsonResponse(resp, response.isSuccess() ? HttpServletResponse.SC_OK : unsuccessfulStatus, response);
+        }
+    }
+
     private JobDetails readJobDetails(HttpServletRequest req) {
         try {
             StringBuilder buffer = new StringBuilder();
@@ -218,12 +626,26 @@ public class SchedulerController extends HttpServlet {
         }
     }
 
+    private BatchRequest readBatchRequest(HttpServletRequest req) {
+        try {
+            return objectMapper.readValue(req.getInputStream(), BatchRequest.class);
+        } catch (Exception e) {
+            logger.error("Error reading batch request: {}", e.getMessage(), e);
+            return null;
+        }
+    }
+
     private void sendJsonResponse(HttpServletResponse resp, int statusCode, Object data) throws IOException {
+        sendJsonResponse(resp, statusCode, data, objectMapper.writer());
+    }
+
+    private void sendJsonResponse(HttpServletResponse resp, int statusCode, Object data, ObjectWriter writer)
+            throws IOException {
         resp.setStatus(statusCode);
         resp.setContentType("application/json");
         resp.setCharacterEncoding("UTF-8");
         
-        String json = objectMapper.writeValueAsString(data);
+        String json = writer.writeValueAsString(data);
         resp.getWriter().write(json);
         resp.getWriter().flush();
     }
@@ -233,6 +655,76 @@ public class SchedulerController extends HttpServlet {
         sendJsonResponse(resp, statusCode, errorResponse);
     }
 
+    // Writes the NDJSON lines of one bulk operation in the order they arrive. Progress comes from
+    // the local worker and the Kafka listener; each write is handed to the container pool so
+    // neither blocks on a slow client.
+    private static final class BulkStream {
+        private final AsyncContext asyncContext;
+        private final SequenceWriter writer;
+        private CompletableFuture<Void> pending = CompletableFuture.completedFuture(null);
+        private boolean finished;
+        private volatile boolean failed;
+
+        BulkStream(AsyncContext asyncContext, SequenceWriter writer) {
+            this.asyncContext = asyncContext;
+            this.writer = writer;
+        }
+
+        synchronized void write(Object line) {
+            if (!finished) {
+                pending = pending.thenRunAsync(() -> writeLine(line), asyncContext::start);
+            }
+        }
+
+        // Writes the last line after the queued ones and completes the response.
+        synchronized void finish(Object line) {
+            if (!finished) {
+                finished = true;
+                pending = pending.thenRunAsync(() -> close(line), asyncContext::start);
+            }
+        }
+
+        // Like finish, but runs on the calling thread once the queued lines are out; the container
+        // expects a timed out request to be completed before its timeout callback returns.
+        synchronized CompletableFuture<Void> finishNow(Object line) {
+            if (finished) {
+                return null;
+            }
+            finished = true;
+            pending = pending.thenRun(() -> close(line));
+            return pending;
+        }
+
+        synchronized void abort() {
+            finished = true;
+            failed = true;
+        }
+
+        private void writeLine(Object line) {
+            if (failed) {
+                return;
+            }
+            try {
+                writer.write(line);
+                writer.flush();
+            } catch (IOException e) {
+                failed = true;
+                logger.warn("Could not write bulk operation progress: {}", e.getMessage());
+            }
+        }
+
+        private void close(Object line) {
+            writeLine(line);
+            try {
+                writer.close();
+            } catch (IOException e) {
+                logger.warn("Could not close bulk operation response: {}", e.getMessage());
+            } finally {
+                asyncContext.complete();
+            }
+        }
+    }
+
     public static class RescheduleRequest {
         public String jobId;
         public String jobGroup;
@@ -244,4 +736,24 @@ public class SchedulerController extends HttpServlet {
         public String jobId;
         public String jobGroup;
     }
+
+    public static class BatchRequest {
+        public List<CancelRequest> jobs;
+        public LocalDateTime newScheduleTime;
+        public String newCronExpression;
+
+        private List<JobKey> toJobKeys() {
+            if (jobs == null || jobs.isEmpty()) {
+                return null;
+            }
+            List<JobKey> jobKeys = new ArrayList<>(jobs.size());
+            for (CancelRequest job : jobs) {
+                if (job == null || job.jobId == null) {
+                    return null;
+                }
+                jobKeys.add(new JobKey(job.jobId, job.jobGroup));
+            }
+            return jobKeys;
+        }
+    }
 }
\ No newline at end of file
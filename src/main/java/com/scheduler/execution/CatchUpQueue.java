@@ -0,0 +1,164 @@
+package com.scheduler.execution;
+
+import com.scheduler.model.JobPriority;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Holds fires that missed their time by more than the misfire threshold and lets them go at
+// a bounded rate, highest priority class and oldest fire first, so that a restart or a long
+// pause does not hand every overdue job to the handlers at once. Released jobs are run on
+// the releaser.
+//
+// The engines have already dropped a one-shot job whose fire is waiting here, so shutdown
+// releases everything still queued instead of discarding it.
+final class CatchUpQueue {
+    private static final long MIN_TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final Comparator<Entry> ORDER = Comparator.<Entry>comparingInt(entry -> entry.priority.ordinal())
+            .thenComparingLong(entry -> entry.fireTime)
+            .thenComparingLong(entry -> entry.sequence);
+
+    private final int ratePerSecond;
+    private final int queueDepth;
+    private final long tickNanos;
+    private final int perTick;
+    private final PriorityQueue<Entry> queue = new PriorityQueue<>(ORDER);
+    private final ScheduledExecutorService ticker;
+    private final Executor releaser;
+    private final LongAdder rejected = new LongAdder();
+    private long sequence;
+    private long nextTick;
+    private boolean ticking;
+    private boolean closed;
+    private int releasing;
+
+    CatchUpQueue(int ratePerSecond, int queueDepth, Executor releaser) {
+        this.releaser = releaser;
+        this.ratePerSecond = ratePerSecond;
+        this.queueDepth = Math.max(0, queueDepth);
+        this.tickNanos = Math.max(MIN_TICK_NANOS, TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        this.perTick = (int) Math.max(1, Math.round((double) ratePerSecond * tickNanos / TimeUnit.SECONDS.toNanos(1)));
+        this.ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "job-catch-up");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.nextTick = System.nanoTime();
+    }
+
+    // False if the queue is full or shut down.
+    synchronized boolean offer(JobPriority priority, long fireTime, Runnable job) {
+        if (closed || queue.size() >= queueDepth) {
+            rejected.increment();
+            return false;
+        }
+        queue.add(new Entry(priority, fireTime, sequence++, job));
+        if (!ticking) {
+            ticking = true;
+            ticker.schedule(this::tick, Math.max(0, nextTick - System.nanoTime()), TimeUnit.NANOSECONDS);
+        }
+        return true;
+    }
+
+    private void tick() {
+        for (int i = 0; i < perTick; i++) {
+            Entry entry;
+            synchronized (this) {
+                entry = queue.poll();
+            }
+            if (entry == null) {
+                break;
+            }
+            release(entry);
+        }
+        synchronized (this) {
+            nextTick = System.nanoTime() + tickNanos;
+            if (queue.isEmpty() || ticker.isShutdown()) {
+                ticking = false;
+            } else {
+                ticker.schedule(this::tick, tickNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    synchronized Map<String, Object> getUsage() {
+        Map<String, Object> usage = new LinkedHashMap<>();
+        usage.put("ratePerSecond", ratePerSecond);
+        usage.put("queueDepth", queueDepth);
+        usage.put("queued", queue.size());
+        usage.put("rejected", rejected.sum());
+        return usage;
+    }
+
+    private void release(Entry entry) {
+        synchronized (this) {
+            releasing++;
+        }
+        releaser.execute(() -> {
+            try {
+                entry.job.run();
+            } finally {
+                synchronized (this) {
+                    releasing--;
+                    notifyAll();
+                }
+            }
+        });
+    }
+
+    // Stops the ticker, releases every queued fire without the rate limit and waits up to
+    // timeoutMillis for all released fires to have run. Returns how many had not.
+    int shutdown(long timeoutMillis) {
+        ticker.shutdownNow();
+        try {
+            ticker.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<Entry> pending = new ArrayList<>();
+        synchronized (this) {
+            closed = true;
+            while (!queue.isEmpty()) {
+                pending.add(queue.poll());
+            }
+        }
+        for (Entry entry : pending) {
+            release(entry);
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        synchronized (this) {
+            try {
+                long remaining;
+                while (releasing > 0 && (remaining = deadline - System.nanoTime()) > 0) {
+                    TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return releasing;
+        }
+    }
+
+    private static final class Entry {
+        private final JobPriority priority;
+        private final long fireTime;
+        private final long sequence;
+        private final Runnable job;
+
+        private Entry(JobPriority priority, long fireTime, long sequence, Runnable job) {
+            this.priority = priority;
+            this.fireTime = fireTime;
+            this.sequence = sequence;
+            this.job = job;
+        }
+    }
+}
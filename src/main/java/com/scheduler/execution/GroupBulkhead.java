@@ -0,0 +1,71 @@
+package com.scheduler.execution;
+
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+
+// Concurrency limit for the jobs of one jobGroup. Up to maxConcurrent of its jobs run at once;
+// further fires wait in a queue of queueDepth, and fires beyond that are rejected, so a group
+// with slow jobs uses its own share of the dispatcher and never more.
+final class GroupBulkhead {
+    private final String group;
+    private final int maxConcurrent;
+    private final int queueDepth;
+    private final Queue<Runnable> queue = new ArrayDeque<>();
+    private int active;
+    private int peakActive;
+    private long queued;
+    private long rejected;
+
+    GroupBulkhead(String group, int maxConcurrent, int queueDepth) {
+        this.group = group;
+        this.maxConcurrent = maxConcurrent;
+        this.queueDepth = Math.max(0, queueDepth);
+    }
+
+    String getGroup() {
+        return group;
+    }
+
+    // True if the job may start now; otherwise it was queued, or rejected when the queue is
+    // full and the method throws.
+    synchronized boolean admit(Runnable job) {
+        if (active < maxConcurrent) {
+            active++;
+            peakActive = Math.max(peakActive, active);
+            return true;
+        }
+        if (queue.size() >= queueDepth) {
+            rejected++;
+            throw new IllegalStateException("Bulkhead of group '" + group + "' is full ("
+                    + maxConcurrent + " running, " + queue.size() + " queued)");
+        }
+        queue.add(job);
+        queued++;
+        return false;
+    }
+
+    // Called when one of the group's jobs finishes: the next queued job takes over its slot,
+    // or the slot is freed when none is waiting.
+    synchronized Runnable release() {
+        Runnable next = queue.poll();
+        if (next == null) {
+            active--;
+        }
+        return next;
+    }
+
+    synchronized Map<String, Object> getUsage() {
+        Map<String, Object> usage = new LinkedHashMap<>();
+        usage.put("maxConcurrent", maxConcurrent);
+        usage.put("active", active);
+        usage.put("peakActive", peakActive);
+        usage.put("utilization", (double) active / maxConcurrent);
+        usage.put("queueDepth", queueDepth);
+        usage.put("queued", queue.size());
+        usage.put("queuedTotal", queued);
+        usage.put("rejected", rejected);
+        return usage;
+    }
+}
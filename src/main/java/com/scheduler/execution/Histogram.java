@@ -0,0 +1,70 @@
+package com.scheduler.execution;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Lock-free histogram of non-negative values in power-of-two buckets: bucket 0 holds 0 and
+// bucket i holds values up to 2^(i-1). Percentiles are reported as the upper bound of the
+// bucket they fall in, so they are accurate to within a factor of two. The last bucket also
+// takes anything larger.
+final class Histogram {
+    private static final int BUCKETS = 64;
+
+    private final LongAdder[] counts = new LongAdder[BUCKETS];
+    private final AtomicLong max = new AtomicLong();
+
+    Histogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = new LongAdder();
+        }
+    }
+
+    void record(long value) {
+        long clamped = Math.max(0, value);
+        int bucket = clamped == 0 ? 0 : Math.min(BUCKETS - 1, 65 - Long.numberOfLeadingZeros(clamped - 1));
+        counts[bucket].increment();
+        max.accumulateAndGet(clamped, Math::max);
+    }
+
+    // count, max, p50, p90, p99 and the non-empty buckets, keyed by their upper bound.
+    Map<String, Object> snapshot() {
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts[i].sum();
+            total += snapshot[i];
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("count", total);
+        result.put("max", max.get());
+        result.put("p50", percentile(snapshot, total, 0.50));
+        result.put("p90", percentile(snapshot, total, 0.90));
+        result.put("p99", percentile(snapshot, total, 0.99));
+        Map<String, Long> buckets = new LinkedHashMap<>();
+        for (int i = 0; i < BUCKETS; i++) {
+            if (snapshot[i] > 0) {
+                buckets.put("<=" + upperBound(i), snapshot[i]);
+            }
+        }
+        result.put("buckets", buckets);
+        return result;
+    }
+
+    private long percentile(long[] snapshot, long total, double fraction) {
+        long rank = (long) Math.ceil(total * fraction);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank && seen > 0) {
+                return Math.min(upperBound(i), max.get());
+            }
+        }
+        return 0;
+    }
+
+    private static long upperBound(int bucket) {
+        return bucket == 0 ? 0 : 1L << (bucket - 1);
+    }
+}
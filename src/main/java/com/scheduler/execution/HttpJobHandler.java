@@ -0,0 +1,59 @@
+package com.scheduler.execution;
+
+import com.scheduler.config.SchedulerConfig;
+import org.quartz.JobKey;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+// Calls the job's "url" with the JDK's asynchronous HTTP client. jobData may set "method"
+// (POST by default), "contentType" and "timeoutMs"; any status outside 2xx fails the job.
+public class HttpJobHandler implements JobHandler {
+    private HttpClient client;
+    private long timeoutMillis;
+
+    @Override
+    public String getName() {
+        return "http";
+    }
+
+    @Override
+    public void init(SchedulerConfig config) {
+        this.timeoutMillis = config.getLongProperty("scheduler.handler.http.timeout.ms", 10000);
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(config.getLongProperty("scheduler.handler.http.connect.timeout.ms", 5000)))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    @Override
+    public CompletableFuture<Void> handle(JobKey jobKey, Date fireTime, Map<String, Object> jobData) {
+        String url = JobPayload.required(jobData, "url", jobKey);
+        String method = String.valueOf(jobData.getOrDefault("method", "POST")).toUpperCase(Locale.ROOT);
+        Object timeout = jobData.get("timeoutMs");
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofMillis(timeout != null ? Long.parseLong(timeout.toString()) : timeoutMillis))
+                .header("X-Job-Id", jobKey.getName())
+                .header("X-Job-Group", jobKey.getGroup());
+        if ("GET".equals(method) || "DELETE".equals(method) || "HEAD".equals(method)) {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        } else {
+            request.header("Content-Type", String.valueOf(jobData.getOrDefault("contentType", "application/json")))
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(JobPayload.encode(jobKey, fireTime, jobData)));
+        }
+        return client.sendAsync(request.build(), HttpResponse.BodyHandlers.discarding())
+                .thenAccept(response -> {
+                    if (response.statusCode() < 200 || response.statusCode() >= 300) {
+                        throw new IllegalStateException("HTTP " + response.statusCode() + " from " + method + " " + url);
+                    }
+                });
+    }
+}
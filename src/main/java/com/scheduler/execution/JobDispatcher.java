@@ -0,0 +1,494 @@
+package com.scheduler.execution;
+
+import com.scheduler.config.SchedulerConfig;
+import com.scheduler.model.JobPriority;
+import com.scheduler.model.MisfirePolicy;
+import com.scheduler.model.StoredJobData;
+import org.quartz.JobKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Hands fired jobs to their handlers. The firing thread returns as soon as the handler has
+// started the job, so a few scheduler threads can keep many I/O-bound jobs in flight. Up to
+// scheduler.executor.max.inflight jobs may be outstanding; beyond that dispatch waits for one
+// to finish, which holds back the firing threads instead of queueing without bound.
+//
+// Groups with a bulkhead get their own share on top of that: a fire over the group's limit is
+// queued without taking a permit or holding the firing thread, and starts when one of the
+// group's running jobs finishes and hands it its permit.
+//
+// Priority classes divide the in-flight limit: normal and best-effort jobs cannot take the
+// last scheduler.priority.critical.reserved permits. A normal job over its share is queued
+// like a bulkhead fire, so firing threads stay free for critical jobs, and a best-effort job
+// is skipped instead. A fire later than its max lateness, or past the misfire threshold for a
+// class that skips misfires, is skipped when it would start.
+//
+// Other fires missed by more than the misfire threshold, as after a restart or a long pause,
+// first wait in a catch-up queue that lets scheduler.catchup.rate.per.second of them through.
+//
+// Each start records how late it is against the scheduled fire time and how many jobs are in
+// flight with it, so bursts of jobs due together show up in both histograms.
+public class JobDispatcher {
+    private static final Logger logger = LoggerFactory.getLogger(JobDispatcher.class);
+    public static final String HANDLER_KEY = "handler";
+    // Key of the dispatcher in each Quartz scheduler's context.
+    public static final String CONTEXT_KEY = "com.scheduler.jobDispatcher";
+    private static final GroupBulkhead UNLIMITED = new GroupBulkhead("", 0, 0);
+
+    private final Map<String, JobHandler> handlers = new LinkedHashMap<>();
+    private final String defaultHandler;
+    private final int maxInFlight;
+    private final Semaphore permits;
+    private final PriorityGate gate;
+    private final Map<JobPriority, Long> classLateness = new EnumMap<>(JobPriority.class);
+    private final Map<JobPriority, MisfirePolicy> misfirePolicies = new EnumMap<>(JobPriority.class);
+    private final long misfireThresholdMillis;
+    private final LongAdder dispatched = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder skippedLate = new LongAdder();
+    private final LongAdder skippedMisfired = new LongAdder();
+    private final LongAdder skippedSaturated = new LongAdder();
+    private final LongAdder missed = new LongAdder();
+    private final LongAdder caughtUp = new LongAdder();
+    private final CatchUpQueue catchUp;
+    private final Histogram fireLag = new Histogram();
+    private final Histogram concurrency = new Histogram();
+    private final SchedulerConfig config;
+    private final int defaultMaxConcurrent;
+    private final int defaultQueueDepth;
+    private final Map<String, GroupBulkhead> bulkheads = new ConcurrentHashMap<>();
+    private final ExecutorService drainPool;
+
+    public JobDispatcher(SchedulerConfig config) {
+        this.config = config;
+        register(new NoopJobHandler());
+        register(new HttpJobHandler());
+        register(new KafkaJobHandler());
+        for (JobHandler handler : ServiceLoader.load(JobHandler.class)) {
+            register(handler);
+        }
+        for (JobHandler handler : handlers.values()) {
+            handler.init(config);
+        }
+        this.defaultHandler = config.getProperty("scheduler.executor.default.handler", "noop").trim().toLowerCase(Locale.ROOT);
+        this.maxInFlight = Math.max(1, config.getIntProperty("scheduler.executor.max.inflight", 1000));
+        this.permits = new Semaphore(maxInFlight);
+        int reserved = Math.max(0, config.getIntProperty("scheduler.priority.critical.reserved", maxInFlight / 10));
+        this.gate = new PriorityGate(maxInFlight - reserved,
+                config.getIntProperty("scheduler.priority.best_effort.max.inflight", maxInFlight / 2),
+                config.getIntProperty("scheduler.priority.normal.queue.depth", 10000));
+        this.misfireThresholdMillis = config.getLongProperty("scheduler.misfire.threshold.ms", 60000);
+        for (JobPriority priority : JobPriority.values()) {
+            String prefix = "scheduler.priority." + priority.getConfigName();
+            classLateness.put(priority, config.getLongProperty(prefix + ".max.lateness.ms", -1));
+            misfirePolicies.put(priority, MisfirePolicy.parse(config.getProperty(prefix + ".misfire",
+                    priority == JobPriority.BEST_EFFORT ? "skip-to-next" : "fire-once-now")));
+        }
+        this.defaultMaxConcurrent = config.getIntProperty("scheduler.bulkhead.max.concurrent", 0);
+        this.defaultQueueDepth = config.getIntProperty("scheduler.bulkhead.queue.depth", 1000);
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.drainPool = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "job-dispatch-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        int catchUpRate = config.getIntProperty("scheduler.catchup.rate.per.second", 200);
+        this.catchUp = catchUpRate > 0
+                ? new CatchUpQueue(catchUpRate, config.getIntProperty("scheduler.catchup.queue.depth", 100000), drainPool)
+                : null;
+        logger.info("Job dispatcher started with handlers {} (default: {}, max in flight: {}, per-group limit: {})",
+                handlers.keySet(), defaultHandler, maxInFlight, defaultMaxConcurrent > 0 ? defaultMaxConcurrent : "none");
+    }
+
+    // Never throws: a job that cannot be started is returned as a failed future, and a fire
+    // that is deliberately not run as one failed with JobSkippedException.
+    public CompletableFuture<Void> dispatch(JobKey jobKey, Date fireTime, JobPriority priority, Long maxLatenessMs,
+                                            MisfirePolicy misfirePolicy, Map<String, Object> jobData) {
+        boolean overdue = System.currentTimeMillis() - fireTime.getTime() > misfireThresholdMillis;
+        if (overdue) {
+            missed.increment();
+        }
+        String late = lateReason(fireTime, priority, maxLatenessMs, misfirePolicy);
+        if (late != null) {
+            return CompletableFuture.failedFuture(skip(jobKey, late));
+        }
+        Fire fire;
+        try {
+            Map<String, Object> data = StoredJobData.resolve(jobData);
+            if (data == null) {
+                data = Collections.emptyMap();
+            }
+            Object name = data.get(HANDLER_KEY);
+            String handlerName = name != null ? name.toString().trim().toLowerCase(Locale.ROOT) : defaultHandler;
+            JobHandler handler = handlers.get(handlerName);
+            if (handler == null) {
+                throw new IllegalArgumentException("Unknown handler '" + handlerName + "'");
+            }
+            fire = new Fire(jobKey, fireTime, priority, maxLatenessMs, misfirePolicy, data, handler,
+                    bulkheadFor(jobKey.getGroup()));
+        } catch (Exception e) {
+            failed.increment();
+            logger.error("Could not dispatch job {}: {}", jobKey, e.getMessage());
+            return CompletableFuture.failedFuture(e);
+        }
+        if (!overdue) {
+            admit(fire);
+        } else if (catchUp == null) {
+            caughtUp.increment();
+            admit(fire);
+        } else if (catchUp.offer(priority, fireTime.getTime(), () -> {
+            caughtUp.increment();
+            admit(fire);
+        })) {
+            logger.debug("Job {} queued to catch up on a missed fire", jobKey);
+        } else {
+            skippedSaturated.increment();
+            fire.result.completeExceptionally(skip(jobKey, "no room left in the catch-up queue"));
+        }
+        return fire.result;
+    }
+
+    // Takes the job's bulkhead slot, class share and a permit, waiting for the permit only.
+    private void admit(Fire fire) {
+        try {
+            if (fire.bulkhead != UNLIMITED && !fire.bulkhead.admit(() -> {
+                if (enterClass(fire, true)) {
+                    start(fire);
+                }
+            })) {
+                logger.debug("Job {} queued behind the bulkhead of its group", fire.jobKey);
+                return;
+            }
+        } catch (Exception e) {
+            failed.increment();
+            logger.error("Could not dispatch job {}: {}", fire.jobKey, e.getMessage());
+            fire.result.completeExceptionally(e);
+            return;
+        }
+        if (!enterClass(fire, false)) {
+            return;
+        }
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            handOn(releaseClass(fire), false);
+            releaseSlot(fire.bulkhead, false);
+            failed.increment();
+            logger.error("Could not dispatch job {}: {}", fire.jobKey, e.getMessage());
+            fire.result.completeExceptionally(e);
+            return;
+        }
+        start(fire);
+    }
+
+    // Takes the job's class share. False if the job has to wait for it, in which case a held
+    // permit is given back and the job resumes when a finishing job hands it a share, or if
+    // there is no room for it at all and it is skipped.
+    private boolean enterClass(Fire fire, boolean holdsPermit) {
+        if (fire.priority == JobPriority.CRITICAL) {
+            return true;
+        }
+        switch (gate.admit(fire.priority, () -> start(fire))) {
+            case STARTED:
+                return true;
+            case QUEUED:
+                logger.debug("Job {} queued for a {} slot", fire.jobKey, fire.priority.getConfigName());
+                if (holdsPermit) {
+                    permits.release();
+                }
+                return false;
+            default:
+                releaseSlot(fire.bulkhead, holdsPermit);
+                fire.result.completeExceptionally(skip(fire.jobKey, saturated(fire.priority)));
+                return false;
+        }
+    }
+
+    // The caller holds the job's class share, a permit, and the bulkhead slot if the group has
+    // one; all are passed on or released when the job finishes. A job that became too late
+    // while it waited is skipped here.
+    private void start(Fire fire) {
+        String late = lateReason(fire.fireTime, fire.priority, fire.maxLatenessMs, fire.misfirePolicy);
+        CompletableFuture<Void> done;
+        if (late != null) {
+            done = CompletableFuture.failedFuture(skip(fire.jobKey, late));
+        } else {
+            dispatched.increment();
+            fireLag.record(System.currentTimeMillis() - fire.fireTime.getTime());
+            concurrency.record(getInFlightCount());
+            logger.debug("Dispatching job {} to handler {}", fire.jobKey, fire.handler.getName());
+            try {
+                done = fire.handler.handle(fire.jobKey, fire.fireTime, fire.data);
+            } catch (Exception e) {
+                done = CompletableFuture.failedFuture(e);
+            }
+        }
+        done.whenComplete((ignored, error) -> {
+            if (error == null) {
+                completed.increment();
+            } else if (!(unwrap(error) instanceof JobSkippedException)) {
+                failed.increment();
+                logger.error("Job {} failed in handler {}: {}", fire.jobKey, fire.handler.getName(), unwrap(error).getMessage());
+            }
+            Runnable nextInClass = releaseClass(fire);
+            Runnable nextInGroup = fire.bulkhead != UNLIMITED ? fire.bulkhead.release() : null;
+            if (nextInGroup != null) {
+                drainPool.execute(nextInGroup);
+                handOn(nextInClass, false);
+            } else {
+                handOn(nextInClass, true);
+            }
+            if (error == null) {
+                fire.result.complete(null);
+            } else {
+                fire.result.completeExceptionally(unwrap(error));
+            }
+        });
+    }
+
+    // Starts a job that took over a class share, passing it the caller's permit or letting it
+    // wait for one. With no job to start, a passed permit is released.
+    private void handOn(Runnable next, boolean passPermit) {
+        if (next == null) {
+            if (passPermit) {
+                permits.release();
+            }
+        } else if (passPermit) {
+            drainPool.execute(next);
+        } else {
+            drainPool.execute(() -> {
+                permits.acquireUninterruptibly();
+                next.run();
+            });
+        }
+    }
+
+    // Frees a bulkhead slot, passing the caller's permit to a job queued behind it if it holds
+    // one; otherwise that job has to get its own.
+    private void releaseSlot(GroupBulkhead bulkhead, boolean passPermit) {
+        Runnable next = bulkhead != UNLIMITED ? bulkhead.release() : null;
+        if (next != null && !passPermit) {
+            drainPool.execute(() -> {
+                permits.acquireUninterruptibly();
+                next.run();
+            });
+        } else if (next != null) {
+            drainPool.execute(next);
+        } else if (passPermit) {
+            permits.release();
+        }
+    }
+
+    private Runnable releaseClass(Fire fire) {
+        return fire.priority != JobPriority.CRITICAL ? gate.release(fire.priority) : null;
+    }
+
+    // Why a fire that is this late must not run, or null. The job's own max lateness and misfire
+    // policy win over its class's; past the misfire threshold a skip-to-next policy drops it.
+    private String lateReason(Date fireTime, JobPriority priority, Long maxLatenessMs, MisfirePolicy misfirePolicy) {
+        long late = System.currentTimeMillis() - fireTime.getTime();
+        long limit = maxLatenessMs != null && maxLatenessMs >= 0 ? maxLatenessMs : classLateness.get(priority);
+        if (limit >= 0 && late > limit) {
+            skippedLate.increment();
+            return "started " + late + " ms late, over its max lateness of " + limit + " ms";
+        }
+        MisfirePolicy policy = misfirePolicy != null ? misfirePolicy : misfirePolicies.get(priority);
+        if (late > misfireThresholdMillis && policy == MisfirePolicy.SKIP_TO_NEXT) {
+            skippedMisfired.increment();
+            return "missed its fire time by " + late + " ms";
+        }
+        return null;
+    }
+
+    private String saturated(JobPriority priority) {
+        skippedSaturated.increment();
+        return "no capacity left for " + priority.getConfigName() + " jobs";
+    }
+
+    private static JobSkippedException skip(JobKey jobKey, String reason) {
+        logger.debug("Skipped job {}: {}", jobKey, reason);
+        return new JobSkippedException(reason);
+    }
+
+    // Counts a fire the scheduler dropped before dispatch, such as a missed cron fire.
+    public void misfired(JobKey jobKey, String reason) {
+        missed.increment();
+        skippedMisfired.increment();
+        logger.debug("Skipped job {}: {}", jobKey, reason);
+    }
+
+    public MisfirePolicy getMisfirePolicy(JobPriority priority) {
+        return misfirePolicies.get(priority);
+    }
+
+    public long getMisfireThresholdMillis() {
+        return misfireThresholdMillis;
+    }
+
+    private GroupBulkhead bulkheadFor(String group) {
+        return bulkheads.computeIfAbsent(group, key -> {
+            int maxConcurrent = config.getIntProperty("scheduler.bulkhead.group." + key + ".max.concurrent", defaultMaxConcurrent);
+            if (maxConcurrent <= 0) {
+                return UNLIMITED;
+            }
+            return new GroupBulkhead(key, maxConcurrent,
+                    config.getIntProperty("scheduler.bulkhead.group." + key + ".queue.depth", defaultQueueDepth));
+        });
+    }
+
+    public long getDispatchedCount() {
+        return dispatched.sum();
+    }
+
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    // Fires not run, by reason: over their max lateness, missed, or no capacity for their class.
+    public Map<String, Long> getSkippedCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        counts.put("late", skippedLate.sum());
+        counts.put("misfired", skippedMisfired.sum());
+        counts.put("saturated", skippedSaturated.sum());
+        return counts;
+    }
+
+    // Fires missed by more than the misfire threshold, those of them run through the catch-up
+    // queue so far, and the queue itself.
+    public Map<String, Object> getCatchUpUsage() {
+        Map<String, Object> usage = new LinkedHashMap<>();
+        usage.put("missed", missed.sum());
+        usage.put("caughtUp", caughtUp.sum());
+        if (catchUp != null) {
+            usage.putAll(catchUp.getUsage());
+        } else {
+            usage.put("ratePerSecond", "unlimited");
+        }
+        return usage;
+    }
+
+    // Slots shared by normal and best-effort jobs, and normal jobs waiting for one.
+    public Map<String, Object> getPriorityUsage() {
+        return gate.getUsage();
+    }
+
+    public int getInFlightCount() {
+        return maxInFlight - permits.availablePermits();
+    }
+
+    // Milliseconds from the scheduled fire time to the handler starting the job.
+    public Map<String, Object> getFireLagHistogram() {
+        return fireLag.snapshot();
+    }
+
+    // Jobs in flight, counting the one starting, at each start.
+    public Map<String, Object> getConcurrencyHistogram() {
+        return concurrency.snapshot();
+    }
+
+    // Per group with a bulkhead: its limits, running and queued jobs, and rejections.
+    public Map<String, Map<String, Object>> getBulkheadUsage() {
+        Map<String, Map<String, Object>> usage = new TreeMap<>();
+        for (GroupBulkhead bulkhead : bulkheads.values()) {
+            if (bulkhead != UNLIMITED) {
+                usage.put(bulkhead.getGroup(), bulkhead.getUsage());
+            }
+        }
+        return usage;
+    }
+
+    // Starts the fires still waiting to catch up, since their jobs are already gone from the
+    // engines and the store, then waits for jobs still in flight, including those queued
+    // behind a bulkhead, and closes the handlers.
+    public void shutdown(long timeoutMillis) {
+        if (catchUp != null) {
+            int pending = catchUp.shutdown(timeoutMillis);
+            if (pending > 0) {
+                logger.warn("{} missed fires had not started catching up at shutdown", pending);
+            }
+        }
+        try {
+            if (permits.tryAcquire(maxInFlight, timeoutMillis, TimeUnit.MILLISECONDS)) {
+                permits.release(maxInFlight);
+            } else {
+                logger.warn("{} jobs were still in flight at shutdown", getInFlightCount());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        drainPool.shutdown();
+        for (JobHandler handler : handlers.values()) {
+            try {
+                handler.close();
+            } catch (Exception e) {
+                logger.warn("Could not close handler {}: {}", handler.getName(), e.getMessage());
+            }
+        }
+    }
+
+    // The error a completion callback reports for a failed future, as listeners take it.
+    public static Exception toException(Throwable error) {
+        if (error == null) {
+            return null;
+        }
+        Throwable cause = unwrap(error);
+        return cause instanceof Exception ? (Exception) cause : new ExecutionException(cause);
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private void register(JobHandler handler) {
+        handlers.put(handler.getName().toLowerCase(Locale.ROOT), handler);
+    }
+
+    private static final class Fire {
+        private final JobKey jobKey;
+        private final Date fireTime;
+        private final JobPriority priority;
+        private final Long maxLatenessMs;
+        private final MisfirePolicy misfirePolicy;
+        private final Map<String, Object> data;
+        private final JobHandler handler;
+        private final GroupBulkhead bulkhead;
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+
+        private Fire(JobKey jobKey, Date fireTime, JobPriority priority, Long maxLatenessMs, MisfirePolicy misfirePolicy,
+                     Map<String, Object> data, JobHandler handler, GroupBulkhead bulkhead) {
+            this.jobKey = jobKey;
+            this.fireTime = fireTime;
+            this.priority = priority;
+            this.maxLatenessMs = maxLatenessMs;
+            this.misfirePolicy = misfirePolicy;
+            this.data = data;
+            this.handler = handler;
+            this.bulkhead = bulkhead;
+        }
+    }
+}
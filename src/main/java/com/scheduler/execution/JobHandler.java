@@ -0,0 +1,24 @@
+package com.scheduler.execution;
+
+import com.scheduler.config.SchedulerConfig;
+import org.quartz.JobKey;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+// Does the work of a fired job. A handler starts its I/O and returns at once; the future
+// completes, or fails, when the work is done. Jobs pick a handler by the "handler" entry of
+// their jobData. Besides the built-in handlers, implementations listed in
+// META-INF/services/com.scheduler.execution.JobHandler are loaded at start.
+public interface JobHandler {
+    String getName();
+
+    default void init(SchedulerConfig config) {
+    }
+
+    CompletableFuture<Void> handle(JobKey jobKey, Date fireTime, Map<String, Object> jobData);
+
+    default void close() {
+    }
+}
@@ -0,0 +1,45 @@
+package com.scheduler.execution;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.quartz.JobKey;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// What the built-in handlers send: the job's "body" entry as is, or else a JSON document with
+// the job key, the fire time and the job data.
+final class JobPayload {
+    static final String BODY_KEY = "body";
+    private static final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private JobPayload() {
+    }
+
+    static byte[] encode(JobKey jobKey, Date fireTime, Map<String, Object> jobData) {
+        Object body = jobData.get(BODY_KEY);
+        if (body != null) {
+            return body.toString().getBytes(StandardCharsets.UTF_8);
+        }
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("jobId", jobKey.getName());
+        document.put("jobGroup", jobKey.getGroup());
+        document.put("fireTime", fireTime != null ? fireTime.getTime() : null);
+        document.put("jobData", jobData);
+        try {
+            return objectMapper.writeValueAsBytes(document);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Job data of " + jobKey + " is not serializable: " + e.getMessage(), e);
+        }
+    }
+
+    static String required(Map<String, Object> jobData, String key, JobKey jobKey) {
+        Object value = jobData.get(key);
+        if (value == null || value.toString().trim().isEmpty()) {
+            throw new IllegalArgumentException("Job " + jobKey + " has no '" + key + "' in its jobData");
+        }
+        return value.toString().trim();
+    }
+}
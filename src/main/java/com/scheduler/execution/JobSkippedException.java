@@ -0,0 +1,11 @@
+package com.scheduler.execution;
+
+// Completes the dispatch of a fire that was deliberately not run; the message is the reason
+// recorded with the job's status.
+public class JobSkippedException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public JobSkippedException(String reason) {
+        super(reason, null, false, false);
+    }
+}
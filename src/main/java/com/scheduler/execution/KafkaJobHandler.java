@@ -0,0 +1,83 @@
+package com.scheduler.execution;
+
+import com.scheduler.config.SchedulerConfig;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.quartz.JobKey;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+
+// Publishes to the job's "topic", keyed by its "key" entry or else the job id. The producer
+// is created on first use, so instances that never run Kafka jobs open no connections.
+// max.block.ms bounds how long a send may hold the firing thread while metadata is fetched.
+public class KafkaJobHandler implements JobHandler {
+    private static final String JOB_ID_HEADER = "job-id";
+    private static final String JOB_GROUP_HEADER = "job-group";
+    private static final String FIRE_TIME_HEADER = "fire-time";
+
+    private Properties producerProperties;
+    private KafkaProducer<String, byte[]> producer;
+
+    @Override
+    public String getName() {
+        return "kafka";
+    }
+
+    @Override
+    public void init(SchedulerConfig config) {
+        Properties props = new Properties();
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG,
+                config.getProperty("scheduler.handler.kafka.bootstrap.servers", config.getKafkaBootstrapServers()));
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class.getName());
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class.getName());
+        props.put(ProducerConfig.ACKS_CONFIG, config.getProperty("scheduler.handler.kafka.acks", "all"));
+        props.put(ProducerConfig.LINGER_MS_CONFIG, config.getIntProperty("scheduler.handler.kafka.linger.ms", 5));
+        props.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, config.getLongProperty("scheduler.handler.kafka.max.block.ms", 1000));
+        this.producerProperties = props;
+    }
+
+    @Override
+    public CompletableFuture<Void> handle(JobKey jobKey, Date fireTime, Map<String, Object> jobData) {
+        String topic = JobPayload.required(jobData, "topic", jobKey);
+        Object key = jobData.get("key");
+        ProducerRecord<String, byte[]> record = new ProducerRecord<>(topic,
+                key != null ? key.toString() : jobKey.getName(), JobPayload.encode(jobKey, fireTime, jobData));
+        record.headers().add(JOB_ID_HEADER, jobKey.getName().getBytes(StandardCharsets.UTF_8));
+        record.headers().add(JOB_GROUP_HEADER, jobKey.getGroup().getBytes(StandardCharsets.UTF_8));
+        if (fireTime != null) {
+            record.headers().add(FIRE_TIME_HEADER, String.valueOf(fireTime.getTime()).getBytes(StandardCharsets.UTF_8));
+        }
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        producer().send(record, (metadata, exception) -> {
+            if (exception != null) {
+                result.completeExceptionally(exception);
+            } else {
+                result.complete(null);
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (producer != null) {
+            producer.close(Duration.ofSeconds(5));
+            producer = null;
+        }
+    }
+
+    private synchronized KafkaProducer<String, byte[]> producer() {
+        if (producer == null) {
+            producer = new KafkaProducer<>(producerProperties);
+        }
+        return producer;
+    }
+}
@@ -0,0 +1,26 @@
+package com.scheduler.execution;
+
+import org.quartz.JobKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+// Only logs the fire; the default for jobs that name no handler.
+public class NoopJobHandler implements JobHandler {
+    private static final Logger logger = LoggerFactory.getLogger(NoopJobHandler.class);
+
+    @Override
+    public String getName() {
+        return "noop";
+    }
+
+    @Override
+    public CompletableFuture<Void> handle(JobKey jobKey, Date fireTime, Map<String, Object> jobData) {
+        logger.info("Job {} in group {} fired at {} with {} data entries",
+                jobKey.getName(), jobKey.getGroup(), fireTime, jobData.size());
+        return CompletableFuture.completedFuture(null);
+    }
+}
@@ -0,0 +1,72 @@
+package com.scheduler.execution;
+
+import com.scheduler.model.JobPriority;
+
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+
+// Divides the in-flight slots that are not reserved for critical jobs between normal and
+// best-effort jobs; critical jobs never pass through it. Normal jobs over the limit wait in a
+// queue of queueDepth without holding a firing thread and take over the slot of the next job
+// to finish. Best-effort jobs never wait, and also stay within their own share.
+final class PriorityGate {
+    enum Admission { STARTED, QUEUED, REJECTED }
+
+    private final int maxShared;
+    private final int maxBestEffort;
+    private final int queueDepth;
+    private final Queue<Runnable> queue = new ArrayDeque<>();
+    private int shared;
+    private int bestEffort;
+    private long rejected;
+
+    PriorityGate(int maxShared, int maxBestEffort, int queueDepth) {
+        this.maxShared = Math.max(1, maxShared);
+        this.maxBestEffort = Math.max(1, maxBestEffort);
+        this.queueDepth = Math.max(0, queueDepth);
+    }
+
+    synchronized Admission admit(JobPriority priority, Runnable job) {
+        boolean bestEffortJob = priority == JobPriority.BEST_EFFORT;
+        if (shared < maxShared && (!bestEffortJob || bestEffort < maxBestEffort)) {
+            shared++;
+            if (bestEffortJob) {
+                bestEffort++;
+            }
+            return Admission.STARTED;
+        }
+        if (bestEffortJob || queue.size() >= queueDepth) {
+            rejected++;
+            return Admission.REJECTED;
+        }
+        queue.add(job);
+        return Admission.QUEUED;
+    }
+
+    // Called when a normal or best-effort job finishes: the next queued job takes over its
+    // slot, or the slot is freed when none is waiting.
+    synchronized Runnable release(JobPriority priority) {
+        if (priority == JobPriority.BEST_EFFORT) {
+            bestEffort--;
+        }
+        Runnable next = queue.poll();
+        if (next == null) {
+            shared--;
+        }
+        return next;
+    }
+
+    synchronized Map<String, Object> getUsage() {
+        Map<String, Object> usage = new LinkedHashMap<>();
+        usage.put("maxShared", maxShared);
+        usage.put("shared", shared);
+        usage.put("maxBestEffort", maxBestEffort);
+        usage.put("bestEffort", bestEffort);
+        usage.put("queueDepth", queueDepth);
+        usage.put("queued", queue.size());
+        usage.put("rejected", rejected);
+        return usage;
+    }
+}
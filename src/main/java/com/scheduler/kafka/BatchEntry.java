@@ -0,0 +1,37 @@
+package com.scheduler.kafka;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// One job key of a batch request, or its outcome in a batch response. Responders only
+// return entries for jobs they hold, so a missing entry means "not found there".
+public class BatchEntry {
+    private final String jobId;
+    private final String jobGroup;
+    private final boolean success;
+    private final String errorMessage;
+
+    @JsonCreator
+    public BatchEntry(@JsonProperty("jobId") String jobId,
+                      @JsonProperty("jobGroup") String jobGroup,
+                      @JsonProperty("success") boolean success,
+                      @JsonProperty("errorMessage") String errorMessage) {
+        this.jobId = jobId;
+        this.jobGroup = jobGroup;
+        this.success = success;
+        this.errorMessage = errorMessage;
+    }
+
+    public static BatchEntry key(String jobId, String jobGroup) {
+        return new BatchEntry(jobId, jobGroup, false, null);
+    }
+
+    public static BatchEntry outcome(String jobId, String jobGroup, boolean success, String errorMessage) {
+        return new BatchEntry(jobId, jobGroup, success, errorMessage);
+    }
+
+    public String getJobId() { return jobId; }
+    public String getJobGroup() { return jobGroup; }
+    public boolean isSuccess() { return success; }
+    public String getErrorMessage() { return errorMessage; }
+}
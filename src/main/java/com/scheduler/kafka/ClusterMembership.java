@@ -0,0 +1,169 @@
+package com.scheduler.kafka;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class ClusterMembership implements Runnable {
+    private static final Logger logger = LoggerFactory.getLogger(ClusterMembership.class);
+    private static final String MEMBERSHIP_TOPIC = "scheduler-membership";
+    private static final int MISSED_HEARTBEATS_BEFORE_EXPIRY = 3;
+
+    private final KafkaConsumer<String, byte[]> consumer;
+    private final KafkaMessageProducer producer;
+    private final SchedulerMessageDeserializer deserializer = new SchedulerMessageDeserializer();
+    private final AtomicBoolean running = new AtomicBoolean(true);
+    private final Map<String, Long> lastSeen = new ConcurrentHashMap<>();
+    private final String instanceId;
+    private final long heartbeatIntervalMs;
+    private volatile Runnable peersLostListener;
+
+    public ClusterMembership(String bootstrapServers, String instanceId, KafkaMessageProducer producer,
+                             long heartbeatIntervalMs) {
+        this.instanceId = instanceId;
+        this.producer = producer;
+        this.heartbeatIntervalMs = heartbeatIntervalMs;
+
+        Properties props = new Properties();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, "scheduler-membership-group-" + instanceId);
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class.getName());
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "true");
+
+        this.consumer = new KafkaConsumer<>(props);
+        this.consumer.subscribe(Collections.singletonList(MEMBERSHIP_TOPIC));
+        logger.info("Cluster membership initialized for instance: {}", instanceId);
+    }
+
+    @Override
+    public void run() {
+        logger.info("Starting cluster membership for instance: {}", instanceId);
+        long nextHeartbeat = 0;
+        // Until one expiry window has passed, a live peer may simply not have been heard yet.
+        long settledAt = System.currentTimeMillis() + heartbeatIntervalMs * MISSED_HEARTBEATS_BEFORE_EXPIRY;
+
+        while (running.get()) {
+            try {
+                long now = System.currentTimeMillis();
+                if (now >= nextHeartbeat) {
+                    producer.sendMembership(SchedulerMessage.heartbeat(SchedulerMessage.MessageType.HEARTBEAT, instanceId));
+                    nextHeartbeat = now + heartbeatIntervalMs;
+                    if (now >= settledAt) {
+                        expirePeers(now);
+                    }
+                }
+
+                ConsumerRecords<String, byte[]> records = consumer.poll(
+                        Duration.ofMillis(Math.max(1, nextHeartbeat - System.currentTimeMillis())));
+                for (ConsumerRecord<String, byte[]> record : records) {
+                    // Records are keyed by sender, so our own heartbeats are skipped undecoded.
+                    if (instanceId.equals(record.key())) {
+                        continue;
+                    }
+                    processMembership(record.value());
+                }
+            } catch (Exception e) {
+                logger.error("Error in membership loop: {}", e.getMessage(), e);
+                if (running.get()) {
+                    try {
+                        Thread.sleep(heartbeatIntervalMs);
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+            }
+        }
+
+        consumer.close();
+        logger.info("Cluster membership stopped for instance: {}", instanceId);
+    }
+
+    private void processMembership(byte[] data) {
+        try {
+            SchedulerMessage message = deserializer.deserialize(MEMBERSHIP_TOPIC, data);
+            if (message.getInstanceId() == null || message.getInstanceId().equals(instanceId)) {
+                return;
+            }
+            if (message.getType() == SchedulerMessage.MessageType.LEAVE) {
+                if (lastSeen.remove(message.getInstanceId()) != null) {
+                    logger.info("Instance {} left the cluster", message.getInstanceId());
+                    notifyPeersLost();
+                }
+            } else if (lastSeen.put(message.getInstanceId(), System.currentTimeMillis()) == null) {
+                logger.info("Instance {} joined the cluster", message.getInstanceId());
+            }
+        } catch (Exception e) {
+            logger.error("Error parsing membership message: {}", e.getMessage(), e);
+        }
+    }
+
+    private void expirePeers(long now) {
+        long cutoff = now - heartbeatIntervalMs * MISSED_HEARTBEATS_BEFORE_EXPIRY;
+        lastSeen.forEach((peer, seenAt) -> {
+            if (seenAt < cutoff && lastSeen.remove(peer, seenAt)) {
+                logger.info("Instance {} stopped sending heartbeats", peer);
+            }
+        });
+        notifyPeersLost();
+    }
+
+    private void notifyPeersLost() {
+        Runnable listener = peersLostListener;
+        if (listener != null) {
+            try {
+                listener.run();
+            } catch (Exception e) {
+                logger.error("Error notifying membership change: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    // Called on every heartbeat once membership has settled and whenever a peer leaves, so the
+    // listener can drop state held for instances that are no longer live.
+    public void setPeersLostListener(Runnable listener) {
+        this.peersLostListener = listener;
+    }
+
+    public Set<String> getLivePeers() {
+        long cutoff = System.currentTimeMillis() - heartbeatIntervalMs * MISSED_HEARTBEATS_BEFORE_EXPIRY;
+        Set<String> peers = new HashSet<>();
+        lastSeen.forEach((peer, seenAt) -> {
+            if (seenAt >= cutoff) {
+                peers.add(peer);
+            }
+        });
+        return peers;
+    }
+
+    public boolean isLive(String peerId) {
+        if (instanceId.equals(peerId)) {
+            return true;
+        }
+        Long seenAt = lastSeen.get(peerId);
+        return seenAt != null
+                && seenAt >= System.currentTimeMillis() - heartbeatIntervalMs * MISSED_HEARTBEATS_BEFORE_EXPIRY;
+    }
+
+    public void stop() {
+        running.set(false);
+        producer.sendMembership(SchedulerMessage.heartbeat(SchedulerMessage.MessageType.LEAVE, instanceId));
+        logger.info("Stopping cluster membership for instance: {}", instanceId);
+    }
+}
@@ -0,0 +1,128 @@
+package com.scheduler.kafka;
+
+import com.scheduler.service.JobLocationIndex;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.config.TopicConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class KafkaLocationConsumer implements Runnable {
+    private static final Logger logger = LoggerFactory.getLogger(KafkaLocationConsumer.class);
+    public static final String LOCATION_TOPIC = "scheduler-job-locations";
+
+    private final KafkaConsumer<String, String> consumer;
+    private final JobLocationIndex index;
+    private final AtomicBoolean running = new AtomicBoolean(true);
+    private final AtomicBoolean bootstrapped = new AtomicBoolean(false);
+    private final String instanceId;
+
+    public KafkaLocationConsumer(String bootstrapServers, String instanceId, JobLocationIndex index,
+                                 int partitions, short replicationFactor) {
+        this.instanceId = instanceId;
+        this.index = index;
+
+        KafkaTopicAdmin.ensureTopic(bootstrapServers, LOCATION_TOPIC, partitions, replicationFactor,
+                Map.of(TopicConfig.CLEANUP_POLICY_CONFIG, TopicConfig.CLEANUP_POLICY_COMPACT));
+
+        // Every instance needs the whole table, so partitions are assigned manually and no
+        // offsets are committed: each start replays the compacted topic from the beginning.
+        Properties props = new Properties();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 5000);
+
+        this.consumer = new KafkaConsumer<>(props);
+        logger.info("Job location consumer initialized for instance: {}", instanceId);
+    }
+
+    @Override
+    public void run() {
+        logger.info("Starting job location consumer for instance: {}", instanceId);
+        Map<TopicPartition, Long> endOffsets = null;
+        long applied = 0;
+
+        while (running.get()) {
+            try {
+                if (endOffsets == null) {
+                    endOffsets = assignAll();
+                    logger.info("Bootstrapping job locations from {} partitions", endOffsets.size());
+                }
+
+                ConsumerRecords<String, String> records = consumer.poll(Duration.ofMillis(1000));
+                for (ConsumerRecord<String, String> record : records) {
+                    if (record.value() == null) {
+                        index.remove(record.key());
+                    } else {
+                        index.put(record.key(), record.value());
+                    }
+                    applied++;
+                }
+
+                if (!bootstrapped.get() && caughtUp(endOffsets)) {
+                    bootstrapped.set(true);
+                    logger.info("Job location index bootstrapped: {} records applied, {} jobs indexed",
+                            applied, index.size());
+                }
+            } catch (Exception e) {
+                logger.error("Error in job location consumer loop: {}", e.getMessage(), e);
+                if (running.get()) {
+                    try {
+                        Thread.sleep(5000);
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+            }
+        }
+
+        consumer.close();
+        logger.info("Job location consumer stopped for instance: {}", instanceId);
+    }
+
+    private Map<TopicPartition, Long> assignAll() {
+        List<TopicPartition> partitions = new ArrayList<>();
+        for (PartitionInfo info : consumer.partitionsFor(LOCATION_TOPIC)) {
+            partitions.add(new TopicPartition(info.topic(), info.partition()));
+        }
+        if (partitions.isEmpty()) {
+            throw new IllegalStateException("Topic " + LOCATION_TOPIC + " has no partitions yet");
+        }
+        consumer.assign(partitions);
+        consumer.seekToBeginning(partitions);
+        return consumer.endOffsets(partitions);
+    }
+
+    private boolean caughtUp(Map<TopicPartition, Long> endOffsets) {
+        for (Map.Entry<TopicPartition, Long> entry : endOffsets.entrySet()) {
+            if (consumer.position(entry.getKey()) < entry.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean isBootstrapped() {
+        return bootstrapped.get();
+    }
+
+    public void stop() {
+        running.set(false);
+        logger.info("Stopping job location consumer for instance: {}", instanceId);
+    }
+}
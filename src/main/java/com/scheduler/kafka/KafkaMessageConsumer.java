@@ -1,52 +1,96 @@
 package com.scheduler.kafka;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scheduler.model.BulkResult;
+import com.scheduler.model.JobDetails;
+import com.scheduler.model.SchedulerResponse;
 import com.scheduler.service.LocalSchedulerService;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.record.TimestampType;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.utils.Utils;
+import org.quartz.JobKey;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class KafkaMessageConsumer implements Runnable {
     private static final Logger logger = LoggerFactory.getLogger(KafkaMessageConsumer.class);
     private static final String REQUEST_TOPIC = "scheduler-requests";
     
-    private final KafkaConsumer<String, String> consumer;
+    private final KafkaConsumer<String, byte[]> consumer;
+    private final SchedulerMessageDeserializer deserializer = new SchedulerMessageDeserializer();
     private final LocalSchedulerService localScheduler;
     private final KafkaMessageProducer producer;
-    private final ObjectMapper objectMapper;
     private final AtomicBoolean running = new AtomicBoolean(true);
     private final String instanceId;
+    private final byte[] instanceIdBytes;
+    private final ExecutorService[] workers;
+    private final AtomicLong filteredCount = new AtomicLong();
+    private final AtomicLong decodedCount = new AtomicLong();
+    private final AtomicLong expiredCount = new AtomicLong();
+    private final long requestTimeoutMs;
+    private final long bulkRequestTimeoutMs;
 
     public KafkaMessageConsumer(String bootstrapServers, String instanceId, 
                                LocalSchedulerService localScheduler, 
-                               KafkaMessageProducer producer) {
+                               KafkaMessageProducer producer,
+                               int workerCount,
+                               long requestTimeoutMs,
+                               long bulkRequestTimeoutMs) {
         this.instanceId = instanceId;
+        this.requestTimeoutMs = requestTimeoutMs;
+        this.bulkRequestTimeoutMs = bulkRequestTimeoutMs;
+        this.instanceIdBytes = instanceId.getBytes(StandardCharsets.UTF_8);
+        this.workers = workerCount > 1 ? createWorkers(instanceId, workerCount) : null;
         this.localScheduler = localScheduler;
         this.producer = producer;
-        this.objectMapper = new ObjectMapper();
-        this.objectMapper.findAndRegisterModules();
         
         Properties props = new Properties();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-        props.put(ConsumerConfig.GROUP_ID_CONFIG, "scheduler-consumer-group");
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, "scheduler-consumer-group-" + instanceId);
         props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
-        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
-        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
-        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "true");
-        props.put(ConsumerConfig.AUTO_COMMIT_INTERVAL_MS_CONFIG, "1000");
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class.getName());
+        // The group is private to this instance id, so a new id must not replay old requests.
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
         
         this.consumer = new KafkaConsumer<>(props);
         this.consumer.subscribe(Collections.singletonList(REQUEST_TOPIC));
-        logger.info("Kafka consumer initialized for instance: {}", instanceId);
+        logger.info("Kafka consumer initialized for instance: {} with {} worker(s)", instanceId, Math.max(1, workerCount));
+    }
+
+    private static ExecutorService[] createWorkers(String instanceId, int workerCount) {
+        ExecutorService[] workers = new ExecutorService[workerCount];
+        for (int i = 0; i < workerCount; i++) {
+            String name = "request-worker-" + instanceId + "-" + i;
+            workers[i] = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, name);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return workers;
     }
 
     @Override
@@ -55,15 +99,21 @@ public class KafkaMessageConsumer implements Runnable {
         
         while (running.get()) {
             try {
-                ConsumerRecords<String, String> records = consumer.poll(Duration.ofMillis(1000));
+                ConsumerRecords<String, byte[]> records = consumer.poll(Duration.ofMillis(1000));
+                if (records.isEmpty()) {
+                    continue;
+                }
                 
-                for (ConsumerRecord<String, String> record : records) {
-                    try {
-                        processMessage(record.value());
-                    } catch (Exception e) {
-                        logger.error("Error processing message: {}", e.getMessage(), e);
+                if (workers == null) {
+                    for (ConsumerRecord<String, byte[]> record : records) {
+                        processRecord(record);
                     }
+                } else {
+                    processInParallel(records);
                 }
+                
+                // Offsets only move forward once every record of the batch has been handled.
+                consumer.commitSync();
             } catch (Exception e) {
                 logger.error("Error in consumer loop: {}", e.getMessage(), e);
                 if (running.get()) {
@@ -78,30 +128,161 @@ public class KafkaMessageConsumer implements Runnable {
         }
         
         consumer.close();
+        if (workers != null) {
+            for (ExecutorService worker : workers) {
+                worker.shutdown();
+            }
+        }
         logger.info("Kafka message consumer stopped for instance: {}", instanceId);
     }
 
-    private void processMessage(String messageJson) {
+    private void processInParallel(ConsumerRecords<String, byte[]> records) throws InterruptedException {
+        List<Future<?>> pending = new ArrayList<>(records.count());
+        for (ConsumerRecord<String, byte[]> record : records) {
+            // Records for the same job always land on the same worker, preserving their order.
+            int worker = Utils.toPositive(Objects.hashCode(record.key())) % workers.length;
+            pending.add(workers[worker].submit(() -> processRecord(record)));
+        }
+        for (Future<?> future : pending) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                logger.error("Error processing message: {}", e.getCause().getMessage(), e.getCause());
+            }
+        }
+    }
+
+    private void processRecord(ConsumerRecord<String, byte[]> record) {
         try {
-            SchedulerMessage message = objectMapper.readValue(messageJson, SchedulerMessage.class);
-            logger.info("Received message: {}", message);
+            if (!mustDecode(record)) {
+                filteredCount.incrementAndGet();
+                return;
+            }
+            decodedCount.incrementAndGet();
+            // Decoded per record so one malformed payload is skipped instead of failing the poll.
+            long appendTime = record.timestampType() == TimestampType.LOG_APPEND_TIME ? record.timestamp() : -1;
+            processMessage(deserializer.deserialize(record.topic(), record.value()), appendTime);
+        } catch (Exception e) {
+            logger.error("Error processing message: {}", e.getMessage(), e);
+        }
+    }
+
+    // Decides from the record headers alone whether the payload is worth decoding. Records
+    // without routing headers (older producers) are always decoded.
+    private boolean mustDecode(ConsumerRecord<String, byte[]> record) {
+        Headers headers = record.headers();
+        byte[] origin = headerValue(headers, KafkaMessageProducer.REPLY_TO_HEADER);
+        if (origin != null && Arrays.equals(origin, instanceIdBytes)) {
+            return false;
+        }
+        byte[] target = headerValue(headers, KafkaMessageProducer.TARGET_HEADER);
+        if (target != null && !Arrays.equals(target, instanceIdBytes)) {
+            return false;
+        }
+        
+        byte[] type = headerValue(headers, KafkaMessageProducer.MESSAGE_TYPE_HEADER);
+        byte[] group = headerValue(headers, KafkaMessageProducer.JOB_GROUP_HEADER);
+        byte[] messageId = headerValue(headers, KafkaMessageProducer.MESSAGE_ID_HEADER);
+        if (origin == null || type == null || group == null || messageId == null || record.key() == null) {
+            return true;
+        }
+        
+        SchedulerMessage.MessageType requestType = messageType(type);
+        if (requestType != SchedulerMessage.MessageType.CANCEL_JOB
+                && requestType != SchedulerMessage.MessageType.RESCHEDULE_JOB) {
+            return true;
+        }
+        if (localScheduler.jobExists(record.key(), new String(group, StandardCharsets.UTF_8))) {
+            return true;
+        }
+        replyNotFound(new String(messageId, StandardCharsets.UTF_8), requestType,
+                new String(origin, StandardCharsets.UTF_8));
+        logger.debug("Job {} not present on instance {}", record.key(), instanceId);
+        return false;
+    }
+
+    private static byte[] headerValue(Headers headers, String key) {
+        Header header = headers.lastHeader(key);
+        return header == null ? null : header.value();
+    }
+
+    private static SchedulerMessage.MessageType messageType(byte[] name) {
+        try {
+            return SchedulerMessage.MessageType.valueOf(new String(name, StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private void replyNotFound(String messageId, SchedulerMessage.MessageType requestType, String replyTo) {
+        producer.sendResponse(SchedulerMessage.response(
+                messageId,
+                responseType(requestType),
+                instanceId,
+                false,
+                false,
+                "Job not found on instance: " + instanceId
+        ), replyTo);
+    }
+
+    private void processMessage(SchedulerMessage message, long appendTime) {
+        try {
+            logger.debug("Received message: {}", message);
             
             if (message.getInstanceId() != null && message.getInstanceId().equals(instanceId)) {
                 logger.debug("Ignoring message from same instance: {}", instanceId);
                 return;
             }
             
+            if (message.getTargetInstanceId() != null && !message.getTargetInstanceId().equals(instanceId)) {
+                logger.debug("Ignoring message addressed to instance: {}", message.getTargetInstanceId());
+                return;
+            }
+            
+            if (message.getType() == SchedulerMessage.MessageType.CREATE_JOB) {
+                processCreate(message);
+                return;
+            }
+            
+            if (message.getType() == SchedulerMessage.MessageType.CREATE_BATCH) {
+                processCreateBatch(message);
+                return;
+            }
+            
+            if (message.getType() == SchedulerMessage.MessageType.CANCEL_BATCH
+                    || message.getType() == SchedulerMessage.MessageType.RESCHEDULE_BATCH) {
+                processBatch(message, appendTime);
+                return;
+            }
+            
+            if (message.getType() == SchedulerMessage.MessageType.BULK_OPERATION) {
+                processBulk(message, appendTime);
+                return;
+            }
+            
             boolean operationSuccess = false;
             String errorMessage = null;
             SchedulerMessage.MessageType responseType;
             
             try {
+                if (message.getType() != SchedulerMessage.MessageType.CANCEL_JOB
+                        && message.getType() != SchedulerMessage.MessageType.RESCHEDULE_JOB) {
+                    logger.warn("Unsupported message type: {}", message.getType());
+                    return;
+                }
+                
+                if (!localScheduler.jobExists(message.getJobId(), message.getJobGroup())) {
+                    replyNotFound(message.getMessageId(), message.getType(), message.getInstanceId());
+                    logger.debug("Job {} not present on instance {}", message.getJobId(), instanceId);
+                    return;
+                }
+                
                 switch (message.getType()) {
                     case CANCEL_JOB:
                         operationSuccess = localScheduler.cancelJob(message.getJobId(), message.getJobGroup());
                         responseType = SchedulerMessage.MessageType.CANCEL_RESPONSE;
                         if (!operationSuccess) {
-                            errorMessage = "Job not found or failed to cancel on instance: " + instanceId;
+                            errorMessage = "Failed to cancel job on instance: " + instanceId;
                         }
                         break;
                         
@@ -114,7 +295,7 @@ public class KafkaMessageConsumer implements Runnable {
                         );
                         responseType = SchedulerMessage.MessageType.RESCHEDULE_RESPONSE;
                         if (!operationSuccess) {
-                            errorMessage = "Job not found or failed to reschedule on instance: " + instanceId;
+                            errorMessage = "Failed to reschedule job on instance: " + instanceId;
                         }
                         break;
                         
@@ -126,11 +307,13 @@ public class KafkaMessageConsumer implements Runnable {
                 SchedulerMessage response = SchedulerMessage.response(
                         message.getMessageId(),
                         responseType,
+                        instanceId,
                         operationSuccess,
+                        true,
                         errorMessage
                 );
                 
-                producer.sendResponse(response);
+                producer.sendResponse(response, message.getInstanceId());
                 logger.info("Processed {} for job: {} with result: {}", 
                         message.getType(), message.getJobId(), operationSuccess);
                         
@@ -138,18 +321,169 @@ public class KafkaMessageConsumer implements Runnable {
                 logger.error("Error processing scheduler operation: {}", e.getMessage(), e);
                 SchedulerMessage errorResponse = SchedulerMessage.response(
                         message.getMessageId(),
-                        message.getType() == SchedulerMessage.MessageType.CANCEL_JOB ? 
-                                SchedulerMessage.MessageType.CANCEL_RESPONSE : 
-                                SchedulerMessage.MessageType.RESCHEDULE_RESPONSE,
+                        responseType(message.getType()),
+                        instanceId,
                         false,
+                        true,
                         "Error: " + e.getMessage()
                 );
-                producer.sendResponse(errorResponse);
+                producer.sendResponse(errorResponse, message.getInstanceId());
+            }
+            
+        } catch (Exception e) {
+            logger.error("Error handling message: {}", e.getMessage(), e);
+        }
+    }
+
+    private void processCreate(SchedulerMessage message) {
+        boolean created;
+        String errorMessage = null;
+        try {
+            created = localScheduler.scheduleJob(message.getJobDetails());
+            if (!created) {
+                errorMessage = "Failed to schedule job on instance: " + instanceId;
+            }
+        } catch (Exception e) {
+            logger.error("Error creating forwarded job {}: {}", message.getJobId(), e.getMessage(), e);
+            created = false;
+            errorMessage = "Error: " + e.getMessage();
+        }
+        
+        producer.sendResponse(SchedulerMessage.response(
+                message.getMessageId(),
+                SchedulerMessage.MessageType.CREATE_RESPONSE,
+                instanceId,
+                created,
+                true,
+                errorMessage
+        ), message.getInstanceId());
+        logger.info("Processed forwarded create for job: {} with result: {}", message.getJobId(), created);
+    }
+
+    private void processCreateBatch(SchedulerMessage message) {
+        List<JobDetails> jobs = message.getJobs();
+        List<BatchEntry> outcomes = new ArrayList<>(jobs.size());
+        try {
+            List<SchedulerResponse> results = localScheduler.scheduleJobs(jobs);
+            for (int i = 0; i < results.size(); i++) {
+                SchedulerResponse result = results.get(i);
+                outcomes.add(BatchEntry.outcome(jobs.get(i).getJobId(), jobs.get(i).getJobGroup(),
+                        result.isSuccess(), result.isSuccess() ? null : result.getMessage()));
+            }
+        } catch (Exception e) {
+            logger.error("Error creating batch of {} forwarded jobs: {}", jobs.size(), e.getMessage(), e);
+            outcomes.clear();
+            for (JobDetails jobDetails : jobs) {
+                outcomes.add(BatchEntry.outcome(jobDetails.getJobId(), jobDetails.getJobGroup(), false,
+                        "Error: " + e.getMessage()));
+            }
+        }
+        
+        producer.sendResponse(SchedulerMessage.batchResponse(
+                message.getMessageId(),
+                SchedulerMessage.MessageType.CREATE_BATCH_RESPONSE,
+                instanceId,
+                true,
+                outcomes,
+                null
+        ), message.getInstanceId());
+        logger.info("Processed forwarded batch create of {} jobs", jobs.size());
+    }
+
+    // A request whose sender has stopped waiting for the reply is not applied: it could only
+    // act on jobs that have changed since it was made. The age is taken from the broker's
+    // append time, one clock for every sender; without it (a request topic not configured for
+    // LogAppendTime) nothing is dropped, as the sender's own clock may be skewed against ours.
+    private boolean expired(SchedulerMessage message, long appendTime, long timeoutMs) {
+        if (appendTime < 0) {
+            return false;
+        }
+        long age = System.currentTimeMillis() - appendTime;
+        if (age <= timeoutMs) {
+            return false;
+        }
+        expiredCount.incrementAndGet();
+        logger.warn("Dropping {} {} from instance {}: {} ms old", message.getType(), message.getMessageId(),
+                message.getInstanceId(), age);
+        return true;
+    }
+
+    private void processBatch(SchedulerMessage message, long appendTime) {
+        if (expired(message, appendTime, requestTimeoutMs)) {
+            return;
+        }
+        boolean cancel = message.getType() == SchedulerMessage.MessageType.CANCEL_BATCH;
+        SchedulerMessage.MessageType responseType = cancel
+                ? SchedulerMessage.MessageType.CANCEL_BATCH_RESPONSE
+                : SchedulerMessage.MessageType.RESCHEDULE_BATCH_RESPONSE;
+        List<BatchEntry> outcomes = new ArrayList<>();
+        
+        try {
+            List<JobKey> jobKeys = new ArrayList<>(message.getEntries().size());
+            for (BatchEntry entry : message.getEntries()) {
+                jobKeys.add(new JobKey(entry.getJobId(), entry.getJobGroup()));
             }
+            Map<JobKey, Boolean> results = cancel
+                    ? localScheduler.cancelJobs(jobKeys)
+                    : localScheduler.rescheduleJobs(jobKeys, message.getNewScheduleTime(), message.getNewCronExpression());
             
+            String failure = (cancel ? "Failed to cancel job on instance: " : "Failed to reschedule job on instance: ")
+                    + instanceId;
+            results.forEach((jobKey, success) -> outcomes.add(BatchEntry.outcome(
+                    jobKey.getName(), jobKey.getGroup(), success, success ? null : failure)));
         } catch (Exception e) {
-            logger.error("Error parsing message JSON: {}", e.getMessage(), e);
+            logger.error("Error processing {} of {} jobs: {}", message.getType(), message.getEntries().size(),
+                    e.getMessage(), e);
+        }
+        
+        producer.sendResponse(SchedulerMessage.batchResponse(
+                message.getMessageId(),
+                responseType,
+                instanceId,
+                true,
+                outcomes,
+                null
+        ), message.getInstanceId());
+        logger.info("Processed {} with {} of {} jobs present locally",
+                message.getType(), outcomes.size(), message.getEntries().size());
+    }
+
+    private void processBulk(SchedulerMessage message, long appendTime) {
+        if (expired(message, appendTime, bulkRequestTimeoutMs)) {
+            return;
         }
+        BulkResult result;
+        String errorMessage = null;
+        try {
+            result = localScheduler.applyBulk(message.getBulkOperation(), instanceId, null);
+        } catch (Exception e) {
+            logger.error("Error applying bulk operation {}: {}", message.getBulkOperation(), e.getMessage(), e);
+            result = new BulkResult(instanceId, 1, 0, 0, 0, true);
+            errorMessage = "Error: " + e.getMessage();
+        }
+        
+        producer.sendResponse(SchedulerMessage.bulkResponse(message.getMessageId(), instanceId, result, errorMessage),
+                message.getInstanceId());
+        logger.info("Processed bulk operation {}: {} matched, {} succeeded",
+                message.getBulkOperation(), result.getMatched(), result.getSucceeded());
+    }
+
+    private static SchedulerMessage.MessageType responseType(SchedulerMessage.MessageType requestType) {
+        return requestType == SchedulerMessage.MessageType.CANCEL_JOB
+                ? SchedulerMessage.MessageType.CANCEL_RESPONSE
+                : SchedulerMessage.MessageType.RESCHEDULE_RESPONSE;
+    }
+
+    public long getFilteredCount() {
+        return filteredCount.get();
+    }
+
+    public long getDecodedCount() {
+        return decodedCount.get();
+    }
+
+    public long getExpiredCount() {
+        return expiredCount.get();
     }
 
     public void stop() {
@@ -1,33 +1,41 @@
 package com.scheduler.kafka;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Properties;
 import java.util.concurrent.Future;
 
 public class KafkaMessageProducer {
     private static final Logger logger = LoggerFactory.getLogger(KafkaMessageProducer.class);
     private static final String REQUEST_TOPIC = "scheduler-requests";
-    private static final String RESPONSE_TOPIC = "scheduler-responses";
+    private static final String RESPONSE_TOPIC_PREFIX = "scheduler-responses-";
+    // Routing metadata duplicated from the payload so consumers can discard records
+    // without decoding them. reply-to also identifies the originating instance.
+    public static final String REPLY_TO_HEADER = "reply-to";
+    public static final String MESSAGE_ID_HEADER = "message-id";
+    public static final String MESSAGE_TYPE_HEADER = "message-type";
+    public static final String JOB_GROUP_HEADER = "job-group";
+    public static final String TARGET_HEADER = "target";
+    private static final String MEMBERSHIP_TOPIC = "scheduler-membership";
     
-    private final KafkaProducer<String, String> producer;
-    private final ObjectMapper objectMapper;
+    private final KafkaProducer<String, byte[]> producer;
+    private final SchedulerMessageSerializer serializer;
 
-    public KafkaMessageProducer(String bootstrapServers) {
-        this.objectMapper = new ObjectMapper();
-        this.objectMapper.findAndRegisterModules();
+    public KafkaMessageProducer(String bootstrapServers, String messageFormat) {
+        this.serializer = new SchedulerMessageSerializer(messageFormat);
         
         Properties props = new Properties();
         props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class.getName());
-        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class.getName());
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class.getName());
         props.put(ProducerConfig.ACKS_CONFIG, "all");
         props.put(ProducerConfig.RETRIES_CONFIG, 3);
         props.put(ProducerConfig.BATCH_SIZE_CONFIG, 16384);
@@ -35,13 +43,19 @@ public class KafkaMessageProducer {
         props.put(ProducerConfig.BUFFER_MEMORY_CONFIG, 33554432);
         
         this.producer = new KafkaProducer<>(props);
-        logger.info("Kafka producer initialized with bootstrap servers: {}", bootstrapServers);
+        logger.info("Kafka producer initialized with bootstrap servers: {} (message format: {})",
+                bootstrapServers, serializer.getFormat());
     }
 
     public void sendRequest(SchedulerMessage message) {
         try {
-            String messageJson = objectMapper.writeValueAsString(message);
-            ProducerRecord<String, String> record = new ProducerRecord<>(REQUEST_TOPIC, message.getJobId(), messageJson);
+            ProducerRecord<String, byte[]> record = new ProducerRecord<>(REQUEST_TOPIC, message.getJobId(),
+                    serializer.serialize(REQUEST_TOPIC, message));
+            addHeader(record, REPLY_TO_HEADER, message.getInstanceId());
+            addHeader(record, MESSAGE_ID_HEADER, message.getMessageId());
+            addHeader(record, MESSAGE_TYPE_HEADER, message.getType().name());
+            addHeader(record, JOB_GROUP_HEADER, message.getJobGroup());
+            addHeader(record, TARGET_HEADER, message.getTargetInstanceId());
             
             Future<RecordMetadata> future = producer.send(record, (metadata, exception) -> {
                 if (exception != null) {
@@ -58,11 +72,13 @@ public class KafkaMessageProducer {
         }
     }
 
-    public void sendResponse(SchedulerMessage responseMessage) {
+    public void sendResponse(SchedulerMessage responseMessage, String replyTo) {
         try {
-            String messageJson = objectMapper.writeValueAsString(responseMessage);
-            ProducerRecord<String, String> record = new ProducerRecord<>(RESPONSE_TOPIC, 
-                    responseMessage.getMessageId(), messageJson);
+            String topic = replyTopic(replyTo);
+            ProducerRecord<String, byte[]> record = new ProducerRecord<>(topic, 
+                    responseMessage.getMessageId(), serializer.serialize(topic, responseMessage));
+            addHeader(record, REPLY_TO_HEADER, replyTo);
+            addHeader(record, MESSAGE_ID_HEADER, responseMessage.getMessageId());
             
             producer.send(record, (metadata, exception) -> {
                 if (exception != null) {
@@ -79,6 +95,45 @@ public class KafkaMessageProducer {
         }
     }
 
+    public void sendMembership(SchedulerMessage message) {
+        try {
+            ProducerRecord<String, byte[]> record = new ProducerRecord<>(MEMBERSHIP_TOPIC, 
+                    message.getInstanceId(), serializer.serialize(MEMBERSHIP_TOPIC, message));
+            
+            producer.send(record, (metadata, exception) -> {
+                if (exception != null) {
+                    logger.warn("Failed to send {} to Kafka: {}", message.getType(), exception.getMessage());
+                }
+            });
+        } catch (Exception e) {
+            logger.error("Error sending membership message to Kafka: {}", e.getMessage(), e);
+        }
+    }
+
+    public void publishJobLocation(String locationKey, String instanceId) {
+        try {
+            ProducerRecord<String, byte[]> record = new ProducerRecord<>(KafkaLocationConsumer.LOCATION_TOPIC,
+                    locationKey, instanceId == null ? null : instanceId.getBytes(StandardCharsets.UTF_8));
+            producer.send(record, (metadata, exception) -> {
+                if (exception != null) {
+                    logger.warn("Failed to publish job location: {}", exception.getMessage());
+                }
+            });
+        } catch (Exception e) {
+            logger.error("Error publishing job location to Kafka: {}", e.getMessage(), e);
+        }
+    }
+
+    private static void addHeader(ProducerRecord<String, byte[]> record, String key, String value) {
+        if (value != null) {
+            record.headers().add(key, value.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    public static String replyTopic(String instanceId) {
+        return RESPONSE_TOPIC_PREFIX + KafkaTopicAdmin.sanitize(instanceId);
+    }
+
     public void close() {
         if (producer != null) {
             producer.close();
@@ -1,48 +1,74 @@
 package com.scheduler.kafka;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.config.TopicConfig;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
+import org.quartz.JobKey;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 public class KafkaResponseListener implements Runnable {
     private static final Logger logger = LoggerFactory.getLogger(KafkaResponseListener.class);
-    private static final String RESPONSE_TOPIC = "scheduler-responses";
-    
-    private final KafkaConsumer<String, String> consumer;
-    private final ObjectMapper objectMapper;
+    private final KafkaConsumer<String, byte[]> consumer;
+    private final SchedulerMessageDeserializer deserializer = new SchedulerMessageDeserializer();
     private final AtomicBoolean running = new AtomicBoolean(true);
-    private final Map<String, CompletableFuture<SchedulerMessage>> pendingResponses = new ConcurrentHashMap<>();
+    private final Map<String, PendingResponse> pendingResponses = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final HashedWheelTimer timeoutTimer;
+    private final int maxPendingResponses;
     private final String instanceId;
+    private final byte[] instanceIdBytes;
+    private final String replyTopic;
 
-    public KafkaResponseListener(String bootstrapServers, String instanceId) {
+    public KafkaResponseListener(String bootstrapServers, String instanceId, int maxPendingResponses, long timerTickMs,
+                                 short replyTopicReplication) {
         this.instanceId = instanceId;
-        this.objectMapper = new ObjectMapper();
-        this.objectMapper.findAndRegisterModules();
+        this.instanceIdBytes = instanceId.getBytes(StandardCharsets.UTF_8);
+        this.replyTopic = KafkaMessageProducer.replyTopic(instanceId);
+        this.maxPendingResponses = maxPendingResponses;
+        this.timeoutTimer = new HashedWheelTimer("response-timeout-" + instanceId, timerTickMs, TimeUnit.MILLISECONDS, 512);
         
         Properties props = new Properties();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ConsumerConfig.GROUP_ID_CONFIG, "scheduler-response-group-" + instanceId);
         props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
-        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class.getName());
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
         props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "true");
         
+        // Replies are only useful to a live requester, so keep them briefly.
+        KafkaTopicAdmin.ensureTopic(bootstrapServers, replyTopic, 1, replyTopicReplication,
+                Map.of(TopicConfig.RETENTION_MS_CONFIG, "3600000"));
+        
         this.consumer = new KafkaConsumer<>(props);
-        this.consumer.subscribe(Collections.singletonList(RESPONSE_TOPIC));
-        logger.info("Kafka response listener initialized for instance: {}", instanceId);
+        this.consumer.subscribe(Collections.singletonList(replyTopic));
+        logger.info("Kafka response listener initialized for instance: {} on topic: {}", instanceId, replyTopic);
     }
 
     @Override
@@ -51,11 +77,14 @@ public class KafkaResponseListener implements Runnable {
         
         while (running.get()) {
             try {
-                ConsumerRecords<String, String> records = consumer.poll(Duration.ofMillis(1000));
+                ConsumerRecords<String, byte[]> records = consumer.poll(Duration.ofMillis(1000));
                 
-                for (ConsumerRecord<String, String> record : records) {
+                for (ConsumerRecord<String, byte[]> record : records) {
                     try {
-                        processResponse(record.value());
+                        if (!isAddressedToMe(record) || !isAwaited(record)) {
+                            continue;
+                        }
+                        processResponse(deserializer.deserialize(record.topic(), record.value()));
                     } catch (Exception e) {
                         logger.error("Error processing response: {}", e.getMessage(), e);
                     }
@@ -77,48 +106,202 @@ public class KafkaResponseListener implements Runnable {
         logger.info("Kafka response listener stopped for instance: {}", instanceId);
     }
 
-    private void processResponse(String responseJson) {
+    private boolean isAddressedToMe(ConsumerRecord<String, byte[]> record) {
+        Header replyTo = record.headers().lastHeader(KafkaMessageProducer.REPLY_TO_HEADER);
+        return replyTo == null || Arrays.equals(replyTo.value(), instanceIdBytes);
+    }
+
+    // Late replies for requests that already completed or timed out are dropped undecoded.
+    private boolean isAwaited(ConsumerRecord<String, byte[]> record) {
+        Header messageId = record.headers().lastHeader(KafkaMessageProducer.MESSAGE_ID_HEADER);
+        return messageId == null
+                || pendingResponses.containsKey(new String(messageId.value(), StandardCharsets.UTF_8));
+    }
+
+    private void processResponse(SchedulerMessage response) {
         try {
-            SchedulerMessage response = objectMapper.readValue(responseJson, SchedulerMessage.class);
-            logger.info("Received response: {}", response);
+            logger.debug("Received response: {}", response);
             
-            CompletableFuture<SchedulerMessage> future = pendingResponses.remove(response.getMessageId());
-            if (future != null) {
-                future.complete(response);
-                logger.debug("Completed future for message: {}", response.getMessageId());
-            } else {
+            PendingResponse pending = pendingResponses.get(response.getMessageId());
+            if (pending == null) {
                 logger.debug("No pending future found for message: {}", response.getMessageId());
+                return;
+            }
+            
+            SchedulerMessage result = pending.accept(response);
+            if (result != null && removePending(response.getMessageId()) != null) {
+                pending.future.complete(result);
+                logger.debug("Completed future for message: {} after {} responses from {} expected instances",
+                        response.getMessageId(), pending.responders.size(), pending.expectedResponders.size());
             }
             
         } catch (Exception e) {
-            logger.error("Error parsing response JSON: {}", e.getMessage(), e);
+            logger.error("Error handling response: {}", e.getMessage(), e);
         }
     }
 
-    public CompletableFuture<SchedulerMessage> waitForResponse(String messageId, long timeoutMs) {
-        CompletableFuture<SchedulerMessage> future = new CompletableFuture<>();
-        pendingResponses.put(messageId, future);
+    // expectedResponders are the instance ids the request was sent to; replies from instances
+    // that joined afterwards are still used but never stand in for one of them.
+    public CompletableFuture<SchedulerMessage> waitForResponse(String messageId, Set<String> expectedResponders,
+                                                               long timeoutMs) {
+        return waitForResponse(messageId, expectedResponders, 1, timeoutMs);
+    }
+
+    // Hands every reply to onResponse as it arrives and completes once all expected responders
+    // have answered, for operations whose per-instance results are reported separately.
+    public CompletableFuture<SchedulerMessage> collectResponses(String messageId, Set<String> expectedResponders,
+                                                                long timeoutMs, Consumer<SchedulerMessage> onResponse) {
+        return register(messageId, new PendingResponse(expectedResponders, 0, onResponse), timeoutMs);
+    }
+
+    // For batch requests, expectedEntries is the number of job keys; the request settles early
+    // once every key has been reported by some instance.
+    public CompletableFuture<SchedulerMessage> waitForResponse(String messageId, Set<String> expectedResponders,
+                                                               int expectedEntries, long timeoutMs) {
+        return register(messageId, new PendingResponse(expectedResponders, expectedEntries, null), timeoutMs);
+    }
+
+    private CompletableFuture<SchedulerMessage> register(String messageId, PendingResponse pending, long timeoutMs) {
+        if (pendingCount.incrementAndGet() > maxPendingResponses) {
+            pendingCount.decrementAndGet();
+            rejectedCount.incrementAndGet();
+            logger.warn("Rejecting remote operation {}: {} responses already pending", messageId, maxPendingResponses);
+            pending.future.completeExceptionally(new RejectedExecutionException(
+                    "Too many pending remote operations (limit " + maxPendingResponses + ")"));
+            return pending.future;
+        }
         
-        CompletableFuture.runAsync(() -> {
-            try {
-                Thread.sleep(timeoutMs);
-                CompletableFuture<SchedulerMessage> expiredFuture = pendingResponses.remove(messageId);
-                if (expiredFuture != null && !expiredFuture.isDone()) {
-                    expiredFuture.completeExceptionally(new RuntimeException("Response timeout"));
+        pendingResponses.put(messageId, pending);
+        pending.timeout = timeoutTimer.newTimeout(() -> {
+            PendingResponse expired = removePending(messageId);
+            if (expired != null) {
+                SchedulerMessage partial = expired.partialBatchResult(messageId);
+                if (partial != null) {
+                    expired.future.complete(partial);
+                } else {
+                    expired.future.completeExceptionally(new TimeoutException("Response timeout"));
                 }
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
             }
-        });
+        }, timeoutMs, TimeUnit.MILLISECONDS);
         
-        return future;
+        return pending.future;
+    }
+
+    private PendingResponse removePending(String messageId) {
+        PendingResponse pending = pendingResponses.remove(messageId);
+        if (pending != null) {
+            pendingCount.decrementAndGet();
+            if (pending.timeout != null) {
+                pending.timeout.cancel();
+            }
+        }
+        return pending;
+    }
+
+    public int getPendingCount() {
+        return pendingCount.get();
+    }
+
+    public int getMaxPendingResponses() {
+        return maxPendingResponses;
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
     }
 
     public void stop() {
         running.set(false);
-        pendingResponses.values().forEach(future -> 
-                future.completeExceptionally(new RuntimeException("Service stopped")));
-        pendingResponses.clear();
+        timeoutTimer.stop();
+        for (String messageId : pendingResponses.keySet()) {
+            PendingResponse pending = removePending(messageId);
+            if (pending != null) {
+                pending.future.completeExceptionally(new RuntimeException("Service stopped"));
+            }
+        }
         logger.info("Stopping Kafka response listener for instance: {}", instanceId);
     }
-}
\ No newline at end of file
+
+    private static final class PendingResponse {
+        private final CompletableFuture<SchedulerMessage> future = new CompletableFuture<>();
+        private final Set<String> responders = new HashSet<>();
+        private final Set<String> expectedResponders;
+        private final int expectedEntries;
+        private final Consumer<SchedulerMessage> listener;
+        private Map<JobKey, BatchEntry> batchEntries;
+        private SchedulerMessage.MessageType batchType;
+        private volatile HashedWheelTimer.Timeout timeout;
+
+        private PendingResponse(Set<String> expectedResponders, int expectedEntries, Consumer<SchedulerMessage> listener) {
+            this.expectedResponders = Set.copyOf(expectedResponders);
+            this.expectedEntries = expectedEntries;
+            this.listener = listener;
+        }
+
+        // Returns the message that settles this request, or null while more replies are needed.
+        // With no known peers the request can only settle on a positive reply or the timeout.
+        private synchronized SchedulerMessage accept(SchedulerMessage response) {
+            if (listener != null) {
+                if (responders.add(responderId(response))) {
+                    listener.accept(response);
+                }
+                return responders.containsAll(expectedResponders) ? response : null;
+            }
+            if (response.getEntries() != null) {
+                return acceptBatch(response);
+            }
+            if (response.isSuccess() || response.isJobFound()) {
+                return response;
+            }
+            responders.add(responderId(response));
+            if (allExpectedAnswered()) {
+                return SchedulerMessage.response(
+                        response.getMessageId(),
+                        response.getType(),
+                        null,
+                        false,
+                        false,
+                        "Job not found on any of " + expectedResponders.size() + " instances"
+                );
+            }
+            return null;
+        }
+
+        private boolean allExpectedAnswered() {
+            return !expectedResponders.isEmpty() && responders.containsAll(expectedResponders);
+        }
+
+        private static String responderId(SchedulerMessage response) {
+            return response.getInstanceId() != null ? response.getInstanceId() : response.toString();
+        }
+
+        // Request consumers redeliver at least once, so only the first reply of each responder
+        // counts and entries are keyed by job so a repeat cannot inflate the total.
+        private SchedulerMessage acceptBatch(SchedulerMessage response) {
+            if (!responders.add(responderId(response))) {
+                return null;
+            }
+            if (batchEntries == null) {
+                batchEntries = new LinkedHashMap<>(expectedEntries);
+                batchType = response.getType();
+            }
+            for (BatchEntry entry : response.getEntries()) {
+                batchEntries.putIfAbsent(new JobKey(entry.getJobId(), entry.getJobGroup()), entry);
+            }
+            if (batchEntries.size() >= expectedEntries || allExpectedAnswered()) {
+                return SchedulerMessage.batchResponse(response.getMessageId(), batchType, null, true,
+                        new ArrayList<>(batchEntries.values()), null);
+            }
+            return null;
+        }
+
+        // On timeout a batch still reports the keys that were handled; success=false marks it incomplete.
+        private synchronized SchedulerMessage partialBatchResult(String messageId) {
+            if (batchEntries == null) {
+                return null;
+            }
+            return SchedulerMessage.batchResponse(messageId, batchType, null, false,
+                    new ArrayList<>(batchEntries.values()), "Response timeout");
+        }
+    }
+}
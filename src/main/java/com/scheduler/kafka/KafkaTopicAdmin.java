@@ -0,0 +1,51 @@
+package com.scheduler.kafka;
+
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.errors.TopicExistsException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public final class KafkaTopicAdmin {
+    private static final Logger logger = LoggerFactory.getLogger(KafkaTopicAdmin.class);
+    private static final long CREATE_TIMEOUT_MS = 10000;
+
+    private KafkaTopicAdmin() {
+    }
+
+    public static void ensureTopic(String bootstrapServers, String topic, int partitions, short replicationFactor,
+                                   Map<String, String> topicConfig) {
+        Properties props = new Properties();
+        props.put(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(AdminClientConfig.REQUEST_TIMEOUT_MS_CONFIG, (int) CREATE_TIMEOUT_MS);
+        props.put(AdminClientConfig.DEFAULT_API_TIMEOUT_MS_CONFIG, (int) CREATE_TIMEOUT_MS);
+
+        try (Admin admin = Admin.create(props)) {
+            NewTopic newTopic = new NewTopic(topic, partitions, replicationFactor).configs(topicConfig);
+            admin.createTopics(Collections.singletonList(newTopic)).all().get(CREATE_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            logger.info("Created Kafka topic: {}", topic);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof TopicExistsException) {
+                logger.debug("Kafka topic already exists: {}", topic);
+            } else {
+                logger.warn("Could not create Kafka topic {}, relying on broker auto-creation: {}",
+                        topic, e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.warn("Could not create Kafka topic {}, relying on broker auto-creation: {}", topic, e.getMessage());
+        }
+    }
+
+    public static String sanitize(String name) {
+        return name.replaceAll("[^a-zA-Z0-9._-]", "_");
+    }
+}
@@ -2,12 +2,18 @@ package com.scheduler.kafka;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.scheduler.model.BulkOperation;
+import com.scheduler.model.BulkResult;
+import com.scheduler.model.JobDetails;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 public class SchedulerMessage {
     public enum MessageType {
-        CANCEL_JOB, RESCHEDULE_JOB, CANCEL_RESPONSE, RESCHEDULE_RESPONSE
+        CANCEL_JOB, RESCHEDULE_JOB, CANCEL_RESPONSE, RESCHEDULE_RESPONSE, HEARTBEAT, LEAVE,
+        CREATE_JOB, CREATE_RESPONSE, CANCEL_BATCH, RESCHEDULE_BATCH, CANCEL_BATCH_RESPONSE,
+        RESCHEDULE_BATCH_RESPONSE, BULK_OPERATION, BULK_RESPONSE, CREATE_BATCH, CREATE_BATCH_RESPONSE
     }
 
     private final String messageId;
@@ -15,10 +21,17 @@ public class SchedulerMessage {
     private final String jobId;
     private final String jobGroup;
     private final String instanceId;
+    private final String targetInstanceId;
+    private final JobDetails jobDetails;
     private final LocalDateTime newScheduleTime;
     private final String newCronExpression;
     private final boolean success;
+    private final boolean jobFound;
     private final String errorMessage;
+    private final List<BatchEntry> entries;
+    private final BulkOperation bulkOperation;
+    private final BulkResult bulkResult;
+    private final List<JobDetails> jobs;
     private final long timestamp;
 
     @JsonCreator
@@ -27,39 +40,104 @@ public class SchedulerMessage {
                            @JsonProperty("jobId") String jobId,
                            @JsonProperty("jobGroup") String jobGroup,
                            @JsonProperty("instanceId") String instanceId,
+                           @JsonProperty("targetInstanceId") String targetInstanceId,
+                           @JsonProperty("jobDetails") JobDetails jobDetails,
                            @JsonProperty("newScheduleTime") LocalDateTime newScheduleTime,
                            @JsonProperty("newCronExpression") String newCronExpression,
                            @JsonProperty("success") boolean success,
+                           @JsonProperty("jobFound") boolean jobFound,
                            @JsonProperty("errorMessage") String errorMessage,
+                           @JsonProperty("entries") List<BatchEntry> entries,
+                           @JsonProperty("bulkOperation") BulkOperation bulkOperation,
+                           @JsonProperty("bulkResult") BulkResult bulkResult,
+                           @JsonProperty("jobs") List<JobDetails> jobs,
                            @JsonProperty("timestamp") long timestamp) {
         this.messageId = messageId;
         this.type = type;
         this.jobId = jobId;
         this.jobGroup = jobGroup;
         this.instanceId = instanceId;
+        this.targetInstanceId = targetInstanceId;
+        this.jobDetails = jobDetails;
         this.newScheduleTime = newScheduleTime;
         this.newCronExpression = newCronExpression;
         this.success = success;
+        this.jobFound = jobFound;
         this.errorMessage = errorMessage;
+        this.entries = entries;
+        this.bulkOperation = bulkOperation;
+        this.bulkResult = bulkResult;
+        this.jobs = jobs;
         this.timestamp = timestamp;
     }
 
-    public static SchedulerMessage cancelJob(String jobId, String jobGroup, String instanceId) {
+    public static SchedulerMessage createJob(JobDetails jobDetails, String instanceId, String targetInstanceId) {
+        return new SchedulerMessage(
+                UUID.randomUUID().toString(),
+                MessageType.CREATE_JOB,
+                jobDetails.getJobId(),
+                jobDetails.getJobGroup(),
+                instanceId,
+                targetInstanceId,
+                jobDetails,
+                null,
+                null,
+                false,
+                false,
+                null,
+                null,
+                null,
+                null,
+                null,
+                System.currentTimeMillis()
+        );
+    }
+
+    public static SchedulerMessage createBatch(List<JobDetails> jobs, String instanceId, String targetInstanceId) {
+        return new SchedulerMessage(
+                UUID.randomUUID().toString(),
+                MessageType.CREATE_BATCH,
+                null,
+                null,
+                instanceId,
+                targetInstanceId,
+                null,
+                null,
+                null,
+                false,
+                false,
+                null,
+                null,
+                null,
+                null,
+                jobs,
+                System.currentTimeMillis()
+        );
+    }
+
+    public static SchedulerMessage cancelJob(String jobId, String jobGroup, String instanceId, String targetInstanceId) {
         return new SchedulerMessage(
                 UUID.randomUUID().toString(),
                 MessageType.CANCEL_JOB,
                 jobId,
                 jobGroup,
                 instanceId,
+                targetInstanceId,
                 null,
                 null,
+                null,
+                false,
                 false,
                 null,
+                null,
+                null,
+                null,
+                null,
                 System.currentTimeMillis()
         );
     }
 
-    public static SchedulerMessage rescheduleJob(String jobId, String jobGroup, String instanceId, 
+    public static SchedulerMessage rescheduleJob(String jobId, String jobGroup, String instanceId, String targetInstanceId,
                                                LocalDateTime newScheduleTime, String newCronExpression) {
         return new SchedulerMessage(
                 UUID.randomUUID().toString(),
@@ -67,25 +145,175 @@ public class SchedulerMessage {
                 jobId,
                 jobGroup,
                 instanceId,
+                targetInstanceId,
+                null,
+                newScheduleTime,
+                newCronExpression,
+                false,
+                false,
+                null,
+                null,
+                null,
+                null,
+                null,
+                System.currentTimeMillis()
+        );
+    }
+
+    public static SchedulerMessage response(String messageId, MessageType responseType, String instanceId,
+                                            boolean success, boolean jobFound, String errorMessage) {
+        return new SchedulerMessage(
+                messageId,
+                responseType,
+                null,
+                null,
+                instanceId,
+                null,
+                null,
+                null,
+                null,
+                success,
+                jobFound,
+                errorMessage,
+                null,
+                null,
+                null,
+                null,
+                System.currentTimeMillis()
+        );
+    }
+
+    public static SchedulerMessage cancelBatch(List<BatchEntry> entries, String instanceId, String targetInstanceId) {
+        return new SchedulerMessage(
+                UUID.randomUUID().toString(),
+                MessageType.CANCEL_BATCH,
+                null,
+                null,
+                instanceId,
+                targetInstanceId,
+                null,
+                null,
+                null,
+                false,
+                false,
+                null,
+                entries,
+                null,
+                null,
+                null,
+                System.currentTimeMillis()
+        );
+    }
+
+    public static SchedulerMessage rescheduleBatch(List<BatchEntry> entries, String instanceId, String targetInstanceId,
+                                                   LocalDateTime newScheduleTime, String newCronExpression) {
+        return new SchedulerMessage(
+                UUID.randomUUID().toString(),
+                MessageType.RESCHEDULE_BATCH,
+                null,
+                null,
+                instanceId,
+                targetInstanceId,
+                null,
                 newScheduleTime,
                 newCronExpression,
                 false,
+                false,
+                null,
+                entries,
+                null,
+                null,
                 null,
                 System.currentTimeMillis()
         );
     }
 
-    public static SchedulerMessage response(String messageId, MessageType responseType, boolean success, String errorMessage) {
+    public static SchedulerMessage batchResponse(String messageId, MessageType responseType, String instanceId,
+                                                 boolean success, List<BatchEntry> entries, String errorMessage) {
         return new SchedulerMessage(
                 messageId,
                 responseType,
                 null,
                 null,
+                instanceId,
+                null,
                 null,
                 null,
                 null,
                 success,
+                !entries.isEmpty(),
                 errorMessage,
+                entries,
+                null,
+                null,
+                null,
+                System.currentTimeMillis()
+        );
+    }
+
+    public static SchedulerMessage bulkOperation(BulkOperation bulkOperation, String instanceId) {
+        return new SchedulerMessage(
+                UUID.randomUUID().toString(),
+                MessageType.BULK_OPERATION,
+                null,
+                bulkOperation.getGroup(),
+                instanceId,
+                null,
+                null,
+                null,
+                null,
+                false,
+                false,
+                null,
+                null,
+                bulkOperation,
+                null,
+                null,
+                System.currentTimeMillis()
+        );
+    }
+
+    public static SchedulerMessage bulkResponse(String messageId, String instanceId, BulkResult bulkResult,
+                                                String errorMessage) {
+        return new SchedulerMessage(
+                messageId,
+                MessageType.BULK_RESPONSE,
+                null,
+                null,
+                instanceId,
+                null,
+                null,
+                null,
+                null,
+                errorMessage == null,
+                bulkResult.getMatched() > 0,
+                errorMessage,
+                null,
+                null,
+                bulkResult,
+                null,
+                System.currentTimeMillis()
+        );
+    }
+
+    public static SchedulerMessage heartbeat(MessageType type, String instanceId) {
+        return new SchedulerMessage(
+                UUID.randomUUID().toString(),
+                type,
+                null,
+                null,
+                instanceId,
+                null,
+                null,
+                null,
+                null,
+                false,
+                false,
+                null,
+                null,
+                null,
+                null,
+                null,
                 System.currentTimeMillis()
         );
     }
@@ -95,10 +323,17 @@ public class SchedulerMessage {
     public String getJobId() { return jobId; }
     public String getJobGroup() { return jobGroup; }
     public String getInstanceId() { return instanceId; }
+    public String getTargetInstanceId() { return targetInstanceId; }
+    public JobDetails getJobDetails() { return jobDetails; }
     public LocalDateTime getNewScheduleTime() { return newScheduleTime; }
     public String getNewCronExpression() { return newCronExpression; }
     public boolean isSuccess() { return success; }
+    public boolean isJobFound() { return jobFound; }
     public String getErrorMessage() { return errorMessage; }
+    public List<BatchEntry> getEntries() { return entries; }
+    public BulkOperation getBulkOperation() { return bulkOperation; }
+    public BulkResult getBulkResult() { return bulkResult; }
+    public List<JobDetails> getJobs() { return jobs; }
     public long getTimestamp() { return timestamp; }
 
     @Override
@@ -109,7 +344,11 @@ public class SchedulerMessage {
                 ", jobId='" + jobId + '\'' +
                 ", jobGroup='" + jobGroup + '\'' +
                 ", instanceId='" + instanceId + '\'' +
+                ", targetInstanceId='" + targetInstanceId + '\'' +
                 ", success=" + success +
+                ", jobFound=" + jobFound +
+                ", entries=" + (entries != null ? entries.size() : 0) +
+                ", jobs=" + (jobs != null ? jobs.size() : 0) +
                 ", timestamp=" + timestamp +
                 '}';
     }
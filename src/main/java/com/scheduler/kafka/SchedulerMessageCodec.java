@@ -0,0 +1,326 @@
+package com.scheduler.kafka;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scheduler.model.BulkOperation;
+import com.scheduler.model.BulkResult;
+import com.scheduler.model.JobDetails;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.utils.ByteUtils;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// Binary layout, version 1:
+//   version:1 | type ordinal:1 | flags:1 | timestamp:8
+//   messageId: 16 raw UUID bytes when FLAG_UUID_ID, otherwise a string
+//   newScheduleTime: epoch second:8 + nano:4 (UTC) when FLAG_SCHEDULE_TIME
+//   jobId, jobGroup, instanceId, targetInstanceId, newCronExpression, errorMessage: strings
+//   jobDetails: Jackson JSON bytes, length-prefixed like a string
+//   entries: varint (count + 1), then per entry jobId, jobGroup, success:1, errorMessage
+//   bulkOperation, bulkResult: JSON blobs like jobDetails
+//   jobs: JSON array of jobDetails, length-prefixed like a string
+// Trailing sections added after the first release are optional when decoding.
+// Strings are an unsigned varint of (UTF-8 length + 1), where 0 means null. Type ordinals
+// are part of the format, so new message types must be appended to the enum.
+final class SchedulerMessageCodec {
+    static final String FORMAT_JSON = "json";
+    static final String FORMAT_BINARY = "binary";
+    static final byte VERSION_1 = 1;
+
+    private static final byte NULL_TYPE = (byte) 0xFF;
+    private static final int FLAG_SUCCESS = 1;
+    private static final int FLAG_JOB_FOUND = 1 << 1;
+    private static final int FLAG_UUID_ID = 1 << 2;
+    private static final int FLAG_SCHEDULE_TIME = 1 << 3;
+    private static final SchedulerMessage.MessageType[] TYPES = SchedulerMessage.MessageType.values();
+
+    private static final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private static final JavaType JOB_LIST_TYPE =
+            objectMapper.getTypeFactory().constructCollectionType(List.class, JobDetails.class);
+
+    private SchedulerMessageCodec() {
+    }
+
+    static byte[] encode(SchedulerMessage message, String format) {
+        if (FORMAT_BINARY.equals(format)) {
+            return encodeBinary(message);
+        }
+        try {
+            return objectMapper.writeValueAsBytes(message);
+        } catch (IOException e) {
+            throw new SerializationException("Error encoding message as JSON", e);
+        }
+    }
+
+    static SchedulerMessage decode(byte[] data) {
+        if (data == null || data.length == 0) {
+            return null;
+        }
+        // JSON always starts with '{', so readers accept both formats during a rolling upgrade.
+        if (data[0] == '{') {
+            try {
+                return objectMapper.readValue(data, SchedulerMessage.class);
+            } catch (IOException e) {
+                throw new SerializationException("Error decoding JSON message", e);
+            }
+        }
+        if (data[0] != VERSION_1) {
+            throw new SerializationException("Unsupported message format version: " + data[0]);
+        }
+        try {
+            return decodeBinary(ByteBuffer.wrap(data, 1, data.length - 1));
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new SerializationException("Malformed binary message", e);
+        }
+    }
+
+    private static byte[] encodeBinary(SchedulerMessage message) {
+        UUID uuid = toUuid(message.getMessageId());
+        byte[] messageId = uuid == null ? utf8(message.getMessageId()) : null;
+        byte[] jobId = utf8(message.getJobId());
+        byte[] jobGroup = utf8(message.getJobGroup());
+        byte[] instanceId = utf8(message.getInstanceId());
+        byte[] targetInstanceId = utf8(message.getTargetInstanceId());
+        byte[] cron = utf8(message.getNewCronExpression());
+        byte[] error = utf8(message.getErrorMessage());
+        byte[] jobDetails = encodeJson(message.getJobDetails());
+        byte[] bulkOperation = encodeJson(message.getBulkOperation());
+        byte[] bulkResult = encodeJson(message.getBulkResult());
+        byte[] jobs = encodeJson(message.getJobs());
+        LocalDateTime scheduleTime = message.getNewScheduleTime();
+
+        int flags = 0;
+        if (message.isSuccess()) {
+            flags |= FLAG_SUCCESS;
+        }
+        if (message.isJobFound()) {
+            flags |= FLAG_JOB_FOUND;
+        }
+        if (uuid != null) {
+            flags |= FLAG_UUID_ID;
+        }
+        if (scheduleTime != null) {
+            flags |= FLAG_SCHEDULE_TIME;
+        }
+
+        int size = 3 + 8
+                + (uuid != null ? 16 : sizeOf(messageId))
+                + (scheduleTime != null ? 12 : 0)
+                + sizeOf(jobId) + sizeOf(jobGroup) + sizeOf(instanceId) + sizeOf(targetInstanceId)
+                + sizeOf(cron) + sizeOf(error) + sizeOf(jobDetails) + sizeOf(bulkOperation) + sizeOf(bulkResult)
+                + sizeOf(jobs);
+
+        List<BatchEntry> entries = message.getEntries();
+        List<byte[]> entryFields = null;
+        if (entries == null) {
+            size += 1;
+        } else {
+            entryFields = new ArrayList<>(entries.size() * 3);
+            size += ByteUtils.sizeOfUnsignedVarint(entries.size() + 1) + entries.size();
+            for (BatchEntry entry : entries) {
+                byte[] entryId = utf8(entry.getJobId());
+                byte[] entryGroup = utf8(entry.getJobGroup());
+                byte[] entryError = utf8(entry.getErrorMessage());
+                size += sizeOf(entryId) + sizeOf(entryGroup) + sizeOf(entryError);
+                entryFields.add(entryId);
+                entryFields.add(entryGroup);
+                entryFields.add(entryError);
+            }
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.put(VERSION_1);
+        buffer.put(message.getType() == null ? NULL_TYPE : (byte) message.getType().ordinal());
+        buffer.put((byte) flags);
+        buffer.putLong(message.getTimestamp());
+        if (uuid != null) {
+            buffer.putLong(uuid.getMostSignificantBits());
+            buffer.putLong(uuid.getLeastSignificantBits());
+        } else {
+            writeBytes(buffer, messageId);
+        }
+        if (scheduleTime != null) {
+            buffer.putLong(scheduleTime.toEpochSecond(ZoneOffset.UTC));
+            buffer.putInt(scheduleTime.getNano());
+        }
+        writeBytes(buffer, jobId);
+        writeBytes(buffer, jobGroup);
+        writeBytes(buffer, instanceId);
+        writeBytes(buffer, targetInstanceId);
+        writeBytes(buffer, cron);
+        writeBytes(buffer, error);
+        writeBytes(buffer, jobDetails);
+        if (entries == null) {
+            ByteUtils.writeUnsignedVarint(0, buffer);
+        } else {
+            ByteUtils.writeUnsignedVarint(entries.size() + 1, buffer);
+            for (int i = 0; i < entries.size(); i++) {
+                writeBytes(buffer, entryFields.get(i * 3));
+                writeBytes(buffer, entryFields.get(i * 3 + 1));
+                buffer.put(entries.get(i).isSuccess() ? (byte) 1 : (byte) 0);
+                writeBytes(buffer, entryFields.get(i * 3 + 2));
+            }
+        }
+        writeBytes(buffer, bulkOperation);
+        writeBytes(buffer, bulkResult);
+        writeBytes(buffer, jobs);
+        return buffer.array();
+    }
+
+    private static SchedulerMessage decodeBinary(ByteBuffer buffer) {
+        int typeOrdinal = buffer.get() & 0xFF;
+        SchedulerMessage.MessageType type = null;
+        if (typeOrdinal != (NULL_TYPE & 0xFF)) {
+            if (typeOrdinal >= TYPES.length) {
+                throw new SerializationException("Unknown message type ordinal: " + typeOrdinal);
+            }
+            type = TYPES[typeOrdinal];
+        }
+        int flags = buffer.get();
+        long timestamp = buffer.getLong();
+        String messageId = (flags & FLAG_UUID_ID) != 0
+                ? new UUID(buffer.getLong(), buffer.getLong()).toString()
+                : readString(buffer);
+        LocalDateTime scheduleTime = null;
+        if ((flags & FLAG_SCHEDULE_TIME) != 0) {
+            long epochSecond = buffer.getLong();
+            scheduleTime = LocalDateTime.ofEpochSecond(epochSecond, buffer.getInt(), ZoneOffset.UTC);
+        }
+        String jobId = readString(buffer);
+        String jobGroup = readString(buffer);
+        String instanceId = readString(buffer);
+        String targetInstanceId = readString(buffer);
+        String cron = readString(buffer);
+        String error = readString(buffer);
+        JobDetails jobDetails = decodeJson(readBytes(buffer), JobDetails.class);
+        List<BatchEntry> entries = readEntries(buffer);
+        BulkOperation bulkOperation = buffer.hasRemaining() ? decodeJson(readBytes(buffer), BulkOperation.class) : null;
+        BulkResult bulkResult = buffer.hasRemaining() ? decodeJson(readBytes(buffer), BulkResult.class) : null;
+        List<JobDetails> jobs = buffer.hasRemaining() ? decodeJson(readBytes(buffer), JOB_LIST_TYPE) : null;
+
+        return new SchedulerMessage(messageId, type, jobId, jobGroup, instanceId, targetInstanceId, jobDetails,
+                scheduleTime, cron, (flags & FLAG_SUCCESS) != 0, (flags & FLAG_JOB_FOUND) != 0, error, entries,
+                bulkOperation, bulkResult, jobs, timestamp);
+    }
+
+    private static List<BatchEntry> readEntries(ByteBuffer buffer) {
+        // Messages encoded before batch entries existed simply end here.
+        if (!buffer.hasRemaining()) {
+            return null;
+        }
+        int count = ByteUtils.readUnsignedVarint(buffer) - 1;
+        if (count < 0) {
+            return null;
+        }
+        // Every entry takes at least four bytes, which bounds the allocation for corrupt input.
+        if (count > buffer.remaining() / 4) {
+            throw new SerializationException("Entry count " + count + " exceeds remaining " + buffer.remaining());
+        }
+        List<BatchEntry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String entryId = readString(buffer);
+            String entryGroup = readString(buffer);
+            boolean success = buffer.get() != 0;
+            entries.add(new BatchEntry(entryId, entryGroup, success, readString(buffer)));
+        }
+        return entries;
+    }
+
+    private static UUID toUuid(String messageId) {
+        if (messageId == null || messageId.length() != 36) {
+            return null;
+        }
+        try {
+            UUID uuid = UUID.fromString(messageId);
+            // Only use the compact form when it round-trips to the identical string.
+            return uuid.toString().equals(messageId) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static byte[] encodeJson(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new SerializationException("Error encoding " + value.getClass().getSimpleName(), e);
+        }
+    }
+
+    private static <T> T decodeJson(byte[] bytes, Class<T> type) {
+        if (bytes == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(bytes, type);
+        } catch (IOException e) {
+            throw new SerializationException("Error decoding " + type.getSimpleName(), e);
+        }
+    }
+
+    private static <T> T decodeJson(byte[] bytes, JavaType type) {
+        if (bytes == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(bytes, type);
+        } catch (IOException e) {
+            throw new SerializationException("Error decoding " + type.getRawClass().getSimpleName(), e);
+        }
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int sizeOf(byte[] bytes) {
+        int length = bytes == null ? 0 : bytes.length + 1;
+        return ByteUtils.sizeOfUnsignedVarint(length) + (bytes == null ? 0 : bytes.length);
+    }
+
+    private static void writeBytes(ByteBuffer buffer, byte[] bytes) {
+        if (bytes == null) {
+            ByteUtils.writeUnsignedVarint(0, buffer);
+        } else {
+            ByteUtils.writeUnsignedVarint(bytes.length + 1, buffer);
+            buffer.put(bytes);
+        }
+    }
+
+    private static byte[] readBytes(ByteBuffer buffer) {
+        int length = ByteUtils.readUnsignedVarint(buffer) - 1;
+        if (length < 0) {
+            return null;
+        }
+        if (length > buffer.remaining()) {
+            throw new SerializationException("Field length " + length + " exceeds remaining " + buffer.remaining());
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = ByteUtils.readUnsignedVarint(buffer) - 1;
+        if (length < 0) {
+            return null;
+        }
+        if (length > buffer.remaining()) {
+            throw new SerializationException("Field length " + length + " exceeds remaining " + buffer.remaining());
+        }
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+}
@@ -0,0 +1,12 @@
+package com.scheduler.kafka;
+
+import org.apache.kafka.common.serialization.Deserializer;
+
+// Accepts both the JSON and the binary format regardless of what this instance writes.
+public class SchedulerMessageDeserializer implements Deserializer<SchedulerMessage> {
+
+    @Override
+    public SchedulerMessage deserialize(String topic, byte[] data) {
+        return SchedulerMessageCodec.decode(data);
+    }
+}
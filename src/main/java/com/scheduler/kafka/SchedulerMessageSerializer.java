@@ -0,0 +1,46 @@
+package com.scheduler.kafka;
+
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.util.Map;
+
+public class SchedulerMessageSerializer implements Serializer<SchedulerMessage> {
+    public static final String FORMAT_CONFIG = "scheduler.message.format";
+
+    private String format;
+
+    public SchedulerMessageSerializer() {
+        this(SchedulerMessageCodec.FORMAT_JSON);
+    }
+
+    public SchedulerMessageSerializer(String format) {
+        this.format = normalize(format);
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        Object configured = configs.get(FORMAT_CONFIG);
+        if (configured != null) {
+            this.format = normalize(configured.toString());
+        }
+    }
+
+    @Override
+    public byte[] serialize(String topic, SchedulerMessage message) {
+        return message == null ? null : SchedulerMessageCodec.encode(message, format);
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    private static String normalize(String format) {
+        if (SchedulerMessageCodec.FORMAT_BINARY.equalsIgnoreCase(format)) {
+            return SchedulerMessageCodec.FORMAT_BINARY;
+        }
+        if (format != null && !SchedulerMessageCodec.FORMAT_JSON.equalsIgnoreCase(format)) {
+            throw new IllegalArgumentException("Unknown message format: " + format);
+        }
+        return SchedulerMessageCodec.FORMAT_JSON;
+    }
+}
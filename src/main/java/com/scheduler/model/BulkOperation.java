@@ -0,0 +1,51 @@
+package com.scheduler.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public class BulkOperation {
+    public enum Action {
+        CANCEL, PAUSE, RESUME, SHIFT
+    }
+
+    private final Action action;
+    private final String group;
+    private final String groupPrefix;
+    private final String dataKey;
+    private final String dataValue;
+    private final long shiftSeconds;
+
+    @JsonCreator
+    public BulkOperation(@JsonProperty("action") Action action,
+                         @JsonProperty("group") String group,
+                         @JsonProperty("groupPrefix") String groupPrefix,
+                         @JsonProperty("dataKey") String dataKey,
+                         @JsonProperty("dataValue") String dataValue,
+                         @JsonProperty("shiftSeconds") long shiftSeconds) {
+        this.action = action;
+        this.group = group;
+        this.groupPrefix = groupPrefix;
+        this.dataKey = dataKey;
+        this.dataValue = dataValue;
+        this.shiftSeconds = shiftSeconds;
+    }
+
+    public Action getAction() { return action; }
+    public String getGroup() { return group; }
+    public String getGroupPrefix() { return groupPrefix; }
+    public String getDataKey() { return dataKey; }
+    public String getDataValue() { return dataValue; }
+    public long getShiftSeconds() { return shiftSeconds; }
+
+    @Override
+    public String toString() {
+        return "BulkOperation{" +
+                "action=" + action +
+                ", group='" + group + '\'' +
+                ", groupPrefix='" + groupPrefix + '\'' +
+                ", dataKey='" + dataKey + '\'' +
+                ", dataValue='" + dataValue + '\'' +
+                ", shiftSeconds=" + shiftSeconds +
+                '}';
+    }
+}
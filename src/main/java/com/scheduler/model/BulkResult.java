@@ -0,0 +1,51 @@
+package com.scheduler.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Collection;
+
+// Counts for one instance (instanceId set) or the whole cluster (instanceId null). Progress
+// updates are cumulative and have complete=false.
+public class BulkResult {
+    private final String instanceId;
+    private final int instances;
+    private final long matched;
+    private final long succeeded;
+    private final long failed;
+    private final boolean complete;
+
+    @JsonCreator
+    public BulkResult(@JsonProperty("instanceId") String instanceId,
+                      @JsonProperty("instances") int instances,
+                      @JsonProperty("matched") long matched,
+                      @JsonProperty("succeeded") long succeeded,
+                      @JsonProperty("failed") long failed,
+                      @JsonProperty("complete") boolean complete) {
+        this.instanceId = instanceId;
+        this.instances = instances;
+        this.matched = matched;
+        this.succeeded = succeeded;
+        this.failed = failed;
+        this.complete = complete;
+    }
+
+    public static BulkResult total(Collection<BulkResult> results, boolean complete) {
+        long matched = 0;
+        long succeeded = 0;
+        long failed = 0;
+        for (BulkResult result : results) {
+            matched += result.matched;
+            succeeded += result.succeeded;
+            failed += result.failed;
+        }
+        return new BulkResult(null, results.size(), matched, succeeded, failed, complete);
+    }
+
+    public String getInstanceId() { return instanceId; }
+    public int getInstances() { return instances; }
+    public long getMatched() { return matched; }
+    public long getSucceeded() { return succeeded; }
+    public long getFailed() { return failed; }
+    public boolean isComplete() { return complete; }
+}
@@ -14,6 +14,9 @@ public class JobDetails {
     private final Map<String, Object> jobData;
     private final String description;
     private final boolean recurring;
+    private final JobPriority priority;
+    private final Long maxLatenessMs;
+    private final MisfirePolicy misfirePolicy;
 
     @JsonCreator
     public JobDetails(@JsonProperty("jobId") String jobId,
@@ -23,7 +26,10 @@ public class JobDetails {
                      @JsonProperty("cronExpression") String cronExpression,
                      @JsonProperty("jobData") Map<String, Object> jobData,
                      @JsonProperty("description") String description,
-                     @JsonProperty("recurring") boolean recurring) {
+                     @JsonProperty("recurring") boolean recurring,
+                     @JsonProperty("priority") JobPriority priority,
+                     @JsonProperty("maxLatenessMs") Long maxLatenessMs,
+                     @JsonProperty("misfirePolicy") MisfirePolicy misfirePolicy) {
         this.jobId = jobId;
         this.jobName = jobName;
         this.jobGroup = jobGroup;
@@ -32,6 +38,9 @@ public class JobDetails {
         this.jobData = jobData;
         this.description = description;
         this.recurring = recurring;
+        this.priority = priority;
+        this.maxLatenessMs = maxLatenessMs;
+        this.misfirePolicy = misfirePolicy;
     }
 
     public String getJobId() { return jobId; }
@@ -42,6 +51,12 @@ public class JobDetails {
     public Map<String, Object> getJobData() { return jobData; }
     public String getDescription() { return description; }
     public boolean isRecurring() { return recurring; }
+    public JobPriority getPriority() { return priority != null ? priority : JobPriority.NORMAL; }
+    // How late a fire may start before it is skipped; null falls back to the priority class.
+    public Long getMaxLatenessMs() { return maxLatenessMs; }
+    // What to do with fires missed by more than the misfire threshold; null falls back to the
+    // priority class.
+    public MisfirePolicy getMisfirePolicy() { return misfirePolicy; }
 
     @Override
     public String toString() {
@@ -53,6 +68,9 @@ public class JobDetails {
                 ", cronExpression='" + cronExpression + '\'' +
                 ", description='" + description + '\'' +
                 ", recurring=" + recurring +
+                ", priority=" + getPriority() +
+                ", maxLatenessMs=" + maxLatenessMs +
+                ", misfirePolicy=" + misfirePolicy +
                 '}';
     }
 }
\ No newline at end of file
@@ -1,26 +1,57 @@
 package com.scheduler.model;
 
+import com.scheduler.execution.JobDispatcher;
+import com.scheduler.service.SharedCronTrigger;
 import org.quartz.Job;
 import org.quartz.JobExecutionContext;
 import org.quartz.JobExecutionException;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.quartz.SchedulerException;
+import org.quartz.SimpleTrigger;
+import org.quartz.Trigger;
 
+import java.util.Date;
+
+// Quartz entry point. The Quartz thread is released once the job's handler has started it;
+// the dispatch future is left as the job's result, and the engine reports completion from it.
+// Handlers get the scheduled fire time, as from the timing wheel, not the moment Quartz got
+// round to firing. A fire Quartz runs late after a misfire keeps the time it missed: the start
+// time of a one-shot trigger, or the missed time a cron trigger remembers.
+//
+// The priority class travels as the trigger's priority, and the max lateness and misfire
+// policy in the trigger's data, so jobData stays exactly what the job was created with.
 public class JobExecutionJob implements Job {
-    private static final Logger logger = LoggerFactory.getLogger(JobExecutionJob.class);
+    public static final String MAX_LATENESS_KEY = "maxLatenessMs";
+    public static final String MISFIRE_POLICY_KEY = "misfirePolicy";
 
     @Override
     public void execute(JobExecutionContext context) throws JobExecutionException {
-        String jobId = context.getJobDetail().getKey().getName();
-        String jobGroup = context.getJobDetail().getKey().getGroup();
-        
-        logger.info("Executing job: {} in group: {}", jobId, jobGroup);
-        
+        JobDispatcher dispatcher;
         try {
-            logger.info("Job {} executed successfully at {}", jobId, context.getFireTime());
-        } catch (Exception e) {
-            logger.error("Error executing job {}: {}", jobId, e.getMessage(), e);
+            dispatcher = (JobDispatcher) context.getScheduler().getContext().get(JobDispatcher.CONTEXT_KEY);
+        } catch (SchedulerException e) {
             throw new JobExecutionException(e);
         }
+        if (dispatcher == null) {
+            throw new JobExecutionException("No job dispatcher registered with scheduler");
+        }
+        Trigger trigger = context.getTrigger();
+        Object maxLatenessMs = trigger.getJobDataMap().get(MAX_LATENESS_KEY);
+        Object misfirePolicy = trigger.getJobDataMap().get(MISFIRE_POLICY_KEY);
+        context.setResult(dispatcher.dispatch(context.getJobDetail().getKey(), fireTime(context),
+                JobPriority.fromTriggerPriority(trigger.getPriority()),
+                maxLatenessMs instanceof Number ? ((Number) maxLatenessMs).longValue() : null,
+                misfirePolicy != null ? MisfirePolicy.parse(misfirePolicy.toString()) : null,
+                context.getJobDetail().getJobDataMap().getWrappedMap()));
+    }
+
+    private static Date fireTime(JobExecutionContext context) {
+        Trigger trigger = context.getTrigger();
+        if (trigger instanceof SimpleTrigger && ((SimpleTrigger) trigger).getRepeatCount() == 0) {
+            return trigger.getStartTime();
+        }
+        if (trigger instanceof SharedCronTrigger && ((SharedCronTrigger) trigger).getMissedFireTime() != null) {
+            return ((SharedCronTrigger) trigger).getMissedFireTime();
+        }
+        return context.getScheduledFireTime();
     }
-}
\ No newline at end of file
+}
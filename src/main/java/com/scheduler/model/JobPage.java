@@ -0,0 +1,20 @@
+package com.scheduler.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+
+public class JobPage {
+    private final List<JobSummary> jobs;
+    private final String nextCursor;
+
+    @JsonCreator
+    public JobPage(@JsonProperty("jobs") List<JobSummary> jobs,
+                   @JsonProperty("nextCursor") String nextCursor) {
+        this.jobs = jobs;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<JobSummary> getJobs() { return jobs; }
+    public String getNextCursor() { return nextCursor; }
+}
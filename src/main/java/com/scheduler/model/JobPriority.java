@@ -0,0 +1,34 @@
+package com.scheduler.model;
+
+import java.util.Locale;
+
+// Priority class of a job. Among triggers due at the same time the higher class is fired
+// first, and under load the dispatcher keeps capacity back for critical jobs while
+// best-effort ones are skipped rather than waited for.
+public enum JobPriority {
+    CRITICAL(10),
+    NORMAL(5),
+    BEST_EFFORT(1);
+
+    private final int triggerPriority;
+
+    JobPriority(int triggerPriority) {
+        this.triggerPriority = triggerPriority;
+    }
+
+    public int getTriggerPriority() {
+        return triggerPriority;
+    }
+
+    // Name used in configuration keys, e.g. scheduler.priority.best_effort.max.inflight.
+    public String getConfigName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static JobPriority fromTriggerPriority(int triggerPriority) {
+        if (triggerPriority >= CRITICAL.triggerPriority) {
+            return CRITICAL;
+        }
+        return triggerPriority <= BEST_EFFORT.triggerPriority ? BEST_EFFORT : NORMAL;
+    }
+}
@@ -6,5 +6,7 @@ public enum JobStatus {
     COMPLETED,
     CANCELLED,
     FAILED,
-    RESCHEDULED
+    RESCHEDULED,
+    PAUSED,
+    SKIPPED
 }
\ No newline at end of file
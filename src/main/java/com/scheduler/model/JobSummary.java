@@ -0,0 +1,28 @@
+package com.scheduler.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.time.LocalDateTime;
+
+public class JobSummary {
+    private final String jobId;
+    private final String jobGroup;
+    private final LocalDateTime nextFireTime;
+    private final JobStatus status;
+
+    @JsonCreator
+    public JobSummary(@JsonProperty("jobId") String jobId,
+                      @JsonProperty("jobGroup") String jobGroup,
+                      @JsonProperty("nextFireTime") LocalDateTime nextFireTime,
+                      @JsonProperty("status") JobStatus status) {
+        this.jobId = jobId;
+        this.jobGroup = jobGroup;
+        this.nextFireTime = nextFireTime;
+        this.status = status;
+    }
+
+    public String getJobId() { return jobId; }
+    public String getJobGroup() { return jobGroup; }
+    public LocalDateTime getNextFireTime() { return nextFireTime; }
+    public JobStatus getStatus() { return status; }
+}
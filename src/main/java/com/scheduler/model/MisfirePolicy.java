@@ -0,0 +1,22 @@
+package com.scheduler.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+
+import java.util.Locale;
+
+// What happens to a fire that is missed by more than the misfire threshold. Missed fires that
+// do run go through the dispatcher's rate-limited catch-up queue.
+public enum MisfirePolicy {
+    // Fire once as soon as possible, then continue with the schedule.
+    FIRE_ONCE_NOW,
+    // Drop the missed fire; a cron job waits for its next fire time, a one-shot job is skipped.
+    SKIP_TO_NEXT,
+    // Fire every missed time of a cron job, oldest first; a one-shot job fires once.
+    FIRE_ALL_MISSED;
+
+    // Accepts the configuration form, e.g. "skip-to-next", as well as the enum name.
+    @JsonCreator
+    public static MisfirePolicy parse(String value) {
+        return valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+    }
+}
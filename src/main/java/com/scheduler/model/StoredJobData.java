@@ -0,0 +1,19 @@
+package com.scheduler.model;
+
+import java.util.Map;
+
+// Stand-in for jobData that is kept serialized outside the heap. Engines hold a map with
+// this single entry under KEY; the real map is only decoded when it is needed.
+public interface StoredJobData {
+    String KEY = "__storedJobData";
+
+    // Null if the payload is no longer stored.
+    Map<String, Object> load();
+
+    static Map<String, Object> resolve(Map<String, Object> jobData) {
+        if (jobData != null && jobData.size() == 1 && jobData.get(KEY) instanceof StoredJobData) {
+            return ((StoredJobData) jobData.get(KEY)).load();
+        }
+        return jobData;
+    }
+}
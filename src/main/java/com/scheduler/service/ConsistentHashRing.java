@@ -0,0 +1,85 @@
+package com.scheduler.service;
+
+import org.apache.kafka.common.utils.Utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+
+public class ConsistentHashRing {
+    private final int virtualNodes;
+    private volatile Ring ring = new Ring(Collections.emptySet(), new int[0], new String[0]);
+
+    public ConsistentHashRing(int virtualNodes) {
+        this.virtualNodes = virtualNodes;
+    }
+
+    public void update(Set<String> instances) {
+        Ring current = ring;
+        if (current.members.equals(instances)) {
+            return;
+        }
+        synchronized (this) {
+            if (ring.members.equals(instances)) {
+                return;
+            }
+            ring = build(new TreeSet<>(instances));
+        }
+    }
+
+    public String owner(String jobGroup, String jobId) {
+        Ring current = ring;
+        if (current.positions.length == 0) {
+            return null;
+        }
+        int hash = hash(jobGroup + "/" + jobId);
+        int index = Arrays.binarySearch(current.positions, hash);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return current.owners[index == current.positions.length ? 0 : index];
+    }
+
+    public Set<String> getMembers() {
+        return ring.members;
+    }
+
+    private Ring build(Set<String> instances) {
+        long[] entries = new long[instances.size() * virtualNodes];
+        String[] members = instances.toArray(new String[0]);
+        int n = 0;
+        for (int m = 0; m < members.length; m++) {
+            for (int v = 0; v < virtualNodes; v++) {
+                // Pack position and member index so one sort orders both.
+                entries[n++] = ((long) hash(members[m] + "#" + v) << 32) | m;
+            }
+        }
+        Arrays.sort(entries);
+
+        int[] positions = new int[entries.length];
+        String[] owners = new String[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            positions[i] = (int) (entries[i] >> 32);
+            owners[i] = members[(int) entries[i]];
+        }
+        return new Ring(Collections.unmodifiableSet(instances), positions, owners);
+    }
+
+    private static int hash(String value) {
+        return Utils.murmur2(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static final class Ring {
+        private final Set<String> members;
+        private final int[] positions;
+        private final String[] owners;
+
+        private Ring(Set<String> members, int[] positions, String[] owners) {
+            this.members = members;
+            this.positions = positions;
+            this.owners = owners;
+        }
+    }
+}
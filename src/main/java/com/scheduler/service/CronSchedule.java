@@ -0,0 +1,290 @@
+package com.scheduler.service;
+
+import org.quartz.CronExpression;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Field;
+import java.text.ParseException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.TreeSet;
+
+// A cron expression parsed once by Quartz, plus a next-fire evaluator built from the parsed
+// fields. Seconds, minutes, hours, days and months become bit masks, and day-of-week rules
+// are precomputed into one day-of-month mask per weekday the month starts on, so finding
+// the next fire time is a few bit scans per field instead of Quartz's Calendar walk.
+// Expressions using L, W or # are answered by Quartz.
+public final class CronSchedule {
+    private static final Logger logger = LoggerFactory.getLogger(CronSchedule.class);
+    // Quartz's markers for '*' and '?' inside the parsed field sets.
+    private static final int ALL_SPEC = 99;
+    private static final int NO_SPEC = 98;
+    private static final int MAX_STEPS = 100_000;
+
+    private final CronExpression expression;
+    private final ZoneId zone;
+    private final boolean quartzOnly;
+    private final long seconds;
+    private final long minutes;
+    private final long hours;
+    private final long months;
+    private final long daysOfMonth;
+    // Indexed by the weekday of the 1st of the month, Monday = 0; null if days are matched by
+    // day of month.
+    private final long[] daysByFirstWeekday;
+    private final NavigableSet<Integer> years;
+
+    private CronSchedule(CronExpression expression) {
+        this.expression = expression;
+        this.zone = expression.getTimeZone().toZoneId();
+        Fields fields = Fields.read(expression);
+        this.quartzOnly = fields == null || fields.special;
+        if (quartzOnly) {
+            this.seconds = this.minutes = this.hours = this.months = this.daysOfMonth = 0;
+            this.daysByFirstWeekday = null;
+            this.years = Collections.emptyNavigableSet();
+            return;
+        }
+        this.seconds = mask(fields.seconds);
+        this.minutes = mask(fields.minutes);
+        this.hours = mask(fields.hours);
+        this.months = mask(fields.months);
+        this.daysOfMonth = mask(fields.daysOfMonth);
+        if (fields.daysOfMonth.contains(NO_SPEC)) {
+            long daysOfWeek = mask(fields.daysOfWeek);
+            this.daysByFirstWeekday = new long[7];
+            for (int first = 0; first < 7; first++) {
+                for (int day = 1; day <= 31; day++) {
+                    // Quartz numbers weekdays from Sunday = 1.
+                    int weekday = (first + day - 1) % 7;
+                    if ((daysOfWeek & (1L << ((weekday + 1) % 7 + 1))) != 0) {
+                        daysByFirstWeekday[first] |= 1L << day;
+                    }
+                }
+            }
+        } else {
+            this.daysByFirstWeekday = null;
+        }
+        TreeSet<Integer> allowedYears = new TreeSet<>(fields.years);
+        allowedYears.remove(ALL_SPEC);
+        allowedYears.remove(NO_SPEC);
+        this.years = allowedYears;
+    }
+
+    public static CronSchedule compile(String cronExpression) throws ParseException {
+        CronExpression expression = new CronExpression(cronExpression);
+        expression.setTimeZone(TimeZone.getDefault());
+        return new CronSchedule(expression);
+    }
+
+    public CronExpression getExpression() {
+        return expression;
+    }
+
+    public String getCronExpression() {
+        return expression.getCronExpression();
+    }
+
+    // The first fire time strictly after the given time, at whole seconds as in Quartz; null
+    // if there is none.
+    public Date nextFireTimeAfter(Date after) {
+        if (quartzOnly) {
+            return expression.getTimeAfter(after);
+        }
+        long afterMillis = after.getTime();
+        LocalDateTime start = LocalDateTime.ofInstant(
+                Instant.ofEpochMilli(Math.floorDiv(afterMillis + 1000, 1000) * 1000), zone);
+        int year = start.getYear();
+        int month = start.getMonthValue();
+        int day = start.getDayOfMonth();
+        int hour = start.getHour();
+        int minute = start.getMinute();
+        int second = start.getSecond();
+
+        for (int step = 0; step < MAX_STEPS; step++) {
+            if (!years.contains(year)) {
+                Integer next = years.ceiling(year);
+                if (next == null) {
+                    return null;
+                }
+                year = next;
+                month = 1;
+                day = 1;
+                hour = minute = second = 0;
+            }
+            int nextMonth = nextBit(months, month);
+            if (nextMonth < 0) {
+                year++;
+                month = 1;
+                day = 1;
+                hour = minute = second = 0;
+                continue;
+            }
+            if (nextMonth != month) {
+                month = nextMonth;
+                day = 1;
+                hour = minute = second = 0;
+            }
+            int nextDay = nextBit(days(year, month), day);
+            if (nextDay < 0) {
+                month++;
+                day = 1;
+                hour = minute = second = 0;
+                continue;
+            }
+            if (nextDay != day) {
+                day = nextDay;
+                hour = minute = second = 0;
+            }
+            int nextHour = nextBit(hours, hour);
+            if (nextHour < 0) {
+                day++;
+                hour = minute = second = 0;
+                continue;
+            }
+            if (nextHour != hour) {
+                hour = nextHour;
+                minute = second = 0;
+            }
+            int nextMinute = nextBit(minutes, minute);
+            if (nextMinute < 0) {
+                hour++;
+                minute = second = 0;
+                continue;
+            }
+            if (nextMinute != minute) {
+                minute = nextMinute;
+                second = 0;
+            }
+            int nextSecond = nextBit(seconds, second);
+            if (nextSecond < 0) {
+                minute++;
+                second = 0;
+                continue;
+            }
+            second = nextSecond;
+
+            // Matches Quartz's Calendar around DST changes: wall times skipped by a gap never
+            // fire, and a repeated wall time fires at its later occurrence only.
+            LocalDateTime local = LocalDateTime.of(year, month, day, hour, minute, second);
+            ZoneOffsetTransition transition = zone.getRules().getTransition(local);
+            if (transition != null && transition.isGap()) {
+                LocalDateTime resume = transition.getDateTimeAfter();
+                year = resume.getYear();
+                month = resume.getMonthValue();
+                day = resume.getDayOfMonth();
+                hour = resume.getHour();
+                minute = resume.getMinute();
+                second = resume.getSecond();
+                continue;
+            }
+            long fireTime = local.atZone(zone).withLaterOffsetAtOverlap().toInstant().toEpochMilli();
+            if (fireTime > afterMillis) {
+                return new Date(fireTime);
+            }
+            second++;
+        }
+        logger.warn("No fire time found for cron expression {} within {} steps", getCronExpression(), MAX_STEPS);
+        return null;
+    }
+
+    public List<Date> nextFireTimes(Date after, int count) {
+        List<Date> fireTimes = new ArrayList<>(count);
+        Date next = after;
+        while (fireTimes.size() < count && (next = nextFireTimeAfter(next)) != null) {
+            fireTimes.add(next);
+        }
+        return fireTimes;
+    }
+
+    private long days(int year, int month) {
+        LocalDate first = LocalDate.of(year, month, 1);
+        long inMonth = (1L << (first.lengthOfMonth() + 1)) - 2;
+        if (daysByFirstWeekday == null) {
+            return daysOfMonth & inMonth;
+        }
+        return daysByFirstWeekday[first.getDayOfWeek().ordinal()] & inMonth;
+    }
+
+    // Lowest set bit at or above from, or -1.
+    private static int nextBit(long bits, int from) {
+        if (from >= 64) {
+            return -1;
+        }
+        long remaining = bits & (-1L << from);
+        return remaining == 0 ? -1 : Long.numberOfTrailingZeros(remaining);
+    }
+
+    private static long mask(Set<Integer> values) {
+        long bits = 0;
+        for (int value : values) {
+            if (value >= 0 && value < 64 && value != NO_SPEC && value != ALL_SPEC) {
+                bits |= 1L << value;
+            }
+        }
+        return bits;
+    }
+
+    // Quartz keeps the parsed fields private to CronExpression. If they cannot be read, every
+    // expression is evaluated by Quartz.
+    private static final class Fields {
+        private static final Field[] FIELDS = fields("seconds", "minutes", "hours", "daysOfMonth", "months",
+                "daysOfWeek", "years", "lastdayOfWeek", "nthdayOfWeek", "lastdayOfMonth", "nearestWeekday");
+
+        private Set<Integer> seconds;
+        private Set<Integer> minutes;
+        private Set<Integer> hours;
+        private Set<Integer> daysOfMonth;
+        private Set<Integer> months;
+        private Set<Integer> daysOfWeek;
+        private Set<Integer> years;
+        private boolean special;
+
+        @SuppressWarnings("unchecked")
+        private static Fields read(CronExpression expression) {
+            if (FIELDS == null) {
+                return null;
+            }
+            try {
+                Fields fields = new Fields();
+                fields.seconds = (Set<Integer>) FIELDS[0].get(expression);
+                fields.minutes = (Set<Integer>) FIELDS[1].get(expression);
+                fields.hours = (Set<Integer>) FIELDS[2].get(expression);
+                fields.daysOfMonth = (Set<Integer>) FIELDS[3].get(expression);
+                fields.months = (Set<Integer>) FIELDS[4].get(expression);
+                fields.daysOfWeek = (Set<Integer>) FIELDS[5].get(expression);
+                fields.years = (Set<Integer>) FIELDS[6].get(expression);
+                fields.special = FIELDS[7].getBoolean(expression) || FIELDS[8].getInt(expression) != 0
+                        || FIELDS[9].getBoolean(expression) || FIELDS[10].getBoolean(expression);
+                return fields;
+            } catch (IllegalAccessException e) {
+                return null;
+            }
+        }
+
+        private static Field[] fields(String... names) {
+            try {
+                Field[] fields = new Field[names.length];
+                for (int i = 0; i < names.length; i++) {
+                    fields[i] = CronExpression.class.getDeclaredField(names[i]);
+                    fields[i].setAccessible(true);
+                }
+                return fields;
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                logger.warn("Cron fields are not readable, next fire times come from Quartz: {}", e.getMessage());
+                return null;
+            }
+        }
+    }
+}
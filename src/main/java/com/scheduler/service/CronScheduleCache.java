@@ -0,0 +1,63 @@
+package com.scheduler.service;
+
+import java.text.ParseException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Compiled cron expressions shared by every engine of one scheduler service. Many jobs use a
+// handful of expressions, so each is parsed once; the least recently used one is dropped
+// when more than maxSize are held. Parsing happens outside the lock.
+public class CronScheduleCache {
+    private final int maxSize;
+    private final Map<String, CronSchedule> schedules;
+    private long hits;
+    private long misses;
+
+    public CronScheduleCache(int maxSize) {
+        this.maxSize = Math.max(1, maxSize);
+        this.schedules = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CronSchedule> eldest) {
+                return size() > CronScheduleCache.this.maxSize;
+            }
+        };
+    }
+
+    public CronSchedule get(String cronExpression) throws ParseException {
+        String key = cronExpression.trim();
+        synchronized (this) {
+            CronSchedule schedule = schedules.get(key);
+            if (schedule != null) {
+                hits++;
+                return schedule;
+            }
+            misses++;
+        }
+        CronSchedule compiled = CronSchedule.compile(key);
+        synchronized (this) {
+            CronSchedule raced = schedules.putIfAbsent(key, compiled);
+            return raced != null ? raced : compiled;
+        }
+    }
+
+    public boolean isValid(String cronExpression) {
+        try {
+            get(cronExpression);
+            return true;
+        } catch (ParseException e) {
+            return false;
+        }
+    }
+
+    public synchronized int size() {
+        return schedules.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+}
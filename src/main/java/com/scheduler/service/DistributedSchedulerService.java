@@ -1,20 +1,47 @@
 package com.scheduler.service;
 
+import com.scheduler.config.SchedulerConfig;
+import com.scheduler.kafka.BatchEntry;
+import com.scheduler.kafka.ClusterMembership;
+import com.scheduler.kafka.KafkaLocationConsumer;
 import com.scheduler.kafka.KafkaMessageConsumer;
 import com.scheduler.kafka.KafkaMessageProducer;
 import com.scheduler.kafka.KafkaResponseListener;
 import com.scheduler.kafka.SchedulerMessage;
+import com.scheduler.model.BulkOperation;
+import com.scheduler.model.BulkResult;
 import com.scheduler.model.JobDetails;
+import com.scheduler.model.JobPage;
 import com.scheduler.model.JobStatus;
+import com.scheduler.model.JobSummary;
 import com.scheduler.model.SchedulerResponse;
+import org.quartz.JobKey;
+import org.quartz.SchedulerException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.text.ParseException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 public class DistributedSchedulerService {
     private static final Logger logger = LoggerFactory.getLogger(DistributedSchedulerService.class);
@@ -24,15 +51,66 @@ public class DistributedSchedulerService {
     private final KafkaMessageProducer producer;
     private final KafkaMessageConsumer consumer;
     private final KafkaResponseListener responseListener;
+    private final ClusterMembership membership;
+    private final ConsistentHashRing ownershipRing;
+    private final boolean hashOwnership;
+    private final JobLocationIndex locationIndex;
+    private final KafkaLocationConsumer locationConsumer;
     private final ExecutorService executorService;
+    private final AtomicLong locationHits = new AtomicLong();
+    private final AtomicLong locationMisses = new AtomicLong();
+    private final int batchMessageSize;
+    private final long bulkTimeoutMs;
     private final String instanceId;
 
-    public DistributedSchedulerService(String instanceId, String kafkaBootstrapServers) throws Exception {
-        this.instanceId = instanceId;
-        this.localScheduler = new LocalSchedulerService();
-        this.producer = new KafkaMessageProducer(kafkaBootstrapServers);
-        this.responseListener = new KafkaResponseListener(kafkaBootstrapServers, instanceId);
-        this.consumer = new KafkaMessageConsumer(kafkaBootstrapServers, instanceId, localScheduler, producer);
+    public DistributedSchedulerService(SchedulerConfig config) throws Exception {
+        this.instanceId = config.getInstanceId();
+        String kafkaBootstrapServers = config.getKafkaBootstrapServers();
+        this.localScheduler = new LocalSchedulerService(config);
+        this.producer = new KafkaMessageProducer(kafkaBootstrapServers,
+                config.getProperty("kafka.message.format", "json"));
+        this.responseListener = new KafkaResponseListener(kafkaBootstrapServers, instanceId,
+                config.getIntProperty("kafka.response.max.pending", 100000),
+                config.getLongProperty("kafka.response.timer.tick.ms", 100),
+                (short) config.getIntProperty("kafka.reply.topic.replication.factor", 1));
+        this.bulkTimeoutMs = config.getLongProperty("scheduler.bulk.timeout.ms", 60000);
+        this.consumer = new KafkaMessageConsumer(kafkaBootstrapServers, instanceId, localScheduler, producer,
+                config.getIntProperty("kafka.consumer.workers", 1), RESPONSE_TIMEOUT_MS, bulkTimeoutMs);
+        this.membership = new ClusterMembership(kafkaBootstrapServers, instanceId, producer,
+                config.getLongProperty("scheduler.membership.heartbeat.ms", 3000));
+        this.batchMessageSize = config.getIntProperty("kafka.batch.message.max.jobs", 1000);
+        this.hashOwnership = "hash".equalsIgnoreCase(config.getProperty("scheduler.ownership.mode", "local"));
+        this.ownershipRing = new ConsistentHashRing(config.getIntProperty("scheduler.ownership.virtual.nodes", 128));
+        
+        if (config.getBooleanProperty("scheduler.location.cache.enabled", false)) {
+            this.locationIndex = new JobLocationIndex(config.getIntProperty("scheduler.location.cache.expected.jobs", 100000));
+            this.locationConsumer = new KafkaLocationConsumer(kafkaBootstrapServers, instanceId, locationIndex,
+                    config.getIntProperty("kafka.location.topic.partitions", 3),
+                    (short) config.getIntProperty("kafka.location.topic.replication.factor", 1));
+            localScheduler.addJobListener(new SchedulingEngine.Listener() {
+                @Override
+                public void jobAdded(JobKey key) {
+                    producer.publishJobLocation(JobLocationIndex.locationKey(key.getGroup(), key.getName()), instanceId);
+                }
+
+                @Override
+                public void jobRemoved(JobKey key) {
+                    producer.publishJobLocation(JobLocationIndex.locationKey(key.getGroup(), key.getName()), null);
+                }
+            });
+            // Jobs restored by durable recovery were added before the listener existed.
+            localScheduler.forEachJobKey(key -> producer.publishJobLocation(
+                    JobLocationIndex.locationKey(key.getGroup(), key.getName()), instanceId));
+            membership.setPeersLostListener(() -> {
+                int dropped = locationIndex.retainInstances(membership::isLive);
+                if (dropped > 0) {
+                    logger.info("Dropped {} job locations held by instances no longer live", dropped);
+                }
+            });
+        } else {
+            this.locationIndex = null;
+            this.locationConsumer = null;
+        }
         
         this.executorService = Executors.newCachedThreadPool(r -> {
             Thread thread = new Thread(r);
@@ -42,13 +120,124 @@ public class DistributedSchedulerService {
         
         executorService.submit(consumer);
         executorService.submit(responseListener);
+        executorService.submit(membership);
+        if (locationConsumer != null) {
+            executorService.submit(locationConsumer);
+        }
+        
+        logger.info("Distributed scheduler service started for instance: {} (ownership mode: {})",
+                instanceId, hashOwnership ? "hash" : "local");
+    }
+
+    public CompletableFuture<SchedulerResponse> scheduleJobAsync(JobDetails jobDetails) {
+        String owner = hashOwner(jobDetails.getJobId(), jobDetails.getJobGroup());
+        if (owner == null || owner.equals(instanceId)) {
+            logger.info("Scheduling job: {} on instance: {}", jobDetails.getJobId(), instanceId);
+            return CompletableFuture.completedFuture(scheduleLocally(jobDetails));
+        }
+        
+        logger.info("Forwarding job {} to owner instance: {}", jobDetails.getJobId(), owner);
+        return forwardCreate(jobDetails, owner);
+    }
+
+    // In hash mode every remote owner receives its share of the batch as one CREATE_BATCH
+    // message per batchMessageSize jobs; the future completes once all owners have answered.
+    public CompletableFuture<List<SchedulerResponse>> scheduleJobsAsync(List<JobDetails> jobs) {
+        logger.info("Scheduling batch of {} jobs on instance: {}", jobs.size(), instanceId);
+        if (!hashOwnership) {
+            return CompletableFuture.completedFuture(localScheduler.scheduleJobs(jobs));
+        }
+        
+        SchedulerResponse[] results = new SchedulerResponse[jobs.size()];
+        List<JobDetails> localJobs = new ArrayList<>();
+        List<Integer> localPositions = new ArrayList<>();
+        Map<String, List<Integer>> remotePositions = new HashMap<>();
+        Set<JobKey> forwarded = new HashSet<>();
+        for (int i = 0; i < jobs.size(); i++) {
+            JobDetails jobDetails = jobs.get(i);
+            String owner = hashOwner(jobDetails.getJobId(), jobDetails.getJobGroup());
+            if (owner == null || owner.equals(instanceId)) {
+                localJobs.add(jobDetails);
+                localPositions.add(i);
+            } else if (!forwarded.add(new JobKey(jobDetails.getJobId(), jobDetails.getJobGroup()))) {
+                // Owners answer per job key, so a repeated key is settled here.
+                results[i] = SchedulerResponse.error("Job already exists", jobDetails.getJobId());
+            } else {
+                remotePositions.computeIfAbsent(owner, target -> new ArrayList<>()).add(i);
+            }
+        }
+        
+        List<CompletableFuture<Void>> pending = new ArrayList<>();
+        remotePositions.forEach((owner, positions) -> {
+            for (int from = 0; from < positions.size(); from += batchMessageSize) {
+                List<Integer> chunk = positions.subList(from, Math.min(positions.size(), from + batchMessageSize));
+                pending.add(forwardCreateBatch(jobs, chunk, owner, results));
+            }
+        });
         
-        logger.info("Distributed scheduler service started for instance: {}", instanceId);
+        List<SchedulerResponse> localResults = localScheduler.scheduleJobs(localJobs);
+        for (int i = 0; i < localResults.size(); i++) {
+            results[localPositions.get(i)] = localResults.get(i);
+        }
+        
+        return CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignored -> Arrays.asList(results));
     }
 
-    public boolean scheduleJob(JobDetails jobDetails) {
-        logger.info("Scheduling job: {} on instance: {}", jobDetails.getJobId(), instanceId);
-        return localScheduler.scheduleJob(jobDetails);
+    private SchedulerResponse scheduleLocally(JobDetails jobDetails) {
+        if (localScheduler.scheduleJob(jobDetails)) {
+            return SchedulerResponse.success("Job scheduled successfully", jobDetails.getJobId());
+        }
+        return SchedulerResponse.error("Failed to schedule job", jobDetails.getJobId());
+    }
+
+    private CompletableFuture<SchedulerResponse> forwardCreate(JobDetails jobDetails, String owner) {
+        String jobId = jobDetails.getJobId();
+        return sendAndAwait(SchedulerMessage.createJob(jobDetails, instanceId, owner)).thenApply(response -> {
+            if (response.isSuccess()) {
+                return SchedulerResponse.success("Job scheduled successfully on instance " + owner, jobId);
+            } else {
+                return SchedulerResponse.error("Failed to schedule job: " + response.getErrorMessage(), jobId);
+            }
+        }).exceptionally(throwable -> {
+            logger.error("Timeout or error waiting for create response: {}", throwable.getMessage());
+            return remoteFailure(throwable, "Timeout waiting for owner instance to schedule job", jobId);
+        });
+    }
+
+    private CompletableFuture<Void> forwardCreateBatch(List<JobDetails> jobs, List<Integer> positions, String owner,
+                                                       SchedulerResponse[] results) {
+        List<JobDetails> batch = new ArrayList<>(positions.size());
+        for (int position : positions) {
+            batch.add(jobs.get(position));
+        }
+        
+        return sendAndAwait(SchedulerMessage.createBatch(batch, instanceId, owner)).handle((response, throwable) -> {
+            if (throwable != null) {
+                logger.error("Timeout or error waiting for batch create response: {}", throwable.getMessage());
+            }
+            Map<JobKey, BatchEntry> outcomes = new HashMap<>();
+            if (response != null) {
+                for (BatchEntry entry : response.getEntries()) {
+                    outcomes.put(new JobKey(entry.getJobId(), entry.getJobGroup()), entry);
+                }
+            }
+            for (int position : positions) {
+                JobDetails jobDetails = jobs.get(position);
+                BatchEntry entry = outcomes.get(new JobKey(jobDetails.getJobId(), jobDetails.getJobGroup()));
+                if (entry == null) {
+                    results[position] = remoteFailure(throwable,
+                            "Timeout waiting for owner instance to schedule job", jobDetails.getJobId());
+                } else if (entry.isSuccess()) {
+                    results[position] = SchedulerResponse.success(
+                            "Job scheduled successfully on instance " + owner, jobDetails.getJobId());
+                } else {
+                    results[position] = SchedulerResponse.error(
+                            "Failed to schedule job: " + entry.getErrorMessage(), jobDetails.getJobId());
+                }
+            }
+            return null;
+        });
     }
 
     public CompletableFuture<SchedulerResponse> rescheduleJobAsync(String jobId, String jobGroup, 
@@ -67,15 +256,10 @@ public class DistributedSchedulerService {
             }
         }
         
-        logger.info("Job {} not found locally, broadcasting reschedule request via Kafka", jobId);
-        SchedulerMessage message = SchedulerMessage.rescheduleJob(jobId, jobGroup, instanceId, 
-                newScheduleTime, newCronExpression);
-        producer.sendRequest(message);
+        logger.info("Job {} not found locally, sending reschedule request via Kafka", jobId);
         
-        CompletableFuture<SchedulerMessage> responseFuture = responseListener.waitForResponse(
-                message.getMessageId(), RESPONSE_TIMEOUT_MS);
-        
-        return responseFuture.thenApply(response -> {
+        return sendToOwner(jobId, jobGroup, target -> SchedulerMessage.rescheduleJob(jobId, jobGroup, instanceId, target,
+                newScheduleTime, newCronExpression)).thenApply(response -> {
             if (response.isSuccess()) {
                 return SchedulerResponse.success("Job rescheduled successfully on remote instance", jobId);
             } else {
@@ -83,7 +267,7 @@ public class DistributedSchedulerService {
             }
         }).exceptionally(throwable -> {
             logger.error("Timeout or error waiting for reschedule response: {}", throwable.getMessage());
-            return SchedulerResponse.error("Timeout waiting for reschedule confirmation", jobId);
+            return remoteFailure(throwable, "Timeout waiting for reschedule confirmation", jobId);
         });
     }
 
@@ -102,14 +286,10 @@ public class DistributedSchedulerService {
             }
         }
         
-        logger.info("Job {} not found locally, broadcasting cancel request via Kafka", jobId);
-        SchedulerMessage message = SchedulerMessage.cancelJob(jobId, jobGroup, instanceId);
-        producer.sendRequest(message);
-        
-        CompletableFuture<SchedulerMessage> responseFuture = responseListener.waitForResponse(
-                message.getMessageId(), RESPONSE_TIMEOUT_MS);
+        logger.info("Job {} not found locally, sending cancel request via Kafka", jobId);
         
-        return responseFuture.thenApply(response -> {
+        return sendToOwner(jobId, jobGroup, target -> SchedulerMessage.cancelJob(jobId, jobGroup, instanceId, target))
+                .thenApply(response -> {
             if (response.isSuccess()) {
                 return SchedulerResponse.success("Job cancelled successfully on remote instance", jobId);
             } else {
@@ -117,16 +297,306 @@ public class DistributedSchedulerService {
             }
         }).exceptionally(throwable -> {
             logger.error("Timeout or error waiting for cancel response: {}", throwable.getMessage());
-            return SchedulerResponse.error("Timeout waiting for cancellation confirmation", jobId);
+            return remoteFailure(throwable, "Timeout waiting for cancellation confirmation", jobId);
         });
     }
 
-    public JobStatus getJobStatus(String jobId) {
-        return localScheduler.getJobStatus(jobId);
+    private CompletableFuture<SchedulerMessage> sendToOwner(String jobId, String jobGroup,
+                                                            Function<String, SchedulerMessage> messageFactory) {
+        String owner = knownLocation(jobId, jobGroup);
+        if (owner == null) {
+            owner = hashOwner(jobId, jobGroup);
+        }
+        if (owner == null || owner.equals(instanceId)) {
+            return sendAndAwait(messageFactory.apply(null));
+        }
+        
+        String target = owner;
+        return sendAndAwait(messageFactory.apply(target)).thenCompose(response -> {
+            if (response.isSuccess() || response.isJobFound()) {
+                return CompletableFuture.completedFuture(response);
+            }
+            // The job may have been placed before the ring last changed; look for it everywhere.
+            logger.info("Instance {} does not have job {}, falling back to broadcast", target, jobId);
+            return sendAndAwait(messageFactory.apply(null));
+        });
+    }
+
+    public CompletableFuture<List<SchedulerResponse>> cancelJobsAsync(List<JobKey> jobKeys) {
+        logger.info("Attempting to cancel batch of {} jobs on instance: {}", jobKeys.size(), instanceId);
+        return applyBatch(jobKeys, localScheduler::cancelJobs,
+                (entries, target) -> SchedulerMessage.cancelBatch(entries, instanceId, target), "cancel", "cancelled");
     }
 
-    public List<String> getAllJobs() {
-        return localScheduler.getAllJobs();
+    public CompletableFuture<List<SchedulerResponse>> rescheduleJobsAsync(List<JobKey> jobKeys, LocalDateTime newScheduleTime,
+                                                                          String newCronExpression) {
+        logger.info("Attempting to reschedule batch of {} jobs on instance: {}", jobKeys.size(), instanceId);
+        return applyBatch(jobKeys, keys -> localScheduler.rescheduleJobs(keys, newScheduleTime, newCronExpression),
+                (entries, target) -> SchedulerMessage.rescheduleBatch(entries, instanceId, target,
+                        newScheduleTime, newCronExpression), "reschedule", "rescheduled");
+    }
+
+    private CompletableFuture<List<SchedulerResponse>> applyBatch(List<JobKey> jobKeys,
+                                                                  Function<List<JobKey>, Map<JobKey, Boolean>> localOperation,
+                                                                  BiFunction<List<BatchEntry>, String, SchedulerMessage> messageFactory,
+                                                                  String operation, String pastTense) {
+        Map<JobKey, SchedulerResponse> outcomes = new ConcurrentHashMap<>();
+        localOperation.apply(jobKeys).forEach((jobKey, success) -> outcomes.put(jobKey, success
+                ? SchedulerResponse.success("Job " + pastTense + " successfully on local instance", jobKey.getName())
+                : SchedulerResponse.error("Failed to " + operation + " job on local instance", jobKey.getName())));
+        
+        // Remaining keys are grouped per known owner; keys without one share broadcast messages.
+        Map<String, List<JobKey>> remoteKeys = new HashMap<>();
+        for (JobKey jobKey : new LinkedHashSet<>(jobKeys)) {
+            if (outcomes.containsKey(jobKey)) {
+                continue;
+            }
+            String owner = knownLocation(jobKey.getName(), jobKey.getGroup());
+            if (owner == null) {
+                owner = hashOwner(jobKey.getName(), jobKey.getGroup());
+            }
+            remoteKeys.computeIfAbsent(instanceId.equals(owner) ? null : owner, target -> new ArrayList<>()).add(jobKey);
+        }
+        
+        List<CompletableFuture<Void>> pending = new ArrayList<>();
+        remoteKeys.forEach((target, keys) -> {
+            for (int from = 0; from < keys.size(); from += batchMessageSize) {
+                List<JobKey> chunk = keys.subList(from, Math.min(keys.size(), from + batchMessageSize));
+                pending.add(sendBatch(chunk, target, messageFactory, outcomes, operation, pastTense));
+            }
+        });
+        
+        return CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+            List<SchedulerResponse> results = new ArrayList<>(jobKeys.size());
+            for (JobKey jobKey : jobKeys) {
+                SchedulerResponse outcome = outcomes.get(jobKey);
+                results.add(outcome != null ? outcome : SchedulerResponse.error(
+                        "Failed to " + operation + " job: Job not found on any instance", jobKey.getName()));
+            }
+            return results;
+        });
+    }
+
+    private CompletableFuture<Void> sendBatch(List<JobKey> jobKeys, String target,
+                                              BiFunction<List<BatchEntry>, String, SchedulerMessage> messageFactory,
+                                              Map<JobKey, SchedulerResponse> outcomes, String operation, String pastTense) {
+        List<BatchEntry> entries = new ArrayList<>(jobKeys.size());
+        for (JobKey jobKey : jobKeys) {
+            entries.add(BatchEntry.key(jobKey.getName(), jobKey.getGroup()));
+        }
+        
+        return sendAndAwait(messageFactory.apply(entries, target)).handle((response, throwable) -> {
+            if (throwable != null) {
+                logger.error("Timeout or error waiting for batch {} response: {}", operation, throwable.getMessage());
+                for (JobKey jobKey : jobKeys) {
+                    outcomes.putIfAbsent(jobKey, remoteFailure(throwable,
+                            "Timeout waiting for " + operation + " confirmation", jobKey.getName()));
+                }
+                return CompletableFuture.<Void>completedFuture(null);
+            }
+            
+            for (BatchEntry entry : response.getEntries()) {
+                outcomes.put(new JobKey(entry.getJobId(), entry.getJobGroup()), entry.isSuccess()
+                        ? SchedulerResponse.success("Job " + pastTense + " successfully on remote instance", entry.getJobId())
+                        : SchedulerResponse.error("Failed to " + operation + " job: " + entry.getErrorMessage(), entry.getJobId()));
+            }
+            List<JobKey> missing = new ArrayList<>();
+            for (JobKey jobKey : jobKeys) {
+                if (!outcomes.containsKey(jobKey)) {
+                    missing.add(jobKey);
+                }
+            }
+            if (missing.isEmpty()) {
+                return CompletableFuture.<Void>completedFuture(null);
+            }
+            if (target != null) {
+                logger.info("Instance {} does not have {} of the jobs, falling back to broadcast", target, missing.size());
+                return sendBatch(missing, null, messageFactory, outcomes, operation, pastTense);
+            }
+            if (!response.isSuccess()) {
+                // Partial result after a timeout: the missing keys are unknown rather than absent.
+                for (JobKey jobKey : missing) {
+                    outcomes.put(jobKey, SchedulerResponse.error(
+                            "Timeout waiting for " + operation + " confirmation", jobKey.getName()));
+                }
+            }
+            return CompletableFuture.<Void>completedFuture(null);
+        }).thenCompose(next -> next);
+    }
+
+    // Broadcasts the operation once to every live peer and applies it locally in parallel. Every
+    // local progress update and per-instance result is passed to progress as it becomes known;
+    // the returned future carries the cluster totals.
+    public CompletableFuture<BulkResult> applyBulkAsync(BulkOperation operation, Consumer<BulkResult> progress) {
+        logger.info("Applying bulk operation {} across the cluster from instance: {}", operation, instanceId);
+        List<BulkResult> finished = Collections.synchronizedList(new ArrayList<>());
+        Consumer<BulkResult> tracker = result -> {
+            if (result.isComplete()) {
+                finished.add(result);
+            }
+            progress.accept(result);
+        };
+        
+        Set<String> peers = membership.getLivePeers();
+        CompletableFuture<Boolean> remote;
+        if (peers.isEmpty()) {
+            remote = CompletableFuture.completedFuture(true);
+        } else {
+            SchedulerMessage message = SchedulerMessage.bulkOperation(operation, instanceId);
+            CompletableFuture<SchedulerMessage> responses = responseListener.collectResponses(
+                    message.getMessageId(), peers, bulkTimeoutMs, response -> {
+                        if (!response.isSuccess()) {
+                            logger.warn("Bulk operation failed on instance {}: {}",
+                                    response.getInstanceId(), response.getErrorMessage());
+                        }
+                        if (response.getBulkResult() != null) {
+                            tracker.accept(response.getBulkResult());
+                        }
+                    });
+            if (!responses.isDone()) {
+                producer.sendRequest(message);
+            }
+            remote = responses.handle((response, throwable) -> {
+                if (throwable != null) {
+                    logger.warn("Not every instance answered bulk operation: {}", throwable.getMessage());
+                }
+                return throwable == null;
+            });
+        }
+        
+        CompletableFuture<Void> local = CompletableFuture.runAsync(() -> {
+            try {
+                tracker.accept(localScheduler.applyBulk(operation, instanceId, tracker));
+            } catch (SchedulerException e) {
+                throw new CompletionException(e);
+            }
+        }, executorService);
+        
+        return local.thenCombine(remote, (ignored, allAnswered) -> BulkResult.total(new ArrayList<>(finished), allAnswered));
+    }
+
+    private String knownLocation(String jobId, String jobGroup) {
+        if (locationIndex == null) {
+            return null;
+        }
+        String location = locationIndex.get(JobLocationIndex.locationKey(
+                jobGroup != null ? jobGroup : JobKey.DEFAULT_GROUP, jobId));
+        if (location == null) {
+            locationMisses.incrementAndGet();
+            return null;
+        }
+        if (location.equals(instanceId) || !membership.isLive(location)) {
+            locationMisses.incrementAndGet();
+            return null;
+        }
+        locationHits.incrementAndGet();
+        return location;
+    }
+
+    private String hashOwner(String jobId, String jobGroup) {
+        if (!hashOwnership) {
+            return null;
+        }
+        Set<String> instances = new HashSet<>(membership.getLivePeers());
+        instances.add(instanceId);
+        ownershipRing.update(instances);
+        return ownershipRing.owner(jobGroup != null ? jobGroup : JobKey.DEFAULT_GROUP, jobId);
+    }
+
+    private CompletableFuture<SchedulerMessage> sendAndAwait(SchedulerMessage message) {
+        // Register before sending so a fast reply cannot arrive ahead of its pending entry.
+        Set<String> expectedResponders = message.getTargetInstanceId() != null
+                ? Set.of(message.getTargetInstanceId()) : membership.getLivePeers();
+        int expectedEntries = message.getEntries() != null ? message.getEntries().size()
+                : message.getJobs() != null ? message.getJobs().size() : 1;
+        CompletableFuture<SchedulerMessage> responseFuture = responseListener.waitForResponse(
+                message.getMessageId(), expectedResponders, expectedEntries, RESPONSE_TIMEOUT_MS);
+        if (!responseFuture.isDone()) {
+            producer.sendRequest(message);
+        }
+        return responseFuture;
+    }
+
+    private SchedulerResponse remoteFailure(Throwable throwable, String timeoutMessage, String jobId) {
+        Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause() : throwable;
+        if (cause instanceof RejectedExecutionException) {
+            return SchedulerResponse.error(cause.getMessage(), jobId);
+        }
+        return SchedulerResponse.error(timeoutMessage, jobId);
+    }
+
+    public JobStatus getJobStatus(String jobId, String jobGroup) {
+        return localScheduler.getJobStatus(jobId, jobGroup);
+    }
+
+    public String getJobSkipReason(String jobId, String jobGroup) {
+        return localScheduler.getJobSkipReason(jobId, jobGroup);
+    }
+
+    public JobPage getJobs(String jobGroup, String cursor, int limit) {
+        return localScheduler.getJobs(jobGroup, cursor, limit);
+    }
+
+    public void forEachJob(String jobGroup, String cursor, int limit, Consumer<JobSummary> action) {
+        localScheduler.forEachJob(jobGroup, cursor, limit, action);
+    }
+
+    public List<LocalDateTime> previewCron(String cronExpression, LocalDateTime after, int count) throws ParseException {
+        return localScheduler.previewCron(cronExpression, after, count);
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("cluster.live.peers", membership.getLivePeers().size());
+        metrics.put("cluster.ownership.mode", hashOwnership ? "hash" : "local");
+        metrics.put("scheduler.engine", localScheduler.getEngineName());
+        metrics.put("scheduler.quartz.shards", localScheduler.getQuartzShardCount());
+        metrics.put("scheduler.jobs", localScheduler.getJobCount());
+        metrics.put("scheduler.statuses", localScheduler.getStatusCount());
+        metrics.put("cron.cache.size", localScheduler.getCronCacheSize());
+        metrics.put("cron.cache.hits", localScheduler.getCronCacheHits());
+        metrics.put("cron.cache.misses", localScheduler.getCronCacheMisses());
+        metrics.put("scheduler.store", localScheduler.getStoreMode());
+        if ("durable".equals(localScheduler.getStoreMode())) {
+            metrics.put("store.recovered.jobs", localScheduler.getRecoveredJobCount());
+            metrics.put("store.recovery.ms", localScheduler.getRecoveryMillis());
+        }
+        metrics.put("tier.parked.jobs", localScheduler.getParkedJobCount());
+        metrics.put("tier.parked.bytes", localScheduler.getParkedBytes());
+        metrics.put("payload.offheap.jobs", localScheduler.getOffHeapPayloadCount());
+        metrics.put("payload.offheap.bytes", localScheduler.getOffHeapPayloadBytes());
+        metrics.put("executor.dispatched", localScheduler.getDispatchedJobCount());
+        metrics.put("executor.inflight", localScheduler.getInFlightJobCount());
+        metrics.put("executor.completed", localScheduler.getCompletedJobCount());
+        metrics.put("executor.failed", localScheduler.getFailedJobCount());
+        metrics.put("executor.skipped", localScheduler.getSkippedJobCounts());
+        metrics.put("executor.priority", localScheduler.getPriorityUsage());
+        metrics.put("executor.catchup", localScheduler.getCatchUpUsage());
+        metrics.put("executor.bulkheads", localScheduler.getBulkheadUsage());
+        metrics.put("executor.fire.lag.ms", localScheduler.getFireLagHistogram());
+        metrics.put("executor.concurrency", localScheduler.getConcurrencyHistogram());
+        if (locationIndex != null) {
+            metrics.put("location.index.size", locationIndex.size());
+            metrics.put("location.index.bootstrapped", locationConsumer.isBootstrapped());
+            metrics.put("location.index.hits", locationHits.get());
+            metrics.put("location.index.misses", locationMisses.get());
+        }
+        metrics.put("kafka.requests.filtered", consumer.getFilteredCount());
+        metrics.put("kafka.requests.decoded", consumer.getDecodedCount());
+        metrics.put("kafka.requests.expired", consumer.getExpiredCount());
+        metrics.put("kafka.pending.responses", responseListener.getPendingCount());
+        metrics.put("kafka.pending.responses.max", responseListener.getMaxPendingResponses());
+        metrics.put("kafka.pending.responses.rejected", responseListener.getRejectedCount());
+        return metrics;
+    }
+
+    public long getResponseTimeoutMs() {
+        return RESPONSE_TIMEOUT_MS;
+    }
+
+    public long getBulkTimeoutMs() {
+        return bulkTimeoutMs;
     }
 
     public String getInstanceId() {
@@ -138,9 +608,19 @@ public class DistributedSchedulerService {
         
         try {
             consumer.stop();
+            membership.stop();
+            if (locationConsumer != null) {
+                locationConsumer.stop();
+            }
             responseListener.stop();
-            producer.close();
+            if (locationIndex != null) {
+                // Without a durable store these jobs end with this process; a durable restart republishes them.
+                localScheduler.forEachJobKey(key -> producer.publishJobLocation(
+                        JobLocationIndex.locationKey(key.getGroup(), key.getName()), null));
+            }
+            // Jobs finishing while the engines stop still report through the producer.
             localScheduler.shutdown();
+            producer.close();
             
             executorService.shutdown();
             if (!executorService.awaitTermination(30, java.util.concurrent.TimeUnit.SECONDS)) {
@@ -0,0 +1,300 @@
+package com.scheduler.service;
+
+import com.scheduler.model.JobDetails;
+import org.quartz.JobKey;
+import org.quartz.SchedulerException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Keeps the jobs of one instance on local disk: every change is appended to a write-ahead
+// log, and a periodic snapshot of all jobs lets older log segments be deleted. Recovery loads
+// the newest snapshot and replays the log segments written since it was started.
+//
+// Changes are logged after they are applied in memory and before the caller is answered,
+// so every acknowledged change is on disk. A snapshot starts by rolling the log; anything
+// that changes while it is being written is also in the new segment, and replaying those
+// records over the snapshot converges because each one carries absolute values.
+public class DurableJobStore {
+    private static final Logger logger = LoggerFactory.getLogger(DurableJobStore.class);
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".dat";
+    private static final int SNAPSHOT_MAGIC = 0x534A5331;
+
+    private static final byte SCHEDULE = 1;
+    private static final byte RESCHEDULE = 2;
+    private static final byte REMOVE = 3;
+    private static final byte PAUSE = 4;
+    private static final byte RESUME = 5;
+
+    public interface JobSource {
+        void forEachJob(Consumer<StoredJob> sink) throws SchedulerException;
+    }
+
+    public static final class StoredJob {
+        private final JobDetails jobDetails;
+        private final boolean paused;
+
+        public StoredJob(JobDetails jobDetails, boolean paused) {
+            this.jobDetails = jobDetails;
+            this.paused = paused;
+        }
+
+        public JobDetails getJobDetails() { return jobDetails; }
+        public boolean isPaused() { return paused; }
+    }
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final boolean fsync;
+    private WriteAheadLog log;
+    private ScheduledExecutorService snapshotter;
+
+    public DurableJobStore(Path directory, int segmentBytes, boolean fsync) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.fsync = fsync;
+    }
+
+    // Rebuilds the stored jobs and opens the log for appending. Must be called once, first.
+    public Collection<StoredJob> recover() throws IOException {
+        long start = System.currentTimeMillis();
+        Files.createDirectories(directory);
+        List<Path> leftovers;
+        try (Stream<Path> files = Files.list(directory)) {
+            leftovers = files.filter(path -> path.toString().endsWith(".tmp")).collect(Collectors.toList());
+        }
+        for (Path leftover : leftovers) {
+            Files.deleteIfExists(leftover);
+        }
+        Map<JobKey, StoredJob> jobs = new HashMap<>();
+        long snapshot = latestSnapshot();
+        if (snapshot >= 0) {
+            readSnapshot(snapshotPath(snapshot), jobs);
+        }
+        int replayed = WriteAheadLog.replay(directory, Math.max(snapshot, 0), record -> apply(record, jobs));
+        logger.info("Loaded {} jobs from {} in {} ms (snapshot {}, {} log records replayed)",
+                jobs.size(), directory, System.currentTimeMillis() - start, snapshot, replayed);
+        this.log = new WriteAheadLog(directory, segmentBytes, fsync);
+        return jobs.values();
+    }
+
+    public void startSnapshots(JobSource source, long intervalMs) {
+        snapshotter = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "job-store-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        snapshotter.scheduleWithFixedDelay(() -> {
+            try {
+                snapshot(source);
+            } catch (Exception e) {
+                logger.error("Job store snapshot failed: {}", e.getMessage(), e);
+            }
+        }, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public long logSchedule(JobDetails jobDetails) throws IOException {
+        return append(out -> {
+            out.writeByte(SCHEDULE);
+            JobRecordCodec.writeJob(out, jobDetails);
+        });
+    }
+
+    public long logReschedule(JobKey jobKey, LocalDateTime newScheduleTime, String newCronExpression) throws IOException {
+        return append(out -> {
+            out.writeByte(RESCHEDULE);
+            JobRecordCodec.writeKey(out, jobKey);
+            JobRecordCodec.writeTime(out, newScheduleTime);
+            JobRecordCodec.writeString(out, newCronExpression);
+        });
+    }
+
+    public long logRemove(JobKey jobKey) throws IOException {
+        return append(out -> {
+            out.writeByte(REMOVE);
+            JobRecordCodec.writeKey(out, jobKey);
+        });
+    }
+
+    public long logPause(JobKey jobKey, boolean paused) throws IOException {
+        return append(out -> {
+            out.writeByte(paused ? PAUSE : RESUME);
+            JobRecordCodec.writeKey(out, jobKey);
+        });
+    }
+
+    // Blocks until the change with the given ticket has been forced to disk.
+    public void await(long ticket) {
+        log.awaitDurable(ticket);
+    }
+
+    public void sync() {
+        log.awaitDurable(log.getAppended());
+    }
+
+    public synchronized void snapshot(JobSource source) throws IOException, SchedulerException {
+        long start = System.currentTimeMillis();
+        long firstSegment = log.roll();
+        Path target = snapshotPath(firstSegment);
+        Path temporary = directory.resolve(target.getFileName() + ".tmp");
+        int[] count = new int[1];
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                     Channels.newOutputStream(channel), 1 << 16))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            ByteArrayOutputStream record = new ByteArrayOutputStream(256);
+            try {
+                source.forEachJob(job -> {
+                    try {
+                        record.reset();
+                        DataOutputStream recordOut = new DataOutputStream(record);
+                        JobRecordCodec.writeJob(recordOut, job.getJobDetails());
+                        recordOut.writeBoolean(job.isPaused());
+                        byte[] payload = record.toByteArray();
+                        ByteBuffer frame = ByteBuffer.allocate(8 + payload.length);
+                        WriteAheadLog.writeFrame(frame, payload);
+                        out.write(frame.array());
+                        count[0]++;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        for (long older : snapshots()) {
+            if (older < firstSegment) {
+                Files.deleteIfExists(snapshotPath(older));
+            }
+        }
+        log.deleteSegmentsBefore(firstSegment);
+        logger.info("Wrote snapshot of {} jobs in {} ms", count[0], System.currentTimeMillis() - start);
+    }
+
+    // Takes a final snapshot so the next start only has to read it.
+    public void close(JobSource source) {
+        if (snapshotter != null) {
+            snapshotter.shutdownNow();
+        }
+        try {
+            snapshot(source);
+        } catch (Exception e) {
+            logger.error("Final job store snapshot failed, the log will be replayed instead: {}", e.getMessage(), e);
+        }
+    }
+
+    public void closeLog() {
+        try {
+            log.close();
+        } catch (IOException e) {
+            logger.error("Error closing job log: {}", e.getMessage(), e);
+        }
+    }
+
+    private interface RecordWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    // A change that could not be appended is not durable, so the caller must not acknowledge it.
+    private long append(RecordWriter writer) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        writer.write(new DataOutputStream(bytes));
+        return log.append(bytes.toByteArray());
+    }
+
+    private static void apply(ByteBuffer record, Map<JobKey, StoredJob> jobs) {
+        byte type = record.get();
+        switch (type) {
+            case SCHEDULE: {
+                JobDetails jobDetails = JobRecordCodec.readJob(record);
+                jobs.put(new JobKey(jobDetails.getJobId(), jobDetails.getJobGroup()), new StoredJob(jobDetails, false));
+                break;
+            }
+            case RESCHEDULE: {
+                JobKey jobKey = JobRecordCodec.readKey(record);
+                LocalDateTime time = JobRecordCodec.readTime(record);
+                String cron = JobRecordCodec.readString(record);
+                jobs.computeIfPresent(jobKey, (key, job) -> {
+                    JobDetails old = job.getJobDetails();
+                    boolean toCron = cron != null && !cron.trim().isEmpty();
+                    return new StoredJob(new JobDetails(old.getJobId(), old.getJobName(), old.getJobGroup(),
+                            toCron ? null : time, toCron ? cron : null, old.getJobData(), old.getDescription(),
+                            old.isRecurring(), old.getPriority(), old.getMaxLatenessMs(), old.getMisfirePolicy()), job.isPaused());
+                });
+                break;
+            }
+            case REMOVE:
+                jobs.remove(JobRecordCodec.readKey(record));
+                break;
+            case PAUSE:
+            case RESUME:
+                jobs.computeIfPresent(JobRecordCodec.readKey(record), (key, job) -> new StoredJob(job.getJobDetails(), type == PAUSE));
+                break;
+            default:
+                logger.warn("Skipping log record of unknown type {}", type);
+        }
+    }
+
+    private static void readSnapshot(Path path, Map<JobKey, StoredJob> jobs) throws IOException {
+        ByteBuffer data = WriteAheadLog.mapReadOnly(path);
+        if (data.remaining() < 4 || data.getInt() != SNAPSHOT_MAGIC) {
+            throw new IOException("Not a job store snapshot: " + path);
+        }
+        WriteAheadLog.readFrames(data, record -> {
+            JobDetails jobDetails = JobRecordCodec.readJob(record);
+            jobs.put(new JobKey(jobDetails.getJobId(), jobDetails.getJobGroup()), new StoredJob(jobDetails, record.get() != 0));
+        });
+    }
+
+    private long latestSnapshot() throws IOException {
+        List<Long> existing = snapshots();
+        return existing.isEmpty() ? -1 : existing.get(existing.size() - 1);
+    }
+
+    private List<Long> snapshots() throws IOException {
+        List<Long> sequences = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(SNAPSHOT_PREFIX.length(), name.length() - SNAPSHOT_SUFFIX.length())))
+                    .sorted()
+                    .forEach(sequences::add);
+        }
+        return sequences;
+    }
+
+    private Path snapshotPath(long firstSegment) {
+        return directory.resolve(String.format("%s%020d%s", SNAPSHOT_PREFIX, firstSegment, SNAPSHOT_SUFFIX));
+    }
+}
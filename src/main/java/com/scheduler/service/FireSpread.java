@@ -0,0 +1,38 @@
+package com.scheduler.service;
+
+import com.scheduler.config.SchedulerConfig;
+import org.apache.kafka.common.utils.Utils;
+import org.quartz.JobKey;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Opt-in spread window for cron jobs, so that jobs sharing an expression do not all fire in
+// the same millisecond. Each job is moved later by a fixed offset inside its group's window,
+// taken from a hash of its JobKey: the same job keeps the same offset across reschedules,
+// restarts and nodes, and its interval is unchanged.
+public class FireSpread {
+    private final SchedulerConfig config;
+    private final long defaultWindowMillis;
+    private final Map<String, Long> windows = new ConcurrentHashMap<>();
+
+    public FireSpread(SchedulerConfig config) {
+        this.config = config;
+        this.defaultWindowMillis = Math.max(0, config.getLongProperty("scheduler.spread.window.ms", 0));
+    }
+
+    public long offsetMillis(JobKey jobKey) {
+        long window = windowMillis(jobKey.getGroup());
+        if (window <= 1) {
+            return 0;
+        }
+        byte[] key = (jobKey.getGroup() + "/" + jobKey.getName()).getBytes(StandardCharsets.UTF_8);
+        return Utils.toPositive(Utils.murmur2(key)) % window;
+    }
+
+    public long windowMillis(String group) {
+        return windows.computeIfAbsent(group, key ->
+                Math.max(0, config.getLongProperty("scheduler.spread.group." + key + ".window.ms", defaultWindowMillis)));
+    }
+}
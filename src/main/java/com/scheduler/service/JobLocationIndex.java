@@ -0,0 +1,228 @@
+package com.scheduler.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+// Maps a 64-bit hash of the job key to a small instance ordinal in primitive arrays
+// (about 20 bytes per job at the maximum load factor). A hash collision can only
+// misroute a request, which then falls back to a broadcast.
+public class JobLocationIndex {
+    private static final float MAX_LOAD = 0.6f;
+    private static final long EMPTY = 0L;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<String> instances = new ArrayList<>();
+    private final Map<String, Integer> instanceOrdinals = new HashMap<>();
+    private long[] keys;
+    private int[] values;
+    private int[] instanceCounts = new int[4];
+    private int size;
+
+    public JobLocationIndex(int expectedJobs) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedJobs / MAX_LOAD)) - 1) << 1;
+        this.keys = new long[capacity];
+        this.values = new int[capacity];
+    }
+
+    public static String locationKey(String jobGroup, String jobId) {
+        return jobGroup + '\u0000' + jobId;
+    }
+
+    public void put(String locationKey, String instanceId) {
+        long hash = hash(locationKey);
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = instanceOrdinals.get(instanceId);
+            if (ordinal == null) {
+                ordinal = instances.size();
+                instances.add(instanceId);
+                instanceOrdinals.put(instanceId, ordinal);
+                if (ordinal == instanceCounts.length) {
+                    instanceCounts = Arrays.copyOf(instanceCounts, ordinal << 1);
+                }
+            }
+            if (size + 1 > keys.length * MAX_LOAD) {
+                resize(keys.length << 1);
+            }
+            int mask = keys.length - 1;
+            int slot = (int) hash & mask;
+            while (keys[slot] != EMPTY && keys[slot] != hash) {
+                slot = (slot + 1) & mask;
+            }
+            if (keys[slot] == EMPTY) {
+                keys[slot] = hash;
+                size++;
+            } else {
+                instanceCounts[values[slot]]--;
+            }
+            values[slot] = ordinal;
+            instanceCounts[ordinal]++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String locationKey) {
+        long hash = hash(locationKey);
+        lock.writeLock().lock();
+        try {
+            int mask = keys.length - 1;
+            int slot = (int) hash & mask;
+            while (keys[slot] != hash) {
+                if (keys[slot] == EMPTY) {
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            instanceCounts[values[slot]]--;
+            // Backward-shift deletion keeps probe chains intact without tombstones.
+            int gap = slot;
+            int next = (gap + 1) & mask;
+            while (keys[next] != EMPTY) {
+                int home = (int) keys[next] & mask;
+                if (((next - home) & mask) >= ((next - gap) & mask)) {
+                    keys[gap] = keys[next];
+                    values[gap] = values[next];
+                    gap = next;
+                }
+                next = (next + 1) & mask;
+            }
+            keys[gap] = EMPTY;
+            size--;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public String get(String locationKey) {
+        long hash = hash(locationKey);
+        lock.readLock().lock();
+        try {
+            int mask = keys.length - 1;
+            int slot = (int) hash & mask;
+            while (keys[slot] != EMPTY) {
+                if (keys[slot] == hash) {
+                    return instances.get(values[slot]);
+                }
+                slot = (slot + 1) & mask;
+            }
+            return null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Drops every entry located on an instance that keep rejects, for example one that has
+    // left the cluster. Returns the number of entries removed.
+    public int retainInstances(Predicate<String> keep) {
+        lock.readLock().lock();
+        try {
+            if (dropped(keep) == null) {
+                return 0;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        lock.writeLock().lock();
+        try {
+            boolean[] drop = dropped(keep);
+            if (drop == null) {
+                return 0;
+            }
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new long[oldKeys.length];
+            values = new int[oldValues.length];
+            int mask = keys.length - 1;
+            int removed = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] == EMPTY) {
+                    continue;
+                }
+                if (drop[oldValues[i]]) {
+                    removed++;
+                    continue;
+                }
+                int slot = (int) oldKeys[i] & mask;
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+            for (int ordinal = 0; ordinal < drop.length; ordinal++) {
+                if (drop[ordinal]) {
+                    instanceCounts[ordinal] = 0;
+                }
+            }
+            size -= removed;
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Ordinals that still hold entries but are rejected by keep, or null if there are none.
+    private boolean[] dropped(Predicate<String> keep) {
+        boolean[] drop = null;
+        for (int ordinal = 0; ordinal < instances.size(); ordinal++) {
+            if (instanceCounts[ordinal] > 0 && !keep.test(instances.get(ordinal))) {
+                if (drop == null) {
+                    drop = new boolean[instances.size()];
+                }
+                drop[ordinal] = true;
+            }
+        }
+        return drop;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[capacity];
+        values = new int[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = (int) oldKeys[i] & mask;
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static long hash(String locationKey) {
+        // FNV-1a followed by a murmur3 finalizer; zero is reserved for empty slots.
+        long h = 0xcbf29ce484222325L;
+        for (byte b : locationKey.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h == EMPTY ? 1L : h;
+    }
+}
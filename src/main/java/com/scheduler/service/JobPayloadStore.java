@@ -0,0 +1,161 @@
+package com.scheduler.service;
+
+import com.scheduler.model.JobDetails;
+import com.scheduler.model.StoredJobData;
+import org.quartz.JobKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Keeps jobData serialized in a MappedRecordStore while a job is scheduled, so an engine
+// only holds a StoredJobData handle. Payloads below minBytes stay on the heap, where the
+// handle would not be smaller; payloads above maxBytes are rejected.
+public class JobPayloadStore {
+    private static final Logger logger = LoggerFactory.getLogger(JobPayloadStore.class);
+    private static final long COMPACT_INTERVAL_MS = 10_000;
+
+    private final MappedRecordStore records;
+    private final int minBytes;
+    private final int maxBytes;
+    private final ScheduledExecutorService compactor;
+
+    public JobPayloadStore(Path directory, int segmentBytes, int minBytes, int maxBytes) throws IOException {
+        this.records = new MappedRecordStore(directory, segmentBytes);
+        this.minBytes = minBytes;
+        this.maxBytes = maxBytes;
+        this.compactor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "payload-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.compactor.scheduleWithFixedDelay(() -> {
+            try {
+                records.compact();
+            } catch (Exception e) {
+                logger.error("Payload store compaction failed: {}", e.getMessage(), e);
+            }
+        }, COMPACT_INTERVAL_MS, COMPACT_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    // Returns the job with its jobData replaced by a handle, or unchanged if the payload is
+    // small. Returns null if a payload is already stored for the job's key, which means the
+    // job exists. Throws IllegalArgumentException if the payload is over the limit.
+    public JobDetails offload(JobDetails jobDetails) {
+        if (jobDetails.getJobData() == null || jobDetails.getJobData().isEmpty()) {
+            return jobDetails;
+        }
+        byte[] payload = encode(jobDetails.getJobData());
+        checkSize(jobDetails.getJobId(), payload.length, maxBytes);
+        if (payload.length < minBytes) {
+            return jobDetails;
+        }
+        JobKey jobKey = new JobKey(jobDetails.getJobId(), jobDetails.getJobGroup());
+        try {
+            if (!records.putIfAbsent(jobKey, payload)) {
+                return null;
+            }
+        } catch (IOException e) {
+            logger.warn("Could not store jobData of job {} off-heap, keeping it on the heap: {}", jobKey, e.getMessage());
+            return jobDetails;
+        }
+        return new JobDetails(jobDetails.getJobId(), jobDetails.getJobName(), jobDetails.getJobGroup(),
+                jobDetails.getScheduleTime(), jobDetails.getCronExpression(),
+                Collections.singletonMap(StoredJobData.KEY, new Handle(jobKey)),
+                jobDetails.getDescription(), jobDetails.isRecurring(), jobDetails.getPriority(),
+                jobDetails.getMaxLatenessMs(), jobDetails.getMisfirePolicy());
+    }
+
+    // Returns the job with a stored jobData handle replaced by the decoded map.
+    public static JobDetails resolve(JobDetails jobDetails) {
+        if (jobDetails == null) {
+            return null;
+        }
+        Map<String, Object> jobData = StoredJobData.resolve(jobDetails.getJobData());
+        if (jobData == jobDetails.getJobData()) {
+            return jobDetails;
+        }
+        return new JobDetails(jobDetails.getJobId(), jobDetails.getJobName(), jobDetails.getJobGroup(),
+                jobDetails.getScheduleTime(), jobDetails.getCronExpression(), jobData,
+                jobDetails.getDescription(), jobDetails.isRecurring(), jobDetails.getPriority(),
+                jobDetails.getMaxLatenessMs(), jobDetails.getMisfirePolicy());
+    }
+
+    public void remove(JobKey jobKey) {
+        records.remove(jobKey);
+    }
+
+    public int size() {
+        return records.size();
+    }
+
+    public long getLiveBytes() {
+        return records.getLiveBytes();
+    }
+
+    public long getMappedBytes() {
+        return records.getMappedBytes();
+    }
+
+    public void close() {
+        compactor.shutdownNow();
+        try {
+            records.close();
+        } catch (IOException e) {
+            logger.warn("Could not delete payload store files: {}", e.getMessage());
+        }
+    }
+
+    // Checks the limit for engines that keep jobData on the heap.
+    static void checkSize(JobDetails jobDetails, int maxBytes) {
+        if (maxBytes > 0 && jobDetails.getJobData() != null && !jobDetails.getJobData().isEmpty()) {
+            checkSize(jobDetails.getJobId(), encode(jobDetails.getJobData()).length, maxBytes);
+        }
+    }
+
+    private static void checkSize(String jobId, int size, int maxBytes) {
+        if (maxBytes > 0 && size > maxBytes) {
+            throw new IllegalArgumentException("jobData of job " + jobId + " is " + size
+                    + " bytes, over the limit of " + maxBytes);
+        }
+    }
+
+    private static byte[] encode(Map<String, Object> jobData) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            JobRecordCodec.writeJobData(new DataOutputStream(bytes), jobData);
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private final class Handle implements StoredJobData {
+        private final JobKey jobKey;
+
+        private Handle(JobKey jobKey) {
+            this.jobKey = jobKey;
+        }
+
+        @Override
+        public Map<String, Object> load() {
+            byte[] payload = records.get(jobKey);
+            return payload != null ? JobRecordCodec.readJobData(ByteBuffer.wrap(payload)) : null;
+        }
+
+        @Override
+        public String toString() {
+            return "stored jobData of " + jobKey;
+        }
+    }
+}
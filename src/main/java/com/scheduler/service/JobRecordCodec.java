@@ -0,0 +1,206 @@
+package com.scheduler.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scheduler.model.JobDetails;
+import com.scheduler.model.JobPriority;
+import com.scheduler.model.MisfirePolicy;
+import org.quartz.JobKey;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+
+// Binary form of jobs shared by the durable job store and the far-future tier.
+//   strings: int UTF-8 length (-1 = null) + bytes
+//   times: present:1, then epoch second:8 + nano:4 (UTC)
+//   job: jobId, jobName, jobGroup, scheduleTime, cronExpression, description, flags:1,
+//        [priority:1, maxLatenessMs:8 (-1 = none) if flags has SCHEDULING],
+//        [misfirePolicy:1 if flags has MISFIRE], jobData
+//   flags: RECURRING | SCHEDULING | MISFIRE; records written before priorities existed hold
+//        0 or 1 and read as NORMAL with no max lateness; without MISFIRE the class's misfire
+//        policy applies
+//   jobData: int entry count (-1 = null), then per entry key, value type:1 and value
+final class JobRecordCodec {
+    private static final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private static final int RECURRING = 1;
+    private static final int SCHEDULING = 2;
+    private static final int MISFIRE = 4;
+
+    private static final byte VALUE_NULL = 0;
+    private static final byte VALUE_STRING = 1;
+    private static final byte VALUE_INT = 2;
+    private static final byte VALUE_LONG = 3;
+    private static final byte VALUE_DOUBLE = 4;
+    private static final byte VALUE_BOOLEAN = 5;
+    private static final byte VALUE_JSON = 6;
+
+    private JobRecordCodec() {
+    }
+
+    static void writeJob(DataOutputStream out, JobDetails jobDetails) throws IOException {
+        writeString(out, jobDetails.getJobId());
+        writeString(out, jobDetails.getJobName());
+        writeString(out, jobDetails.getJobGroup());
+        writeTime(out, jobDetails.getScheduleTime());
+        writeString(out, jobDetails.getCronExpression());
+        writeString(out, jobDetails.getDescription());
+        MisfirePolicy misfirePolicy = jobDetails.getMisfirePolicy();
+        out.writeByte((jobDetails.isRecurring() ? RECURRING : 0) | SCHEDULING | (misfirePolicy != null ? MISFIRE : 0));
+        out.writeByte(jobDetails.getPriority().ordinal());
+        out.writeLong(jobDetails.getMaxLatenessMs() != null ? jobDetails.getMaxLatenessMs() : -1);
+        if (misfirePolicy != null) {
+            out.writeByte(misfirePolicy.ordinal());
+        }
+        writeJobData(out, jobDetails.getJobData());
+    }
+
+    static JobDetails readJob(ByteBuffer in) {
+        String jobId = readString(in);
+        String jobName = readString(in);
+        String jobGroup = readString(in);
+        LocalDateTime scheduleTime = readTime(in);
+        String cron = readString(in);
+        String description = readString(in);
+        byte flags = in.get();
+        JobPriority priority = null;
+        Long maxLatenessMs = null;
+        if ((flags & SCHEDULING) != 0) {
+            priority = JobPriority.values()[in.get()];
+            long lateness = in.getLong();
+            maxLatenessMs = lateness >= 0 ? lateness : null;
+        }
+        MisfirePolicy misfirePolicy = (flags & MISFIRE) != 0 ? MisfirePolicy.values()[in.get()] : null;
+        return new JobDetails(jobId, jobName, jobGroup, scheduleTime, cron, readJobData(in), description,
+                (flags & RECURRING) != 0, priority, maxLatenessMs, misfirePolicy);
+    }
+
+    // Plain string, number and boolean values are written as tagged binary values; anything
+    // else falls back to JSON. Decoding JSON dominated recovery time for typical jobData.
+    static void writeJobData(DataOutputStream out, Map<String, Object> jobData) throws IOException {
+        if (jobData == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(jobData.size());
+        for (Map.Entry<String, Object> entry : jobData.entrySet()) {
+            writeString(out, entry.getKey());
+            Object value = entry.getValue();
+            if (value == null) {
+                out.writeByte(VALUE_NULL);
+            } else if (value instanceof String) {
+                out.writeByte(VALUE_STRING);
+                writeString(out, (String) value);
+            } else if (value instanceof Integer) {
+                out.writeByte(VALUE_INT);
+                out.writeInt((Integer) value);
+            } else if (value instanceof Long) {
+                out.writeByte(VALUE_LONG);
+                out.writeLong((Long) value);
+            } else if (value instanceof Double) {
+                out.writeByte(VALUE_DOUBLE);
+                out.writeDouble((Double) value);
+            } else if (value instanceof Boolean) {
+                out.writeByte(VALUE_BOOLEAN);
+                out.writeBoolean((Boolean) value);
+            } else {
+                out.writeByte(VALUE_JSON);
+                writeString(out, objectMapper.writeValueAsString(value));
+            }
+        }
+    }
+
+    static Map<String, Object> readJobData(ByteBuffer in) {
+        int size = in.getInt();
+        if (size < 0) {
+            return null;
+        }
+        Map<String, Object> jobData = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            String key = readString(in);
+            byte type = in.get();
+            switch (type) {
+                case VALUE_NULL:
+                    jobData.put(key, null);
+                    break;
+                case VALUE_STRING:
+                    jobData.put(key, readString(in));
+                    break;
+                case VALUE_INT:
+                    jobData.put(key, in.getInt());
+                    break;
+                case VALUE_LONG:
+                    jobData.put(key, in.getLong());
+                    break;
+                case VALUE_DOUBLE:
+                    jobData.put(key, in.getDouble());
+                    break;
+                case VALUE_BOOLEAN:
+                    jobData.put(key, in.get() != 0);
+                    break;
+                case VALUE_JSON:
+                    try {
+                        jobData.put(key, objectMapper.readValue(readString(in), Object.class));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Unreadable jobData value " + key, e);
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown jobData value type " + type);
+            }
+        }
+        return jobData;
+    }
+
+    static void writeKey(DataOutputStream out, JobKey jobKey) throws IOException {
+        writeString(out, jobKey.getName());
+        writeString(out, jobKey.getGroup());
+    }
+
+    static JobKey readKey(ByteBuffer in) {
+        String name = readString(in);
+        return new JobKey(name, readString(in));
+    }
+
+    static void writeTime(DataOutputStream out, LocalDateTime time) throws IOException {
+        out.writeBoolean(time != null);
+        if (time != null) {
+            out.writeLong(time.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(time.getNano());
+        }
+    }
+
+    static LocalDateTime readTime(ByteBuffer in) {
+        if (in.get() == 0) {
+            return null;
+        }
+        long epochSecond = in.getLong();
+        return LocalDateTime.ofEpochSecond(epochSecond, in.getInt(), ZoneOffset.UTC);
+    }
+
+    static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,111 @@
+package com.scheduler.service;
+
+import com.scheduler.model.JobStatus;
+import org.quartz.JobKey;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Lifecycle status of the jobs of one instance, keyed by (group, id), with the reason of the
+// last skipped fire if there was one. A job keeps its entry while it exists; once it reaches
+// a terminal status (completed, failed, cancelled, skipped) the entry
+// is kept for the TTL, and only the newest maxTerminal terminal entries are kept at all, so
+// the store stays bounded however many jobs come and go.
+public class JobStatusStore {
+    private final Map<JobKey, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry> terminal = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger terminalCount = new AtomicInteger();
+    private final long ttlMillis;
+    private final int maxTerminal;
+
+    public JobStatusStore(long ttlMillis, int maxTerminal) {
+        this.ttlMillis = ttlMillis;
+        this.maxTerminal = Math.max(0, maxTerminal);
+    }
+
+    public static boolean isTerminal(JobStatus status) {
+        return status == JobStatus.COMPLETED || status == JobStatus.FAILED || status == JobStatus.CANCELLED
+                || status == JobStatus.SKIPPED;
+    }
+
+    public void set(JobKey jobKey, JobStatus status) {
+        set(jobKey, status, null);
+    }
+
+    public void set(JobKey jobKey, JobStatus status, String skipReason) {
+        long now = System.currentTimeMillis();
+        Entry entry = new Entry(jobKey, status, skipReason, isTerminal(status) ? now : 0);
+        entries.put(jobKey, entry);
+        if (entry.terminalSince > 0) {
+            terminal.add(entry);
+            terminalCount.incrementAndGet();
+        }
+        evict(now);
+    }
+
+    // Null if the job is unknown or its terminal status has expired.
+    public JobStatus get(JobKey jobKey) {
+        Entry entry = live(jobKey);
+        return entry != null ? entry.status : null;
+    }
+
+    // Why the job's last fire was skipped; null if it was not.
+    public String getSkipReason(JobKey jobKey) {
+        Entry entry = live(jobKey);
+        return entry != null ? entry.skipReason : null;
+    }
+
+    private Entry live(JobKey jobKey) {
+        Entry entry = entries.get(jobKey);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.terminalSince > 0 && System.currentTimeMillis() - entry.terminalSince > ttlMillis) {
+            entries.remove(jobKey, entry);
+            return null;
+        }
+        return entry;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public int getTerminalCount() {
+        return terminalCount.get();
+    }
+
+    // Queued entries that were superseded by a later status only count until they are polled;
+    // the conditional remove leaves the newer entry alone.
+    private void evict(long now) {
+        while (true) {
+            Entry oldest = terminal.peek();
+            if (oldest == null || (terminalCount.get() <= maxTerminal && now - oldest.terminalSince <= ttlMillis)) {
+                return;
+            }
+            Entry evicted = terminal.poll();
+            if (evicted == null) {
+                return;
+            }
+            terminalCount.decrementAndGet();
+            entries.remove(evicted.jobKey, evicted);
+        }
+    }
+
+    private static final class Entry {
+        private final JobKey jobKey;
+        private final JobStatus status;
+        private final String skipReason;
+        private final long terminalSince;
+
+        private Entry(JobKey jobKey, JobStatus status, String skipReason, long terminalSince) {
+            this.jobKey = jobKey;
+            this.status = status;
+            this.skipReason = skipReason;
+            this.terminalSince = terminalSince;
+        }
+    }
+}
@@ -1,117 +1,494 @@
 package com.scheduler.service;
 
+import com.scheduler.config.SchedulerConfig;
+import com.scheduler.execution.JobDispatcher;
+import com.scheduler.execution.JobSkippedException;
+import com.scheduler.model.BulkOperation;
+import com.scheduler.model.BulkResult;
 import com.scheduler.model.JobDetails;
-import com.scheduler.model.JobExecutionJob;
+import com.scheduler.model.JobPage;
 import com.scheduler.model.JobStatus;
-import org.quartz.*;
-import org.quartz.impl.StdSchedulerFactory;
-import org.quartz.impl.matchers.GroupMatcher;
+import com.scheduler.model.JobSummary;
+import com.scheduler.model.SchedulerResponse;
+import org.quartz.JobKey;
+import org.quartz.SchedulerException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.text.ParseException;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 public class LocalSchedulerService {
     private static final Logger logger = LoggerFactory.getLogger(LocalSchedulerService.class);
-    private final Scheduler scheduler;
-    private final Map<String, JobStatus> jobStatuses = new ConcurrentHashMap<>();
+    private static final int BULK_CHUNK_SIZE = 1000;
+    private static final int RECOVERY_CHUNK_SIZE = 10_000;
+    private final JobDispatcher dispatcher;
+    private final CronScheduleCache crons;
+    private final SchedulingEngine quartz;
+    private final SchedulingEngine oneShots;
+    private final TieredSchedulingEngine far;
+    private final JobPayloadStore payloads;
+    private final int maxPayloadBytes;
+    private final DurableJobStore store;
+    // Keys whose removal could not be logged; a cancel that leaves one behind is not acknowledged.
+    private final Set<JobKey> unloggedRemovals = ConcurrentHashMap.newKeySet();
+    private int recoveredJobs;
+    private long recoveryMillis;
+    private final JobStatusStore statuses;
+    private final NavigableSet<JobKey> jobIndex = new ConcurrentSkipListSet<>();
 
-    public LocalSchedulerService() throws SchedulerException {
-        SchedulerFactory factory = new StdSchedulerFactory();
-        this.scheduler = factory.getScheduler();
-        this.scheduler.start();
-        logger.info("Local scheduler service started");
+    // Cron jobs always live in Quartz, optionally split over several independent schedulers;
+    // scheduler.engine picks where one-shot jobs live.
+    public LocalSchedulerService(SchedulerConfig config) throws SchedulerException {
+        this.dispatcher = new JobDispatcher(config);
+        this.crons = new CronScheduleCache(config.getIntProperty("scheduler.cron.cache.size", 1024));
+        FireSpread spread = new FireSpread(config);
+        int shards = config.getIntProperty("scheduler.quartz.shards", 1);
+        if (shards > 1) {
+            int threads = config.getIntProperty("scheduler.quartz.shard.threads", 10);
+            this.quartz = new ShardedQuartzSchedulingEngine(shards, threads,
+                    config.getIntProperty("scheduler.quartz.batch.size", threads), dispatcher, crons, spread);
+        } else {
+            int threads = config.getIntProperty("scheduler.quartz.threads", 10);
+            this.quartz = new QuartzSchedulingEngine("DefaultQuartzScheduler", threads,
+                    config.getIntProperty("scheduler.quartz.batch.size", threads), dispatcher, crons, spread);
+        }
+        if ("wheel".equalsIgnoreCase(config.getProperty("scheduler.engine", "quartz"))) {
+            this.oneShots = new TimingWheelSchedulingEngine(
+                    config.getLongProperty("scheduler.wheel.tick.ms", 10),
+                    config.getIntProperty("scheduler.wheel.fire.threads", 10), dispatcher);
+        } else {
+            this.oneShots = quartz;
+        }
+        if (config.getBooleanProperty("scheduler.tier.enabled", false)) {
+            try {
+                this.far = new TieredSchedulingEngine(oneShots,
+                        config.getLongProperty("scheduler.tier.horizon.ms", 3600000),
+                        config.getLongProperty("scheduler.tier.promote.ahead.ms", 300000),
+                        config.getLongProperty("scheduler.tier.load.interval.ms", 1000),
+                        Paths.get(config.getProperty("scheduler.tier.dir", "data/tier")),
+                        config.getIntProperty("scheduler.tier.segment.mb", 64) << 20);
+            } catch (IOException e) {
+                throw new SchedulerException("Failed to open the far-future tier", e);
+            }
+        } else {
+            this.far = null;
+        }
+        this.maxPayloadBytes = config.getIntProperty("scheduler.payload.max.bytes", 1 << 20);
+        if (config.getBooleanProperty("scheduler.payload.offheap", false)) {
+            try {
+                this.payloads = new JobPayloadStore(Paths.get(config.getProperty("scheduler.payload.dir", "data/payload")),
+                        config.getIntProperty("scheduler.payload.segment.mb", 64) << 20,
+                        config.getIntProperty("scheduler.payload.offheap.min.bytes", 64), maxPayloadBytes);
+            } catch (IOException e) {
+                throw new SchedulerException("Failed to open the jobData payload store", e);
+            }
+        } else {
+            this.payloads = null;
+        }
+        this.statuses = new JobStatusStore(config.getLongProperty("scheduler.status.ttl.ms", 3600000),
+                config.getIntProperty("scheduler.status.max.terminal", 100000));
+        addJobListener(new JobIndexListener());
+        addJobListener(new JobStatusListener());
+        if (payloads != null) {
+            addJobListener(new SchedulingEngine.Listener() {
+                @Override
+                public void jobAdded(JobKey jobKey) {
+                }
+
+                // Fired jobs are reported after they have run, so the payload outlives its use.
+                @Override
+                public void jobRemoved(JobKey jobKey) {
+                    payloads.remove(jobKey);
+                }
+            });
+        }
+
+        if ("durable".equalsIgnoreCase(config.getProperty("scheduler.store.mode", "memory"))) {
+            this.store = new DurableJobStore(Paths.get(config.getProperty("scheduler.store.dir", "data/store")),
+                    config.getIntProperty("scheduler.store.segment.mb", 64) << 20,
+                    config.getBooleanProperty("scheduler.store.fsync", true));
+            recover(config.getIntProperty("scheduler.store.recovery.threads",
+                    Runtime.getRuntime().availableProcessors()));
+            addJobListener(new SchedulingEngine.Listener() {
+                @Override
+                public void jobAdded(JobKey jobKey) {
+                    unloggedRemovals.remove(jobKey);
+                }
+
+                // Covers cancels as well as one-shot jobs that have fired.
+                @Override
+                public void jobRemoved(JobKey jobKey) {
+                    try {
+                        store.logRemove(jobKey);
+                    } catch (IOException e) {
+                        unloggedRemovals.add(jobKey);
+                        logger.error("Failed to log the removal of job {}, it returns after a restart: {}",
+                                jobKey, e.getMessage(), e);
+                    }
+                }
+            });
+            store.startSnapshots(this::forEachStoredJob,
+                    config.getLongProperty("scheduler.store.snapshot.interval.ms", 300000));
+        } else {
+            this.store = null;
+        }
+        logger.info("Local scheduler service started (one-shot engine: {}, Quartz shards: {}, store: {}, far tier: {})",
+                oneShots.getName(), Math.max(1, shards), getStoreMode(), far != null ? "on" : "off");
+    }
+
+    // Registers the stored jobs with the engines in parallel chunks; the engines and the job
+    // index are concurrent, and Quartz jobs go through one bulk store call per chunk.
+    private void recover(int threads) throws SchedulerException {
+        long start = System.currentTimeMillis();
+        List<DurableJobStore.StoredJob> stored;
+        try {
+            stored = new ArrayList<>(store.recover());
+        } catch (IOException e) {
+            throw new SchedulerException("Failed to recover jobs from the job store", e);
+        }
+
+        AtomicInteger restored = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, threads));
+        try {
+            List<Future<?>> chunks = new ArrayList<>();
+            for (int from = 0; from < stored.size(); from += RECOVERY_CHUNK_SIZE) {
+                List<DurableJobStore.StoredJob> chunk = stored.subList(from, Math.min(stored.size(), from + RECOVERY_CHUNK_SIZE));
+                chunks.add(pool.submit(() -> restored.addAndGet(restore(chunk))));
+            }
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+        } catch (Exception e) {
+            throw new SchedulerException("Failed to restore recovered jobs", e);
+        } finally {
+            pool.shutdown();
+        }
+
+        this.recoveredJobs = restored.get();
+        this.recoveryMillis = System.currentTimeMillis() - start;
+        logger.info("Recovered {} of {} stored jobs in {} ms", recoveredJobs, stored.size(), recoveryMillis);
+    }
+
+    private int restore(List<DurableJobStore.StoredJob> chunk) {
+        List<DurableJobStore.StoredJob> quartzJobs = new ArrayList<>();
+        List<JobDetails> quartzPrepared = new ArrayList<>();
+        List<DurableJobStore.StoredJob> restored = new ArrayList<>(chunk.size());
+        for (DurableJobStore.StoredJob job : chunk) {
+            JobDetails jobDetails = job.getJobDetails();
+            try {
+                SchedulingEngine engine = engineFor(jobDetails);
+                JobDetails prepared = prepare(engine, jobDetails);
+                if (prepared == null) {
+                    continue;
+                }
+                if (engine == quartz) {
+                    quartzJobs.add(job);
+                    quartzPrepared.add(prepared);
+                } else if (schedulePrepared(engine, jobDetails, prepared)) {
+                    restored.add(job);
+                }
+            } catch (Exception e) {
+                logger.warn("Could not restore job {}: {}", jobDetails.getJobId(), e.getMessage());
+            }
+        }
+        if (!quartzJobs.isEmpty()) {
+            List<String> errors;
+            try {
+                errors = quartz.scheduleAll(quartzPrepared);
+            } catch (SchedulerException e) {
+                logger.warn("Could not restore {} jobs: {}", quartzJobs.size(), e.getMessage());
+                errors = Collections.nCopies(quartzJobs.size(), e.getMessage());
+            }
+            for (int k = 0; k < quartzJobs.size(); k++) {
+                DurableJobStore.StoredJob job = quartzJobs.get(k);
+                if (errors.get(k) == null) {
+                    restored.add(job);
+                } else {
+                    discardPayload(job.getJobDetails(), quartzPrepared.get(k));
+                    logger.warn("Could not restore job {}: {}", job.getJobDetails().getJobId(), errors.get(k));
+                }
+            }
+        }
+
+        for (DurableJobStore.StoredJob job : restored) {
+            JobDetails jobDetails = job.getJobDetails();
+            JobKey jobKey = new JobKey(jobDetails.getJobId(), jobDetails.getJobGroup());
+            try {
+                if (job.isPaused() && engineFor(jobKey).pause(jobKey)) {
+                    statuses.set(jobKey, JobStatus.PAUSED);
+                } else {
+                    statuses.set(jobKey, JobStatus.SCHEDULED);
+                }
+            } catch (SchedulerException e) {
+                logger.warn("Could not pause restored job {}: {}", jobDetails.getJobId(), e.getMessage());
+            }
+        }
+        return restored.size();
+    }
+
+    private void forEachStoredJob(Consumer<DurableJobStore.StoredJob> sink) throws SchedulerException {
+        for (JobKey jobKey : jobIndex) {
+            SchedulingEngine engine = engineFor(jobKey);
+            JobDetails jobDetails = JobPayloadStore.resolve(engine.getJobDetails(jobKey));
+            if (jobDetails != null) {
+                sink.accept(new DurableJobStore.StoredJob(jobDetails, engine.isPaused(jobKey)));
+            }
+        }
     }
 
     public boolean scheduleJob(JobDetails jobDetails) {
         try {
             JobKey jobKey = new JobKey(jobDetails.getJobId(), jobDetails.getJobGroup());
+            SchedulingEngine engine = engineFor(jobDetails);
+            JobDetails prepared = exists(jobKey) ? null : prepare(engine, jobDetails);
             
-            if (scheduler.checkExists(jobKey)) {
+            if (prepared == null || !schedulePrepared(engine, jobDetails, prepared)) {
                 logger.warn("Job {} already exists in group {}", jobDetails.getJobId(), jobDetails.getJobGroup());
                 return false;
             }
-
-            JobDetail job = JobBuilder.newJob(JobExecutionJob.class)
-                    .withIdentity(jobKey)
-                    .withDescription(jobDetails.getDescription())
-                    .build();
-
-            if (jobDetails.getJobData() != null) {
-                job.getJobDataMap().putAll(jobDetails.getJobData());
-            }
-
-            Trigger trigger = createTrigger(jobDetails);
-            scheduler.scheduleJob(job, trigger);
             
-            jobStatuses.put(jobDetails.getJobId(), JobStatus.SCHEDULED);
+            long ticket = logScheduled(engine, jobDetails);
+            if (ticket < 0) {
+                return false;
+            }
+            awaitStore(ticket);
+            statuses.set(jobKey, JobStatus.SCHEDULED);
             logger.info("Job {} scheduled successfully", jobDetails.getJobId());
             return true;
         } catch (SchedulerException e) {
             logger.error("Failed to schedule job {}: {}", jobDetails.getJobId(), e.getMessage(), e);
             return false;
+        } catch (IllegalArgumentException e) {
+            logger.warn("Rejected job {}: {}", jobDetails.getJobId(), e.getMessage());
+            return false;
+        }
+    }
+
+    public List<SchedulerResponse> scheduleJobs(List<JobDetails> jobs) {
+        SchedulerResponse[] results = new SchedulerResponse[jobs.size()];
+        Set<JobKey> seen = new HashSet<>();
+        List<JobDetails> quartzJobs = new ArrayList<>();
+        List<JobDetails> quartzPrepared = new ArrayList<>();
+        List<Integer> quartzPositions = new ArrayList<>();
+        long ticket = 0;
+
+        for (int i = 0; i < jobs.size(); i++) {
+            JobDetails jobDetails = jobs.get(i);
+            try {
+                JobKey jobKey = new JobKey(jobDetails.getJobId(), jobDetails.getJobGroup());
+                if (!seen.add(jobKey) || exists(jobKey)) {
+                    results[i] = SchedulerResponse.error("Job already exists", jobDetails.getJobId());
+                    continue;
+                }
+
+                SchedulingEngine engine = engineFor(jobDetails);
+                JobDetails prepared = prepare(engine, jobDetails);
+                if (prepared == null) {
+                    results[i] = SchedulerResponse.error("Job already exists", jobDetails.getJobId());
+                } else if (engine == quartz) {
+                    quartzJobs.add(jobDetails);
+                    quartzPrepared.add(prepared);
+                    quartzPositions.add(i);
+                } else if (!schedulePrepared(engine, jobDetails, prepared)) {
+                    results[i] = SchedulerResponse.error("Job already exists", jobDetails.getJobId());
+                } else {
+                    long logged = logScheduled(engine, jobDetails);
+                    if (logged < 0) {
+                        results[i] = SchedulerResponse.error("Failed to schedule job", jobDetails.getJobId());
+                    } else {
+                        ticket = logged;
+                        statuses.set(jobKey, JobStatus.SCHEDULED);
+                        results[i] = SchedulerResponse.success("Job scheduled successfully", jobDetails.getJobId());
+                    }
+                }
+            } catch (Exception e) {
+                logger.warn("Rejected job {} from batch: {}", jobDetails.getJobId(), e.getMessage());
+                results[i] = SchedulerResponse.error("Invalid job: " + e.getMessage(), jobDetails.getJobId());
+            }
         }
+
+        if (!quartzJobs.isEmpty()) {
+            try {
+                List<String> errors = quartz.scheduleAll(quartzPrepared);
+                for (int k = 0; k < quartzJobs.size(); k++) {
+                    String jobId = quartzJobs.get(k).getJobId();
+                    if (errors.get(k) == null) {
+                        long logged = logScheduled(quartz, quartzJobs.get(k));
+                        if (logged < 0) {
+                            results[quartzPositions.get(k)] = SchedulerResponse.error("Failed to schedule job", jobId);
+                            continue;
+                        }
+                        ticket = logged;
+                        statuses.set(new JobKey(jobId, quartzJobs.get(k).getJobGroup()), JobStatus.SCHEDULED);
+                        results[quartzPositions.get(k)] = SchedulerResponse.success("Job scheduled successfully", jobId);
+                    } else {
+                        discardPayload(quartzJobs.get(k), quartzPrepared.get(k));
+                        results[quartzPositions.get(k)] = SchedulerResponse.error(errors.get(k), jobId);
+                    }
+                }
+            } catch (SchedulerException e) {
+                // The bulk store is all-or-nothing; fall back to one job at a time so a
+                // concurrent create of a single key does not fail the whole chunk.
+                logger.warn("Batch schedule failed, retrying {} jobs individually: {}", quartzJobs.size(), e.getMessage());
+                for (int k = 0; k < quartzJobs.size(); k++) {
+                    discardPayload(quartzJobs.get(k), quartzPrepared.get(k));
+                }
+                for (int k = 0; k < quartzJobs.size(); k++) {
+                    JobDetails jobDetails = quartzJobs.get(k);
+                    try {
+                        results[quartzPositions.get(k)] = scheduleJob(jobDetails)
+                                ? SchedulerResponse.success("Job scheduled successfully", jobDetails.getJobId())
+                                : SchedulerResponse.error("Failed to schedule job", jobDetails.getJobId());
+                    } catch (Exception invalid) {
+                        results[quartzPositions.get(k)] = SchedulerResponse.error("Invalid job: " + invalid.getMessage(), jobDetails.getJobId());
+                    }
+                }
+            }
+        }
+
+        awaitStore(ticket);
+        logger.info("Scheduled batch of {} jobs", jobs.size());
+        return Arrays.asList(results);
     }
 
     public boolean rescheduleJob(String jobId, String jobGroup, LocalDateTime newScheduleTime, String newCronExpression) {
+        long ticket = reschedule(jobId, jobGroup, newScheduleTime, newCronExpression);
+        awaitStore(ticket);
+        return ticket >= 0;
+    }
+
+    // Returns the job store ticket of the change, or -1 if the job was not rescheduled.
+    private long reschedule(String jobId, String jobGroup, LocalDateTime newScheduleTime, String newCronExpression) {
         try {
             JobKey jobKey = new JobKey(jobId, jobGroup);
+            SchedulingEngine engine = engineFor(jobKey);
             
-            if (!scheduler.checkExists(jobKey)) {
+            if (!engine.contains(jobKey)) {
                 logger.warn("Job {} not found for rescheduling", jobId);
-                return false;
+                return -1;
             }
 
-            List<? extends Trigger> triggers = scheduler.getTriggersOfJob(jobKey);
-            if (triggers.isEmpty()) {
-                logger.warn("No triggers found for job {}", jobId);
-                return false;
+            // Only Quartz runs cron schedules, and one-shot times beyond the horizon belong to
+            // the far tier; a job rescheduled across either line moves with its data.
+            boolean toCron = newCronExpression != null && !newCronExpression.trim().isEmpty();
+            SchedulingEngine target = toCron ? quartz : engine;
+            if (!toCron && far != null && engine != far && newScheduleTime != null && far.isBeyondHorizon(newScheduleTime)) {
+                target = far;
             }
 
-            TriggerKey triggerKey = triggers.get(0).getKey();
-            
-            Trigger newTrigger;
-            if (newCronExpression != null && !newCronExpression.trim().isEmpty()) {
-                newTrigger = TriggerBuilder.newTrigger()
-                        .withIdentity(triggerKey)
-                        .withSchedule(CronScheduleBuilder.cronSchedule(newCronExpression))
-                        .build();
-            } else if (newScheduleTime != null) {
-                Date startTime = Date.from(newScheduleTime.atZone(ZoneId.systemDefault()).toInstant());
-                newTrigger = TriggerBuilder.newTrigger()
-                        .withIdentity(triggerKey)
-                        .startAt(startTime)
-                        .build();
+            long ticket = 0;
+            if (target != engine) {
+                if (toCron && !crons.isValid(newCronExpression)) {
+                    logger.error("Invalid cron expression for job {}: {}", jobId, newCronExpression);
+                    return -1;
+                }
+                JobDetails moved = moveJob(jobKey, engine, target, toCron ? null : newScheduleTime, toCron ? newCronExpression : null);
+                if (moved == null) {
+                    return -1;
+                }
+                ticket = logSchedule(moved);
+                if (target.isPaused(jobKey)) {
+                    ticket = logPause(jobKey, true);
+                }
             } else {
-                logger.error("Neither schedule time nor cron expression provided for rescheduling");
-                return false;
+                if (!engine.reschedule(jobKey, newScheduleTime, newCronExpression)) {
+                    return -1;
+                }
+                ticket = logReschedule(jobKey, newScheduleTime, newCronExpression);
             }
 
-            scheduler.rescheduleJob(triggerKey, newTrigger);
-            jobStatuses.put(jobId, JobStatus.RESCHEDULED);
+            statuses.set(jobKey, JobStatus.RESCHEDULED);
             logger.info("Job {} rescheduled successfully", jobId);
-            return true;
+            return ticket;
         } catch (SchedulerException e) {
             logger.error("Failed to reschedule job {}: {}", jobId, e.getMessage(), e);
-            return false;
+            return -1;
+        }
+    }
+
+    // Returns the moved job, or null if it was not moved. A paused job stays paused. The
+    // cancel has already been reported to the listeners (store, payloads, index), so a job
+    // the target refuses is put back into its old engine as it was.
+    private JobDetails moveJob(JobKey jobKey, SchedulingEngine from, SchedulingEngine to,
+                               LocalDateTime scheduleTime, String cronExpression) throws SchedulerException {
+        JobDetails current = JobPayloadStore.resolve(from.getJobDetails(jobKey));
+        if (current == null) {
+            return null;
+        }
+        boolean paused = from.isPaused(jobKey);
+        if (!from.cancel(jobKey)) {
+            return null;
+        }
+        JobDetails moved = new JobDetails(current.getJobId(), current.getJobName(), current.getJobGroup(),
+                scheduleTime, cronExpression, current.getJobData(), current.getDescription(), current.isRecurring(),
+                current.getPriority(), current.getMaxLatenessMs(), current.getMisfirePolicy());
+        boolean scheduled = false;
+        try {
+            JobDetails prepared = prepare(to, moved);
+            scheduled = prepared != null && schedulePrepared(to, moved, prepared);
+        } catch (SchedulerException | RuntimeException e) {
+            logger.warn("Could not move job {} to the {} engine: {}", jobKey, to.getName(), e.getMessage());
+        }
+        if (!scheduled) {
+            restoreJob(jobKey, from, current, paused);
+            return null;
+        }
+        if (paused) {
+            to.pause(jobKey);
+        }
+        return moved;
+    }
+
+    private void restoreJob(JobKey jobKey, SchedulingEngine engine, JobDetails jobDetails, boolean paused) {
+        try {
+            JobDetails prepared = prepare(engine, jobDetails);
+            if (prepared != null && schedulePrepared(engine, jobDetails, prepared)) {
+                long ticket = logSchedule(jobDetails);
+                if (paused && engine.pause(jobKey)) {
+                    ticket = logPause(jobKey, true);
+                }
+                awaitStore(ticket);
+                logger.warn("Job {} could not be moved and was kept in the {} engine", jobKey, engine.getName());
+                return;
+            }
+        } catch (SchedulerException | RuntimeException e) {
+            logger.error("Could not restore job {}: {}", jobKey, e.getMessage(), e);
+            return;
         }
+        logger.error("Could not restore job {}: its key is taken by another job", jobKey);
     }
 
     public boolean cancelJob(String jobId, String jobGroup) {
         try {
             JobKey jobKey = new JobKey(jobId, jobGroup);
+            SchedulingEngine engine = engineFor(jobKey);
             
-            if (!scheduler.checkExists(jobKey)) {
+            if (!engine.contains(jobKey)) {
                 logger.warn("Job {} not found for cancellation", jobId);
                 return false;
             }
 
-            boolean deleted = scheduler.deleteJob(jobKey);
+            boolean deleted = engine.cancel(jobKey);
+            if (deleted && unloggedRemovals.remove(jobKey)) {
+                logger.error("Job {} was cancelled but the cancel could not be stored", jobId);
+                return false;
+            }
             if (deleted) {
-                jobStatuses.put(jobId, JobStatus.CANCELLED);
+                syncStore();
+                statuses.set(jobKey, JobStatus.CANCELLED);
                 logger.info("Job {} cancelled successfully", jobId);
             } else {
                 logger.warn("Failed to cancel job {}", jobId);
@@ -123,57 +500,592 @@ public class LocalSchedulerService {
         }
     }
 
+    // The result maps only the keys present on this instance to whether they were cancelled.
+    public Map<JobKey, Boolean> cancelJobs(Collection<JobKey> jobKeys) {
+        List<JobKey> present = presentKeys(jobKeys);
+        Map<JobKey, Boolean> results = new LinkedHashMap<>();
+        if (present.isEmpty()) {
+            return results;
+        }
+
+        try {
+            List<JobKey> inQuartz = new ArrayList<>();
+            for (JobKey jobKey : present) {
+                SchedulingEngine engine = engineFor(jobKey);
+                if (engine == quartz) {
+                    inQuartz.add(jobKey);
+                } else {
+                    results.put(jobKey, engine.cancel(jobKey));
+                }
+            }
+            if (!inQuartz.isEmpty()) {
+                results.putAll(quartz.cancelAll(inQuartz));
+            }
+            syncStore();
+            for (Map.Entry<JobKey, Boolean> result : results.entrySet()) {
+                if (result.getValue() && unloggedRemovals.remove(result.getKey())) {
+                    result.setValue(false);
+                } else if (result.getValue()) {
+                    statuses.set(result.getKey(), JobStatus.CANCELLED);
+                }
+            }
+            logger.info("Cancelled batch of {} jobs", present.size());
+        } catch (SchedulerException e) {
+            logger.warn("Bulk cancel of {} jobs failed, cancelling individually: {}", present.size(), e.getMessage());
+            for (JobKey jobKey : present) {
+                if (!Boolean.TRUE.equals(results.get(jobKey))) {
+                    results.put(jobKey, cancelJob(jobKey.getName(), jobKey.getGroup()));
+                }
+            }
+        }
+        return results;
+    }
+
+    // The result maps only the keys present on this instance to whether they were rescheduled.
+    public Map<JobKey, Boolean> rescheduleJobs(Collection<JobKey> jobKeys, LocalDateTime newScheduleTime,
+                                               String newCronExpression) {
+        Map<JobKey, Boolean> results = new LinkedHashMap<>();
+        long lastTicket = 0;
+        for (JobKey jobKey : presentKeys(jobKeys)) {
+            long ticket = reschedule(jobKey.getName(), jobKey.getGroup(), newScheduleTime, newCronExpression);
+            lastTicket = Math.max(lastTicket, ticket);
+            results.put(jobKey, ticket >= 0);
+        }
+        awaitStore(lastTicket);
+        return results;
+    }
+
+    // Applies the operation to every local job selected by group and optional jobData tag,
+    // reporting cumulative counts after each chunk.
+    public BulkResult applyBulk(BulkOperation operation, String instanceId, Consumer<BulkResult> progress)
+            throws SchedulerException {
+        // Checked before any job is touched; the controller bounds it, a peer's message may not.
+        if (operation.getAction() == BulkOperation.Action.SHIFT) {
+            try {
+                Math.multiplyExact(operation.getShiftSeconds(), 1000L);
+            } catch (ArithmeticException e) {
+                throw new SchedulerException("shiftSeconds out of range: " + operation.getShiftSeconds());
+            }
+        }
+        String group = operation.getGroup();
+        String prefix = group == null ? operation.getGroupPrefix() : null;
+
+        // The index orders keys by group with the default group first, so an exact group or a
+        // prefix that cannot match the default group is a contiguous range.
+        NavigableSet<JobKey> view = jobIndex;
+        boolean contiguous = false;
+        if (group != null) {
+            view = jobIndex.tailSet(new JobKey("", group), true);
+            contiguous = true;
+        } else if (prefix != null && !JobKey.DEFAULT_GROUP.startsWith(prefix)) {
+            view = jobIndex.tailSet(new JobKey("", prefix), true);
+            contiguous = true;
+        }
+
+        long matched = 0;
+        long succeeded = 0;
+        List<JobKey> chunk = new ArrayList<>(BULK_CHUNK_SIZE);
+        for (JobKey jobKey : view) {
+            if ((group != null && !group.equals(jobKey.getGroup()))
+                    || (prefix != null && !jobKey.getGroup().startsWith(prefix))) {
+                if (contiguous) {
+                    break;
+                }
+                continue;
+            }
+            if (operation.getDataKey() != null && !hasTag(jobKey, operation.getDataKey(), operation.getDataValue())) {
+                continue;
+            }
+            chunk.add(jobKey);
+            if (chunk.size() == BULK_CHUNK_SIZE) {
+                matched += chunk.size();
+                succeeded += applyBulkChunk(operation, chunk);
+                chunk.clear();
+                if (progress != null) {
+                    progress.accept(new BulkResult(instanceId, 1, matched, succeeded, matched - succeeded, false));
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            matched += chunk.size();
+            succeeded += applyBulkChunk(operation, chunk);
+        }
+
+        logger.info("Applied {} to {} jobs ({} succeeded)", operation, matched, succeeded);
+        return new BulkResult(instanceId, 1, matched, succeeded, matched - succeeded, true);
+    }
+
+    private boolean hasTag(JobKey jobKey, String dataKey, String dataValue) throws SchedulerException {
+        JobDetails jobDetails = JobPayloadStore.resolve(engineFor(jobKey).getJobDetails(jobKey));
+        if (jobDetails == null || jobDetails.getJobData() == null || !jobDetails.getJobData().containsKey(dataKey)) {
+            return false;
+        }
+        return dataValue == null || dataValue.equals(String.valueOf(jobDetails.getJobData().get(dataKey)));
+    }
+
+    private int applyBulkChunk(BulkOperation operation, List<JobKey> jobKeys) {
+        int succeeded = 0;
+        if (operation.getAction() == BulkOperation.Action.CANCEL) {
+            for (boolean cancelled : cancelJobs(jobKeys).values()) {
+                if (cancelled) {
+                    succeeded++;
+                }
+            }
+            return succeeded;
+        }
+
+        for (JobKey jobKey : jobKeys) {
+            try {
+                SchedulingEngine engine = engineFor(jobKey);
+                switch (operation.getAction()) {
+                    case PAUSE:
+                        if (engine.pause(jobKey)) {
+                            logPause(jobKey, true);
+                            statuses.set(jobKey, JobStatus.PAUSED);
+                            succeeded++;
+                        }
+                        break;
+                    case RESUME:
+                        if (engine.resume(jobKey)) {
+                            logPause(jobKey, false);
+                            statuses.set(jobKey, JobStatus.SCHEDULED);
+                            succeeded++;
+                        }
+                        break;
+                    case SHIFT:
+                        if (engine.shift(jobKey, operation.getShiftSeconds() * 1000)) {
+                            logShift(engine, jobKey);
+                            statuses.set(jobKey, JobStatus.RESCHEDULED);
+                            succeeded++;
+                        }
+                        break;
+                    default:
+                        break;
+                }
+            } catch (SchedulerException e) {
+                logger.warn("Failed to apply {} to job {}: {}", operation.getAction(), jobKey, e.getMessage());
+            }
+        }
+        syncStore();
+        return succeeded;
+    }
+
+    // Applies the jobData size limit and moves large payloads off-heap. Parked jobs are stored
+    // encoded already. Returns null if a payload is already stored for the key.
+    private JobDetails prepare(SchedulingEngine engine, JobDetails jobDetails) {
+        if (payloads != null && engine != far) {
+            return payloads.offload(jobDetails);
+        }
+        JobPayloadStore.checkSize(jobDetails, maxPayloadBytes);
+        return jobDetails;
+    }
+
+    // Schedules the prepared job, dropping its stored payload again if it was not scheduled.
+    private boolean schedulePrepared(SchedulingEngine engine, JobDetails jobDetails, JobDetails prepared)
+            throws SchedulerException {
+        boolean scheduled = false;
+        try {
+            scheduled = engine.schedule(prepared);
+            return scheduled;
+        } finally {
+            if (!scheduled) {
+                discardPayload(jobDetails, prepared);
+            }
+        }
+    }
+
+    private void discardPayload(JobDetails jobDetails, JobDetails prepared) {
+        if (prepared != jobDetails) {
+            payloads.remove(new JobKey(jobDetails.getJobId(), jobDetails.getJobGroup()));
+        }
+    }
+
+    // Returns the job store ticket of a job that was just scheduled, or -1 if it could not be
+    // logged; the job is then taken out of the engine again so it is not acknowledged.
+    private long logScheduled(SchedulingEngine engine, JobDetails jobDetails) {
+        JobKey jobKey = new JobKey(jobDetails.getJobId(), jobDetails.getJobGroup());
+        try {
+            return logSchedule(jobDetails);
+        } catch (SchedulerException e) {
+            logger.error("Failed to store job {}: {}", jobDetails.getJobId(), e.getMessage(), e);
+        }
+        try {
+            engine.cancel(jobKey);
+        } catch (SchedulerException e) {
+            logger.error("Could not take back unstored job {}: {}", jobKey, e.getMessage(), e);
+        }
+        unloggedRemovals.remove(jobKey);
+        return -1;
+    }
+
+    private long logSchedule(JobDetails jobDetails) throws SchedulerException {
+        try {
+            return store != null ? store.logSchedule(jobDetails) : 0;
+        } catch (IOException e) {
+            throw storeFailure(new JobKey(jobDetails.getJobId(), jobDetails.getJobGroup()), e);
+        }
+    }
+
+    private long logPause(JobKey jobKey, boolean paused) throws SchedulerException {
+        try {
+            return store != null ? store.logPause(jobKey, paused) : 0;
+        } catch (IOException e) {
+            throw storeFailure(jobKey, e);
+        }
+    }
+
+    private long logReschedule(JobKey jobKey, LocalDateTime newScheduleTime, String newCronExpression)
+            throws SchedulerException {
+        try {
+            return store != null ? store.logReschedule(jobKey, newScheduleTime, newCronExpression) : 0;
+        } catch (IOException e) {
+            throw storeFailure(jobKey, e);
+        }
+    }
+
+    // Logged as the resulting absolute time so replaying the record twice is harmless.
+    private void logShift(SchedulingEngine engine, JobKey jobKey) throws SchedulerException {
+        if (store != null) {
+            Date nextFireTime = engine.getNextFireTime(jobKey);
+            if (nextFireTime != null) {
+                logReschedule(jobKey, LocalDateTime.ofInstant(nextFireTime.toInstant(), ZoneId.systemDefault()), null);
+            }
+        }
+    }
+
+    private static SchedulerException storeFailure(JobKey jobKey, IOException e) {
+        return new SchedulerException("Failed to write job " + jobKey + " to the job store", e);
+    }
+
+    private void awaitStore(long ticket) {
+        if (store != null && ticket > 0) {
+            store.await(ticket);
+        }
+    }
+
+    private void syncStore() {
+        if (store != null) {
+            store.sync();
+        }
+    }
+
+    private List<JobKey> presentKeys(Collection<JobKey> jobKeys) {
+        List<JobKey> present = new ArrayList<>();
+        for (JobKey jobKey : new LinkedHashSet<>(jobKeys)) {
+            if (jobIndex.contains(jobKey)) {
+                present.add(jobKey);
+            }
+        }
+        return present;
+    }
+
+    private SchedulingEngine engineFor(JobDetails jobDetails) {
+        if (far != null && far.supports(jobDetails)) {
+            return far;
+        }
+        return oneShots.supports(jobDetails) ? oneShots : quartz;
+    }
+
+    private SchedulingEngine engineFor(JobKey jobKey) throws SchedulerException {
+        if (far != null && far.contains(jobKey)) {
+            return far;
+        }
+        return oneShots != quartz && oneShots.contains(jobKey) ? oneShots : quartz;
+    }
+
+    private boolean exists(JobKey jobKey) throws SchedulerException {
+        return engineFor(jobKey).contains(jobKey);
+    }
+
+    public void addJobListener(SchedulingEngine.Listener listener) {
+        quartz.addListener(listener);
+        if (oneShots != quartz) {
+            oneShots.addListener(listener);
+        }
+        if (far != null) {
+            far.addListener(listener);
+        }
+    }
+
+    public String getEngineName() {
+        return oneShots.getName();
+    }
+
+    public int getQuartzShardCount() {
+        return quartz instanceof ShardedQuartzSchedulingEngine
+                ? ((ShardedQuartzSchedulingEngine) quartz).getShardCount() : 1;
+    }
+
+    public String getStoreMode() {
+        return store != null ? "durable" : "memory";
+    }
+
+    public int getRecoveredJobCount() {
+        return recoveredJobs;
+    }
+
+    public long getRecoveryMillis() {
+        return recoveryMillis;
+    }
+
+    public int getParkedJobCount() {
+        return far != null ? far.getParkedCount() : 0;
+    }
+
+    public long getParkedBytes() {
+        return far != null ? far.getParkedBytes() : 0;
+    }
+
+    public int getOffHeapPayloadCount() {
+        return payloads != null ? payloads.size() : 0;
+    }
+
+    public long getOffHeapPayloadBytes() {
+        return payloads != null ? payloads.getLiveBytes() : 0;
+    }
+
+    public long getDispatchedJobCount() {
+        return dispatcher.getDispatchedCount();
+    }
+
+    public long getCompletedJobCount() {
+        return dispatcher.getCompletedCount();
+    }
+
+    public long getFailedJobCount() {
+        return dispatcher.getFailedCount();
+    }
+
+    public int getInFlightJobCount() {
+        return dispatcher.getInFlightCount();
+    }
+
+    public Map<String, Map<String, Object>> getBulkheadUsage() {
+        return dispatcher.getBulkheadUsage();
+    }
+
+    public Map<String, Object> getCatchUpUsage() {
+        return dispatcher.getCatchUpUsage();
+    }
+
+    public Map<String, Object> getPriorityUsage() {
+        return dispatcher.getPriorityUsage();
+    }
+
+    public Map<String, Long> getSkippedJobCounts() {
+        return dispatcher.getSkippedCounts();
+    }
+
+    public Map<String, Object> getFireLagHistogram() {
+        return dispatcher.getFireLagHistogram();
+    }
+
+    public Map<String, Object> getConcurrencyHistogram() {
+        return dispatcher.getConcurrencyHistogram();
+    }
+
+    public int getJobCount() {
+        return jobIndex.size();
+    }
+
+    public void forEachJobKey(Consumer<JobKey> action) {
+        jobIndex.forEach(action);
+    }
+
     public boolean jobExists(String jobId, String jobGroup) {
         try {
             JobKey jobKey = new JobKey(jobId, jobGroup);
-            return scheduler.checkExists(jobKey);
+            return exists(jobKey);
         } catch (SchedulerException e) {
             logger.error("Error checking job existence {}: {}", jobId, e.getMessage(), e);
             return false;
         }
     }
 
-    public JobStatus getJobStatus(String jobId) {
-        return jobStatuses.getOrDefault(jobId, JobStatus.FAILED);
+    // Null if the job is unknown here, or finished longer ago than the status TTL.
+    public JobStatus getJobStatus(String jobId, String jobGroup) {
+        return statuses.get(new JobKey(jobId, jobGroup));
     }
 
-    public List<String> getAllJobs() {
-        try {
-            List<String> jobs = new ArrayList<>();
-            for (String groupName : scheduler.getJobGroupNames()) {
-                for (JobKey jobKey : scheduler.getJobKeys(GroupMatcher.jobGroupEquals(groupName))) {
-                    jobs.add(jobKey.getName() + " (" + jobKey.getGroup() + ")");
-                }
+    public String getJobSkipReason(String jobId, String jobGroup) {
+        return statuses.getSkipReason(new JobKey(jobId, jobGroup));
+    }
+
+    public int getStatusCount() {
+        return statuses.size();
+    }
+
+    // The next fire times of a cron expression after the given time, in the server's zone.
+    public List<LocalDateTime> previewCron(String cronExpression, LocalDateTime after, int count)
+            throws ParseException {
+        List<LocalDateTime> fireTimes = new ArrayList<>(count);
+        for (Date fireTime : crons.get(cronExpression).nextFireTimes(
+                Date.from(after.atZone(ZoneId.systemDefault()).toInstant()), count)) {
+            fireTimes.add(LocalDateTime.ofInstant(fireTime.toInstant(), ZoneId.systemDefault()));
+        }
+        return fireTimes;
+    }
+
+    public int getCronCacheSize() {
+        return crons.size();
+    }
+
+    public long getCronCacheHits() {
+        return crons.getHits();
+    }
+
+    public long getCronCacheMisses() {
+        return crons.getMisses();
+    }
+
+    public JobPage getJobs(String jobGroup, String cursor, int limit) {
+        List<JobSummary> jobs = new ArrayList<>(Math.min(limit, 1024) + 1);
+        forEachJob(jobGroup, cursor, limit + 1, jobs::add);
+
+        String nextCursor = null;
+        if (jobs.size() > limit) {
+            jobs.remove(jobs.size() - 1);
+            JobSummary last = jobs.get(jobs.size() - 1);
+            nextCursor = encodeCursor(new JobKey(last.getJobId(), last.getJobGroup()));
+        }
+        return new JobPage(jobs, nextCursor);
+    }
+
+    public void forEachJob(String jobGroup, String cursor, int limit, Consumer<JobSummary> action) {
+        JobKey after = cursor != null && !cursor.isEmpty() ? decodeCursor(cursor) : null;
+        JobKey groupStart = jobGroup != null ? new JobKey("", jobGroup) : null;
+
+        NavigableSet<JobKey> view;
+        if (groupStart != null && (after == null || after.compareTo(groupStart) < 0)) {
+            view = jobIndex.tailSet(groupStart, true);
+        } else if (after != null) {
+            view = jobIndex.tailSet(after, false);
+        } else {
+            view = jobIndex;
+        }
+
+        int count = 0;
+        for (JobKey jobKey : view) {
+            if (limit > 0 && count >= limit) {
+                break;
+            }
+            if (jobGroup != null && !jobGroup.equals(jobKey.getGroup())) {
+                break;
             }
-            return jobs;
+            JobSummary summary = summarize(jobKey);
+            if (summary != null) {
+                action.accept(summary);
+                count++;
+            }
+        }
+    }
+
+    private JobSummary summarize(JobKey jobKey) {
+        try {
+            Date nextFireTime = engineFor(jobKey).getNextFireTime(jobKey);
+            JobStatus status = statuses.get(jobKey);
+            return new JobSummary(
+                    jobKey.getName(),
+                    jobKey.getGroup(),
+                    nextFireTime != null ? LocalDateTime.ofInstant(nextFireTime.toInstant(), ZoneId.systemDefault()) : null,
+                    status != null ? status : JobStatus.SCHEDULED
+            );
         } catch (SchedulerException e) {
-            logger.error("Failed to get all jobs: {}", e.getMessage(), e);
-            return Collections.emptyList();
+            logger.error("Failed to read triggers of job {}: {}", jobKey, e.getMessage(), e);
+            return null;
         }
     }
 
-    private Trigger createTrigger(JobDetails jobDetails) {
-        TriggerBuilder<Trigger> triggerBuilder = TriggerBuilder.newTrigger()
-                .withIdentity(jobDetails.getJobId() + "_trigger", jobDetails.getJobGroup());
+    private static String encodeCursor(JobKey jobKey) {
+        String raw = jobKey.getGroup() + "\n" + jobKey.getName();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
 
-        if (jobDetails.getCronExpression() != null && !jobDetails.getCronExpression().trim().isEmpty()) {
-            return triggerBuilder.withSchedule(CronScheduleBuilder.cronSchedule(jobDetails.getCronExpression())).build();
-        } else if (jobDetails.getScheduleTime() != null) {
-            Date startTime = Date.from(jobDetails.getScheduleTime().atZone(ZoneId.systemDefault()).toInstant());
-            return triggerBuilder.startAt(startTime).build();
-        } else {
-            throw new IllegalArgumentException("Either schedule time or cron expression must be provided");
+    private static JobKey decodeCursor(String cursor) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        int separator = raw.indexOf('\n');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
         }
+        return new JobKey(raw.substring(separator + 1), raw.substring(0, separator));
     }
 
     public void shutdown() {
-        try {
-            if (scheduler != null && !scheduler.isShutdown()) {
-                scheduler.shutdown(true);
-                logger.info("Local scheduler service shutdown");
+        if (store != null) {
+            store.close(this::forEachStoredJob);
+        }
+        if (far != null) {
+            far.shutdown();
+        }
+        if (oneShots != quartz) {
+            oneShots.shutdown();
+        }
+        quartz.shutdown();
+        dispatcher.shutdown(30000);
+        if (store != null) {
+            store.closeLog();
+        }
+        if (payloads != null) {
+            payloads.close();
+        }
+        logger.info("Local scheduler service shutdown");
+    }
+
+    // A job that has another fire time after running goes back to SCHEDULED; otherwise its
+    // run was the last one and decides the terminal status. A skipped fire keeps its reason
+    // until the job's next status change.
+    private class JobStatusListener implements SchedulingEngine.Listener {
+        @Override
+        public void jobAdded(JobKey jobKey) {
+        }
+
+        @Override
+        public void jobRemoved(JobKey jobKey) {
+        }
+
+        @Override
+        public void jobExecuting(JobKey jobKey) {
+            statuses.set(jobKey, JobStatus.RUNNING);
+        }
+
+        @Override
+        public void jobExecuted(JobKey jobKey, Exception error) {
+            String skipReason = error instanceof JobSkippedException ? error.getMessage() : null;
+            try {
+                if (engineFor(jobKey).getNextFireTime(jobKey) != null) {
+                    statuses.set(jobKey, JobStatus.SCHEDULED, skipReason);
+                    return;
+                }
+            } catch (SchedulerException e) {
+                logger.warn("Could not read the next fire time of job {}: {}", jobKey, e.getMessage());
             }
-        } catch (SchedulerException e) {
-            logger.error("Error shutting down scheduler: {}", e.getMessage(), e);
+            if (skipReason != null) {
+                statuses.set(jobKey, JobStatus.SKIPPED, skipReason);
+            } else {
+                statuses.set(jobKey, error == null ? JobStatus.COMPLETED : JobStatus.FAILED);
+            }
+        }
+
+        @Override
+        public void jobSkipped(JobKey jobKey, String reason) {
+            statuses.set(jobKey, JobStatus.SCHEDULED, reason);
+        }
+    }
+
+    private class JobIndexListener implements SchedulingEngine.Listener {
+        @Override
+        public void jobAdded(JobKey jobKey) {
+            jobIndex.add(jobKey);
+        }
+
+        @Override
+        public void jobRemoved(JobKey jobKey) {
+            jobIndex.remove(jobKey);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,222 @@
+package com.scheduler.service;
+
+import org.quartz.JobKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// One byte[] record per job, kept outside the Java heap in memory-mapped segment files.
+// Records are appended to the current segment; replacing or removing one only marks its
+// bytes dead. A segment is deleted once it holds no live records, and compact() copies the
+// live records out of mostly dead segments. The files are scratch space and are cleared on
+// start; durability is the job store's concern.
+//
+// Frame: int frame length | key name | key group (int length + UTF-8 bytes) | payload
+public class MappedRecordStore implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(MappedRecordStore.class);
+    private static final String SEGMENT_PREFIX = "records-";
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final Map<JobKey, Long> addresses = new HashMap<>();
+    private final Map<Integer, Segment> segments = new HashMap<>();
+    private Segment current;
+    private int nextSegment;
+    private long liveBytes;
+
+    public MappedRecordStore(Path directory, int segmentBytes) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        Files.createDirectories(directory);
+        List<Path> stale;
+        try (Stream<Path> files = Files.list(directory)) {
+            stale = files.filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .collect(Collectors.toList());
+        }
+        for (Path path : stale) {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    public synchronized void put(JobKey jobKey, byte[] payload) throws IOException {
+        byte[] name = jobKey.getName().getBytes(StandardCharsets.UTF_8);
+        byte[] group = jobKey.getGroup().getBytes(StandardCharsets.UTF_8);
+        int frameLength = 12 + name.length + group.length + payload.length;
+        if (current == null || current.buffer.remaining() < frameLength) {
+            openSegment(frameLength);
+        }
+        MappedByteBuffer buffer = current.buffer;
+        long address = ((long) current.id << 32) | buffer.position();
+        buffer.putInt(frameLength);
+        buffer.putInt(name.length).put(name);
+        buffer.putInt(group.length).put(group);
+        buffer.put(payload);
+        current.liveBytes += frameLength;
+        liveBytes += frameLength;
+
+        Long previous = addresses.put(jobKey, address);
+        if (previous != null) {
+            release(previous);
+        }
+    }
+
+    // Stores the record only if the key has none yet.
+    public synchronized boolean putIfAbsent(JobKey jobKey, byte[] payload) throws IOException {
+        if (addresses.containsKey(jobKey)) {
+            return false;
+        }
+        put(jobKey, payload);
+        return true;
+    }
+
+    public synchronized byte[] get(JobKey jobKey) {
+        Long address = addresses.get(jobKey);
+        return address != null ? payload(address) : null;
+    }
+
+    public synchronized boolean remove(JobKey jobKey) {
+        Long address = addresses.remove(jobKey);
+        if (address == null) {
+            return false;
+        }
+        release(address);
+        return true;
+    }
+
+    public synchronized int size() {
+        return addresses.size();
+    }
+
+    public synchronized long getLiveBytes() {
+        return liveBytes;
+    }
+
+    public synchronized long getMappedBytes() {
+        long mapped = 0;
+        for (Segment segment : segments.values()) {
+            mapped += segment.buffer.capacity();
+        }
+        return mapped;
+    }
+
+    // Moves the live records of every full segment that is less than a quarter live into
+    // the current segment, then deletes it.
+    public synchronized void compact() throws IOException {
+        List<Segment> sparse = new ArrayList<>();
+        for (Segment segment : segments.values()) {
+            if (segment != current && segment.liveBytes < segment.buffer.position() / 4) {
+                sparse.add(segment);
+            }
+        }
+        int moved = 0;
+        for (Segment segment : sparse) {
+            ByteBuffer data = segment.buffer.duplicate();
+            data.flip();
+            while (data.remaining() > 0) {
+                int offset = data.position();
+                int frameLength = data.getInt();
+                JobKey jobKey = new JobKey(readString(data), readString(data));
+                data.position(offset + frameLength);
+                Long address = addresses.get(jobKey);
+                if (address != null && address == (((long) segment.id << 32) | offset)) {
+                    put(jobKey, payload(address));
+                    moved++;
+                }
+            }
+        }
+        if (!sparse.isEmpty()) {
+            logger.debug("Compacted {} record segments, moved {} records", sparse.size(), moved);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        for (Segment segment : new ArrayList<>(segments.values())) {
+            delete(segment);
+        }
+        addresses.clear();
+        current = null;
+    }
+
+    private byte[] payload(long address) {
+        ByteBuffer data = segments.get((int) (address >>> 32)).buffer.duplicate();
+        data.position((int) address);
+        int frameLength = data.getInt();
+        int nameLength = data.getInt();
+        data.position(data.position() + nameLength);
+        int groupLength = data.getInt();
+        int payloadLength = frameLength - 12 - nameLength - groupLength;
+        byte[] payload = new byte[payloadLength];
+        data.position(data.position() + groupLength);
+        data.get(payload);
+        return payload;
+    }
+
+    private void release(long address) {
+        Segment segment = segments.get((int) (address >>> 32));
+        int frameLength = segment.buffer.getInt((int) address);
+        segment.liveBytes -= frameLength;
+        liveBytes -= frameLength;
+        if (segment.liveBytes == 0 && segment != current) {
+            try {
+                delete(segment);
+            } catch (IOException e) {
+                logger.warn("Could not delete record segment {}: {}", segment.path, e.getMessage());
+            }
+        }
+    }
+
+    private void openSegment(int minimumBytes) throws IOException {
+        Segment previous = current;
+        Path path = directory.resolve(String.format("%s%010d", SEGMENT_PREFIX, nextSegment));
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            current = new Segment(nextSegment++, path,
+                    channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(segmentBytes, minimumBytes)));
+        }
+        segments.put(current.id, current);
+        if (previous != null && previous.liveBytes == 0) {
+            delete(previous);
+        }
+    }
+
+    // The mapping itself is released when the buffer is collected.
+    private void delete(Segment segment) throws IOException {
+        segments.remove(segment.id);
+        Files.deleteIfExists(segment.path);
+    }
+
+    private static String readString(ByteBuffer data) {
+        byte[] bytes = new byte[data.getInt()];
+        data.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static final class Segment {
+        private final int id;
+        private final Path path;
+        private final MappedByteBuffer buffer;
+        private long liveBytes;
+
+        private Segment(int id, Path path, MappedByteBuffer buffer) {
+            this.id = id;
+            this.path = path;
+            this.buffer = buffer;
+        }
+    }
+}
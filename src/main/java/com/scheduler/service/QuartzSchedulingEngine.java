@@ -0,0 +1,397 @@
+package com.scheduler.service;
+
+import com.scheduler.execution.JobDispatcher;
+import com.scheduler.model.JobDetails;
+import com.scheduler.model.JobExecutionJob;
+import com.scheduler.model.JobPriority;
+import com.scheduler.model.MisfirePolicy;
+import org.quartz.*;
+import org.quartz.impl.StdSchedulerFactory;
+import org.quartz.listeners.JobListenerSupport;
+import org.quartz.listeners.SchedulerListenerSupport;
+import org.quartz.listeners.TriggerListenerSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.text.ParseException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+public class QuartzSchedulingEngine implements SchedulingEngine {
+    private static final Logger logger = LoggerFactory.getLogger(QuartzSchedulingEngine.class);
+    private final Scheduler scheduler;
+    private final JobDispatcher dispatcher;
+    private final CronScheduleCache crons;
+    private final FireSpread spread;
+
+    // A separately named scheduler with its own in-memory store and thread pool. The threads
+    // only fire jobs; the work itself runs in the dispatcher. Up to batchSize triggers due on
+    // the same tick are acquired from the store in one pass and fired together, instead of
+    // one store round trip per trigger.
+    public QuartzSchedulingEngine(String name, int threadCount, int batchSize, JobDispatcher dispatcher,
+                                  CronScheduleCache crons, FireSpread spread) throws SchedulerException {
+        this.dispatcher = dispatcher;
+        this.crons = crons;
+        this.spread = spread;
+        this.scheduler = new StdSchedulerFactory(storeProperties(name, threadCount, batchSize,
+                dispatcher.getMisfireThresholdMillis())).getScheduler();
+        this.scheduler.getContext().put(JobDispatcher.CONTEXT_KEY, dispatcher);
+        this.scheduler.getListenerManager().addTriggerListener(new TriggerListenerSupport() {
+            @Override
+            public String getName() {
+                return "misfire-counter";
+            }
+
+            @Override
+            public void triggerMisfired(Trigger trigger) {
+                String reason = droppedMisfire(trigger);
+                if (reason != null) {
+                    dispatcher.misfired(trigger.getJobKey(), reason);
+                }
+            }
+        });
+        this.scheduler.start();
+    }
+
+    @Override
+    public String getName() {
+        return "quartz";
+    }
+
+    @Override
+    public boolean supports(JobDetails jobDetails) {
+        return true;
+    }
+
+    @Override
+    public boolean schedule(JobDetails jobDetails) throws SchedulerException {
+        JobDetail job = buildJob(jobDetails);
+        if (scheduler.checkExists(job.getKey())) {
+            return false;
+        }
+        scheduler.scheduleJob(job, createTrigger(jobDetails));
+        return true;
+    }
+
+    // Builds every job first so invalid ones are reported individually, then registers the
+    // rest in one store call. The store call is all-or-nothing and throws on any conflict.
+    @Override
+    public List<String> scheduleAll(List<JobDetails> jobs) throws SchedulerException {
+        List<String> errors = new ArrayList<>(Collections.nCopies(jobs.size(), null));
+        Map<JobDetail, Set<? extends Trigger>> batch = new LinkedHashMap<>();
+        for (int i = 0; i < jobs.size(); i++) {
+            JobDetails jobDetails = jobs.get(i);
+            try {
+                batch.put(buildJob(jobDetails), Collections.singleton(createTrigger(jobDetails)));
+            } catch (Exception e) {
+                logger.warn("Rejected job {} from batch: {}", jobDetails.getJobId(), e.getMessage());
+                errors.set(i, "Invalid job: " + e.getMessage());
+            }
+        }
+        if (!batch.isEmpty()) {
+            scheduler.scheduleJobs(batch, false);
+        }
+        return errors;
+    }
+
+    @Override
+    public boolean contains(JobKey jobKey) throws SchedulerException {
+        return scheduler.checkExists(jobKey);
+    }
+
+    @Override
+    public boolean cancel(JobKey jobKey) throws SchedulerException {
+        return scheduler.deleteJob(jobKey);
+    }
+
+    @Override
+    public Map<JobKey, Boolean> cancelAll(Collection<JobKey> jobKeys) throws SchedulerException {
+        List<JobKey> keys = new ArrayList<>(jobKeys);
+        scheduler.deleteJobs(keys);
+        Map<JobKey, Boolean> results = new LinkedHashMap<>();
+        for (JobKey jobKey : keys) {
+            results.put(jobKey, !scheduler.checkExists(jobKey));
+        }
+        return results;
+    }
+
+    @Override
+    public boolean reschedule(JobKey jobKey, LocalDateTime newScheduleTime, String newCronExpression)
+            throws SchedulerException {
+        List<? extends Trigger> triggers = scheduler.getTriggersOfJob(jobKey);
+        if (triggers.isEmpty()) {
+            logger.warn("No triggers found for job {}", jobKey.getName());
+            return false;
+        }
+
+        Trigger current = triggers.get(0);
+        if ((newCronExpression == null || newCronExpression.trim().isEmpty()) && newScheduleTime == null) {
+            logger.error("Neither schedule time nor cron expression provided for rescheduling");
+            return false;
+        }
+
+        scheduler.rescheduleJob(current.getKey(), buildTrigger(current.getKey(), jobKey, newScheduleTime,
+                newCronExpression, JobPriority.fromTriggerPriority(current.getPriority()), maxLatenessOf(current),
+                misfirePolicyOf(current)));
+        return true;
+    }
+
+    // Cron triggers are defined by wall-clock fields and cannot be shifted. rescheduleJob stores
+    // the replacement trigger as NORMAL, so a paused job is paused again afterwards.
+    @Override
+    public boolean shift(JobKey jobKey, long shiftMillis) throws SchedulerException {
+        List<? extends Trigger> triggers = scheduler.getTriggersOfJob(jobKey);
+        if (triggers.isEmpty()) {
+            return false;
+        }
+        for (Trigger trigger : triggers) {
+            if (trigger instanceof CronTrigger) {
+                return false;
+            }
+        }
+        boolean paused = isPaused(jobKey);
+        for (Trigger trigger : triggers) {
+            Date base = trigger.getNextFireTime() != null ? trigger.getNextFireTime() : trigger.getStartTime();
+            Trigger shifted = trigger.getTriggerBuilder()
+                    .startAt(new Date(base.getTime() + shiftMillis))
+                    .build();
+            scheduler.rescheduleJob(trigger.getKey(), shifted);
+        }
+        if (paused) {
+            scheduler.pauseJob(jobKey);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean pause(JobKey jobKey) throws SchedulerException {
+        scheduler.pauseJob(jobKey);
+        return true;
+    }
+
+    @Override
+    public boolean resume(JobKey jobKey) throws SchedulerException {
+        scheduler.resumeJob(jobKey);
+        return true;
+    }
+
+    @Override
+    public Date getNextFireTime(JobKey jobKey) throws SchedulerException {
+        Date nextFireTime = null;
+        for (Trigger trigger : scheduler.getTriggersOfJob(jobKey)) {
+            Date candidate = trigger.getNextFireTime();
+            if (candidate != null && (nextFireTime == null || candidate.before(nextFireTime))) {
+                nextFireTime = candidate;
+            }
+        }
+        return nextFireTime;
+    }
+
+    @Override
+    public boolean isPaused(JobKey jobKey) throws SchedulerException {
+        for (Trigger trigger : scheduler.getTriggersOfJob(jobKey)) {
+            if (scheduler.getTriggerState(trigger.getKey()) == Trigger.TriggerState.PAUSED) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public JobDetails getJobDetails(JobKey jobKey) throws SchedulerException {
+        JobDetail jobDetail = scheduler.getJobDetail(jobKey);
+        if (jobDetail == null) {
+            return null;
+        }
+        String cronExpression = null;
+        Date nextFireTime = null;
+        JobPriority priority = null;
+        Long maxLatenessMs = null;
+        MisfirePolicy misfirePolicy = null;
+        for (Trigger trigger : scheduler.getTriggersOfJob(jobKey)) {
+            if (trigger instanceof CronTrigger) {
+                cronExpression = ((CronTrigger) trigger).getCronExpression();
+            }
+            priority = JobPriority.fromTriggerPriority(trigger.getPriority());
+            maxLatenessMs = maxLatenessOf(trigger);
+            misfirePolicy = misfirePolicyOf(trigger);
+            Date candidate = trigger.getNextFireTime() != null ? trigger.getNextFireTime() : trigger.getStartTime();
+            if (nextFireTime == null || candidate.before(nextFireTime)) {
+                nextFireTime = candidate;
+            }
+        }
+        LocalDateTime scheduleTime = cronExpression == null && nextFireTime != null
+                ? LocalDateTime.ofInstant(nextFireTime.toInstant(), ZoneId.systemDefault()) : null;
+        return new JobDetails(jobKey.getName(), null, jobKey.getGroup(), scheduleTime, cronExpression,
+                new HashMap<>(jobDetail.getJobDataMap().getWrappedMap()), jobDetail.getDescription(), false,
+                priority, maxLatenessMs, misfirePolicy);
+    }
+
+    @Override
+    public void addListener(Listener listener) {
+        try {
+            scheduler.getListenerManager().addSchedulerListener(new SchedulerListenerSupport() {
+                @Override
+                public void jobAdded(JobDetail jobDetail) {
+                    listener.jobAdded(jobDetail.getKey());
+                }
+
+                @Override
+                public void jobDeleted(JobKey jobKey) {
+                    listener.jobRemoved(jobKey);
+                }
+            });
+            scheduler.getListenerManager().addJobListener(new JobListenerSupport() {
+                @Override
+                public String getName() {
+                    return "engine-listener-" + System.identityHashCode(listener);
+                }
+
+                @Override
+                public void jobToBeExecuted(JobExecutionContext context) {
+                    listener.jobExecuting(context.getJobDetail().getKey());
+                }
+
+                // Jobs return while their dispatch is still running; completion is reported
+                // from the dispatch future they leave as result.
+                @Override
+                public void jobWasExecuted(JobExecutionContext context, JobExecutionException jobException) {
+                    JobKey jobKey = context.getJobDetail().getKey();
+                    if (jobException == null && context.getResult() instanceof CompletableFuture) {
+                        ((CompletableFuture<?>) context.getResult()).whenComplete((ignored, error) ->
+                                listener.jobExecuted(jobKey, JobDispatcher.toException(error)));
+                    } else {
+                        listener.jobExecuted(jobKey, jobException);
+                    }
+                }
+            });
+            scheduler.getListenerManager().addTriggerListener(new TriggerListenerSupport() {
+                @Override
+                public String getName() {
+                    return "engine-trigger-listener-" + System.identityHashCode(listener);
+                }
+
+                @Override
+                public void triggerMisfired(Trigger trigger) {
+                    String reason = droppedMisfire(trigger);
+                    if (reason != null) {
+                        listener.jobSkipped(trigger.getJobKey(), reason);
+                    }
+                }
+            });
+        } catch (SchedulerException e) {
+            throw new IllegalStateException("Failed to register scheduler listener", e);
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        try {
+            if (!scheduler.isShutdown()) {
+                scheduler.shutdown(true);
+            }
+        } catch (SchedulerException e) {
+            logger.error("Error shutting down Quartz scheduler: {}", e.getMessage(), e);
+        }
+    }
+
+    private static Properties storeProperties(String name, int threadCount, int batchSize, long misfireThresholdMillis) {
+        Properties properties = new Properties();
+        properties.setProperty(StdSchedulerFactory.PROP_SCHED_INSTANCE_NAME, name);
+        properties.setProperty(StdSchedulerFactory.PROP_JOB_STORE_CLASS, "org.quartz.simpl.RAMJobStore");
+        properties.setProperty("org.quartz.jobStore.misfireThreshold", String.valueOf(misfireThresholdMillis));
+        properties.setProperty(StdSchedulerFactory.PROP_THREAD_POOL_CLASS, "org.quartz.simpl.SimpleThreadPool");
+        properties.setProperty("org.quartz.threadPool.threadCount", String.valueOf(Math.max(1, threadCount)));
+        properties.setProperty("org.quartz.threadPool.threadsInheritContextClassLoaderOfInitializingThread", "true");
+        properties.setProperty("org.quartz.scheduler.batchTriggerAcquisitionMaxCount", String.valueOf(Math.max(1, batchSize)));
+        return properties;
+    }
+
+    private static JobDetail buildJob(JobDetails jobDetails) {
+        JobDetail job = JobBuilder.newJob(JobExecutionJob.class)
+                .withIdentity(jobDetails.getJobId(), jobDetails.getJobGroup())
+                .withDescription(jobDetails.getDescription())
+                .build();
+
+        if (jobDetails.getJobData() != null) {
+            job.getJobDataMap().putAll(jobDetails.getJobData());
+        }
+        return job;
+    }
+
+    private Trigger createTrigger(JobDetails jobDetails) {
+        return buildTrigger(new TriggerKey(jobDetails.getJobId() + "_trigger", jobDetails.getJobGroup()),
+                new JobKey(jobDetails.getJobId(), jobDetails.getJobGroup()), jobDetails.getScheduleTime(),
+                jobDetails.getCronExpression(), jobDetails.getPriority(), jobDetails.getMaxLatenessMs(),
+                jobDetails.getMisfirePolicy());
+    }
+
+    // The priority class orders triggers due at the same time. The job's misfire policy, or
+    // its class's, picks the cron misfire handling; fire-all-missed has Quartz fire every
+    // missed time. One-shot triggers always fire when missed: the dispatcher skips those whose
+    // policy drops misfires, so the skip is recorded like any other.
+    private Trigger buildTrigger(TriggerKey triggerKey, JobKey jobKey, LocalDateTime scheduleTime, String cronExpression,
+                                 JobPriority priority, Long maxLatenessMs, MisfirePolicy misfirePolicy) {
+        TriggerBuilder<Trigger> triggerBuilder = TriggerBuilder.newTrigger()
+                .withIdentity(triggerKey)
+                .withPriority(priority.getTriggerPriority());
+        if (maxLatenessMs != null) {
+            triggerBuilder.usingJobData(JobExecutionJob.MAX_LATENESS_KEY, maxLatenessMs);
+        }
+        if (misfirePolicy != null) {
+            triggerBuilder.usingJobData(JobExecutionJob.MISFIRE_POLICY_KEY, misfirePolicy.name());
+        }
+
+        if (cronExpression != null && !cronExpression.trim().isEmpty()) {
+            int misfireInstruction;
+            switch (misfirePolicy != null ? misfirePolicy : dispatcher.getMisfirePolicy(priority)) {
+                case SKIP_TO_NEXT:
+                    misfireInstruction = CronTrigger.MISFIRE_INSTRUCTION_DO_NOTHING;
+                    break;
+                case FIRE_ALL_MISSED:
+                    misfireInstruction = Trigger.MISFIRE_INSTRUCTION_IGNORE_MISFIRE_POLICY;
+                    break;
+                default:
+                    misfireInstruction = CronTrigger.MISFIRE_INSTRUCTION_FIRE_ONCE_NOW;
+            }
+            return triggerBuilder.withSchedule(cronSchedule(cronExpression, jobKey, misfireInstruction)).build();
+        } else if (scheduleTime != null) {
+            Date startTime = Date.from(scheduleTime.atZone(ZoneId.systemDefault()).toInstant());
+            return triggerBuilder.startAt(startTime)
+                    .withSchedule(SimpleScheduleBuilder.simpleSchedule().withMisfireHandlingInstructionFireNow())
+                    .build();
+        } else {
+            throw new IllegalArgumentException("Either schedule time or cron expression must be provided");
+        }
+    }
+
+    private static Long maxLatenessOf(Trigger trigger) {
+        Object value = trigger.getJobDataMap().get(JobExecutionJob.MAX_LATENESS_KEY);
+        return value instanceof Number ? ((Number) value).longValue() : null;
+    }
+
+    private static MisfirePolicy misfirePolicyOf(Trigger trigger) {
+        Object value = trigger.getJobDataMap().get(JobExecutionJob.MISFIRE_POLICY_KEY);
+        return value != null ? MisfirePolicy.parse(value.toString()) : null;
+    }
+
+    // The reason for a missed cron fire Quartz drops instead of firing, or null if it fires.
+    private static String droppedMisfire(Trigger trigger) {
+        if (trigger.getMisfireInstruction() != CronTrigger.MISFIRE_INSTRUCTION_DO_NOTHING
+                || trigger.getNextFireTime() == null) {
+            return null;
+        }
+        return "missed its fire time by " + (System.currentTimeMillis() - trigger.getNextFireTime().getTime()) + " ms";
+    }
+
+    // Triggers of the same expression share one compiled schedule, also inside the job store.
+    private ScheduleBuilder<CronTrigger> cronSchedule(String cronExpression, JobKey jobKey, int misfireInstruction) {
+        try {
+            return SharedCronTrigger.schedule(crons.get(cronExpression), spread.offsetMillis(jobKey), misfireInstruction);
+        } catch (ParseException e) {
+            throw new IllegalArgumentException("CronExpression '" + cronExpression + "' is invalid: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.scheduler.service;
+
+import com.scheduler.model.JobDetails;
+import org.quartz.JobKey;
+import org.quartz.SchedulerException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Stores and fires the jobs of one LocalSchedulerService. Every method addresses jobs by key;
+// keys the engine does not hold are reported as not found rather than thrown.
+public interface SchedulingEngine {
+
+    // jobExecuting comes from the thread firing the job, jobExecuted from whichever thread
+    // completes its dispatch, so a one-shot job is usually removed before jobExecuted.
+    interface Listener {
+        void jobAdded(JobKey jobKey);
+
+        void jobRemoved(JobKey jobKey);
+
+        default void jobExecuting(JobKey jobKey) {
+        }
+
+        // error is null if the job completed normally, and a JobSkippedException if the fire
+        // was deliberately not run.
+        default void jobExecuted(JobKey jobKey, Exception error) {
+        }
+
+        // A fire the engine dropped without dispatching it, such as a missed cron fire.
+        default void jobSkipped(JobKey jobKey, String reason) {
+        }
+    }
+
+    String getName();
+
+    boolean supports(JobDetails jobDetails);
+
+    boolean schedule(JobDetails jobDetails) throws SchedulerException;
+
+    // Returns one entry per job: null when it was scheduled, otherwise the reason it was not.
+    default List<String> scheduleAll(List<JobDetails> jobs) throws SchedulerException {
+        List<String> errors = new ArrayList<>(jobs.size());
+        for (JobDetails jobDetails : jobs) {
+            errors.add(schedule(jobDetails) ? null : "Job already exists");
+        }
+        return errors;
+    }
+
+    boolean contains(JobKey jobKey) throws SchedulerException;
+
+    boolean cancel(JobKey jobKey) throws SchedulerException;
+
+    default Map<JobKey, Boolean> cancelAll(Collection<JobKey> jobKeys) throws SchedulerException {
+        Map<JobKey, Boolean> results = new LinkedHashMap<>();
+        for (JobKey jobKey : jobKeys) {
+            results.put(jobKey, cancel(jobKey));
+        }
+        return results;
+    }
+
+    boolean reschedule(JobKey jobKey, LocalDateTime newScheduleTime, String newCronExpression) throws SchedulerException;
+
+    boolean shift(JobKey jobKey, long shiftMillis) throws SchedulerException;
+
+    boolean pause(JobKey jobKey) throws SchedulerException;
+
+    boolean resume(JobKey jobKey) throws SchedulerException;
+
+    Date getNextFireTime(JobKey jobKey) throws SchedulerException;
+
+    boolean isPaused(JobKey jobKey) throws SchedulerException;
+
+    // The job as currently scheduled: its cron expression, or its next fire time as scheduleTime.
+    // Null if the engine does not hold the job.
+    JobDetails getJobDetails(JobKey jobKey) throws SchedulerException;
+
+    void addListener(Listener listener);
+
+    void shutdown();
+}
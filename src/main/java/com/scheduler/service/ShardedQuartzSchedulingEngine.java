@@ -0,0 +1,216 @@
+package com.scheduler.service;
+
+import com.scheduler.execution.JobDispatcher;
+import com.scheduler.model.JobDetails;
+import org.quartz.JobKey;
+import org.quartz.SchedulerException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Spreads jobs over independent Quartz schedulers by hash of JobKey. Each shard has its own
+// RAMJobStore and thread pool, so operations on different shards never contend on one store lock.
+public class ShardedQuartzSchedulingEngine implements SchedulingEngine {
+    private static final Logger logger = LoggerFactory.getLogger(ShardedQuartzSchedulingEngine.class);
+    private final QuartzSchedulingEngine[] shards;
+
+    public ShardedQuartzSchedulingEngine(int shardCount, int threadsPerShard, int batchSize, JobDispatcher dispatcher,
+                                         CronScheduleCache crons, FireSpread spread) throws SchedulerException {
+        this.shards = new QuartzSchedulingEngine[shardCount];
+        try {
+            for (int i = 0; i < shardCount; i++) {
+                shards[i] = new QuartzSchedulingEngine("QuartzShard-" + i, threadsPerShard, batchSize,
+                        dispatcher, crons, spread);
+            }
+        } catch (SchedulerException e) {
+            shutdown();
+            throw e;
+        }
+        logger.info("Started {} Quartz shards with {} threads each", shardCount, threadsPerShard);
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    @Override
+    public String getName() {
+        return "quartz";
+    }
+
+    @Override
+    public boolean supports(JobDetails jobDetails) {
+        return true;
+    }
+
+    @Override
+    public boolean schedule(JobDetails jobDetails) throws SchedulerException {
+        return shardOf(jobDetails).schedule(jobDetails);
+    }
+
+    // Each shard registers its part in one store call. A shard whose call fails falls back to
+    // one job at a time so the other shards' jobs are not reported as failed.
+    @Override
+    public List<String> scheduleAll(List<JobDetails> jobs) throws SchedulerException {
+        List<List<Integer>> positions = new ArrayList<>(shards.length);
+        for (int i = 0; i < shards.length; i++) {
+            positions.add(new ArrayList<>());
+        }
+        for (int i = 0; i < jobs.size(); i++) {
+            positions.get(shardIndex(keyOf(jobs.get(i)))).add(i);
+        }
+
+        String[] errors = new String[jobs.size()];
+        for (int shard = 0; shard < shards.length; shard++) {
+            List<Integer> shardPositions = positions.get(shard);
+            if (shardPositions.isEmpty()) {
+                continue;
+            }
+            List<JobDetails> shardJobs = new ArrayList<>(shardPositions.size());
+            for (int position : shardPositions) {
+                shardJobs.add(jobs.get(position));
+            }
+            try {
+                List<String> shardErrors = shards[shard].scheduleAll(shardJobs);
+                for (int k = 0; k < shardPositions.size(); k++) {
+                    errors[shardPositions.get(k)] = shardErrors.get(k);
+                }
+            } catch (SchedulerException e) {
+                logger.warn("Batch schedule on shard {} failed, retrying {} jobs individually: {}",
+                        shard, shardJobs.size(), e.getMessage());
+                for (int k = 0; k < shardPositions.size(); k++) {
+                    errors[shardPositions.get(k)] = scheduleOne(shards[shard], shardJobs.get(k));
+                }
+            }
+        }
+        return Arrays.asList(errors);
+    }
+
+    private static String scheduleOne(QuartzSchedulingEngine shard, JobDetails jobDetails) {
+        try {
+            return shard.schedule(jobDetails) ? null : "Job already exists";
+        } catch (SchedulerException e) {
+            return "Failed to schedule job";
+        } catch (Exception e) {
+            return "Invalid job: " + e.getMessage();
+        }
+    }
+
+    @Override
+    public boolean contains(JobKey jobKey) throws SchedulerException {
+        return shardOf(jobKey).contains(jobKey);
+    }
+
+    @Override
+    public boolean cancel(JobKey jobKey) throws SchedulerException {
+        return shardOf(jobKey).cancel(jobKey);
+    }
+
+    @Override
+    public Map<JobKey, Boolean> cancelAll(Collection<JobKey> jobKeys) throws SchedulerException {
+        List<List<JobKey>> byShard = new ArrayList<>(shards.length);
+        for (int i = 0; i < shards.length; i++) {
+            byShard.add(new ArrayList<>());
+        }
+        for (JobKey jobKey : jobKeys) {
+            byShard.get(shardIndex(jobKey)).add(jobKey);
+        }
+
+        Map<JobKey, Boolean> results = new LinkedHashMap<>();
+        for (int shard = 0; shard < shards.length; shard++) {
+            if (!byShard.get(shard).isEmpty()) {
+                results.putAll(shards[shard].cancelAll(byShard.get(shard)));
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public boolean reschedule(JobKey jobKey, LocalDateTime newScheduleTime, String newCronExpression)
+            throws SchedulerException {
+        return shardOf(jobKey).reschedule(jobKey, newScheduleTime, newCronExpression);
+    }
+
+    @Override
+    public boolean shift(JobKey jobKey, long shiftMillis) throws SchedulerException {
+        return shardOf(jobKey).shift(jobKey, shiftMillis);
+    }
+
+    @Override
+    public boolean pause(JobKey jobKey) throws SchedulerException {
+        return shardOf(jobKey).pause(jobKey);
+    }
+
+    @Override
+    public boolean resume(JobKey jobKey) throws SchedulerException {
+        return shardOf(jobKey).resume(jobKey);
+    }
+
+    @Override
+    public Date getNextFireTime(JobKey jobKey) throws SchedulerException {
+        return shardOf(jobKey).getNextFireTime(jobKey);
+    }
+
+    @Override
+    public boolean isPaused(JobKey jobKey) throws SchedulerException {
+        return shardOf(jobKey).isPaused(jobKey);
+    }
+
+    @Override
+    public JobDetails getJobDetails(JobKey jobKey) throws SchedulerException {
+        return shardOf(jobKey).getJobDetails(jobKey);
+    }
+
+    @Override
+    public void addListener(Listener listener) {
+        for (QuartzSchedulingEngine shard : shards) {
+            shard.addListener(listener);
+        }
+    }
+
+    // Shards are stopped in parallel since each one waits for its running jobs.
+    @Override
+    public void shutdown() {
+        List<Thread> stoppers = new ArrayList<>();
+        for (QuartzSchedulingEngine shard : shards) {
+            if (shard != null) {
+                Thread stopper = new Thread(shard::shutdown);
+                stopper.start();
+                stoppers.add(stopper);
+            }
+        }
+        for (Thread stopper : stoppers) {
+            try {
+                stopper.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private QuartzSchedulingEngine shardOf(JobDetails jobDetails) {
+        return shards[shardIndex(keyOf(jobDetails))];
+    }
+
+    private QuartzSchedulingEngine shardOf(JobKey jobKey) {
+        return shards[shardIndex(jobKey)];
+    }
+
+    private int shardIndex(JobKey jobKey) {
+        int hash = jobKey.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), shards.length);
+    }
+
+    private static JobKey keyOf(JobDetails jobDetails) {
+        return new JobKey(jobDetails.getJobId(), jobDetails.getJobGroup());
+    }
+}
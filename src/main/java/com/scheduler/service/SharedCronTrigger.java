@@ -0,0 +1,126 @@
+package com.scheduler.service;
+
+import org.quartz.Calendar;
+import org.quartz.CronTrigger;
+import org.quartz.ScheduleBuilder;
+import org.quartz.impl.triggers.CronTriggerImpl;
+import org.quartz.spi.MutableTrigger;
+
+import java.text.ParseException;
+import java.util.Date;
+import java.util.TimeZone;
+
+// Cron trigger that computes its fire times from a shared CronSchedule. Quartz's own cron
+// trigger keeps a private CronExpression and parses it again whenever the trigger is cloned,
+// which RAMJobStore does on every store and read, leaving each job with its own copy of the
+// parsed field sets. This one keeps the parent's expression unset, so clones are shallow and
+// every job with the same expression shares one compiled schedule.
+//
+// A non-zero offset fires the job that much later than the expression says (see FireSpread).
+// A fire that replaces missed ones remembers the earliest of them (see getMissedFireTime).
+public class SharedCronTrigger extends CronTriggerImpl {
+    private static final long serialVersionUID = 1L;
+
+    private CronSchedule schedule;
+    private final long offsetMillis;
+    private Date missedFireTime;
+    private Date firedMissedFireTime;
+
+    private SharedCronTrigger(CronSchedule schedule, long offsetMillis) {
+        this.schedule = schedule;
+        this.offsetMillis = offsetMillis;
+        super.setTimeZone(TimeZone.getDefault());
+    }
+
+    public static ScheduleBuilder<CronTrigger> schedule(CronSchedule schedule, long offsetMillis, int misfireInstruction) {
+        return new ScheduleBuilder<CronTrigger>() {
+            @Override
+            protected MutableTrigger build() {
+                SharedCronTrigger trigger = new SharedCronTrigger(schedule, offsetMillis);
+                trigger.setMisfireInstruction(misfireInstruction);
+                return trigger;
+            }
+        };
+    }
+
+    public long getOffsetMillis() {
+        return offsetMillis;
+    }
+
+    // The time of the missed fire that the fire just triggered stands in for, or null if it
+    // was on time. Quartz reports such a fire as scheduled for the moment it recovered it.
+    public Date getMissedFireTime() {
+        return firedMissedFireTime;
+    }
+
+    @Override
+    public void updateAfterMisfire(Calendar calendar) {
+        Date missed = getNextFireTime();
+        int instruction = getMisfireInstruction();
+        if (missedFireTime == null && (instruction == MISFIRE_INSTRUCTION_FIRE_ONCE_NOW
+                || instruction == MISFIRE_INSTRUCTION_SMART_POLICY)) {
+            missedFireTime = missed;
+        }
+        super.updateAfterMisfire(calendar);
+    }
+
+    @Override
+    public void triggered(Calendar calendar) {
+        super.triggered(calendar);
+        firedMissedFireTime = missedFireTime;
+        missedFireTime = null;
+    }
+
+    @Override
+    public String getCronExpression() {
+        return schedule.getCronExpression();
+    }
+
+    @Override
+    public void setCronExpression(String cronExpression) throws ParseException {
+        this.schedule = CronSchedule.compile(cronExpression);
+    }
+
+    @Override
+    public void setCronExpression(org.quartz.CronExpression cronExpression) {
+        try {
+            setCronExpression(cronExpression.getCronExpression());
+        } catch (ParseException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    // Schedules are evaluated in the default zone they were compiled in.
+    @Override
+    public void setTimeZone(TimeZone timeZone) {
+        if (!TimeZone.getDefault().hasSameRules(timeZone)) {
+            throw new IllegalArgumentException("Shared cron triggers only run in the default time zone");
+        }
+        super.setTimeZone(timeZone);
+    }
+
+    @Override
+    public String getExpressionSummary() {
+        return schedule.getExpression().getExpressionSummary();
+    }
+
+    @Override
+    public Date getFinalFireTime() {
+        return null;
+    }
+
+    @Override
+    protected Date getTimeAfter(Date afterTime) {
+        if (offsetMillis == 0) {
+            return schedule.nextFireTimeAfter(afterTime);
+        }
+        Date next = schedule.nextFireTimeAfter(new Date(afterTime.getTime() - offsetMillis));
+        return next != null ? new Date(next.getTime() + offsetMillis) : null;
+    }
+
+    // Quartz does not implement this for cron expressions either.
+    @Override
+    protected Date getTimeBefore(Date eTime) {
+        return null;
+    }
+}
@@ -0,0 +1,371 @@
+package com.scheduler.service;
+
+import com.scheduler.model.JobDetails;
+import org.quartz.JobKey;
+import org.quartz.SchedulerException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Far tier for one-shot jobs due beyond the horizon. Parked jobs are encoded into a
+// MappedRecordStore, so the heap only holds their key, fire time and pause flag; a loader
+// thread promotes them into the near engine shortly before they are due. Jobs are never
+// fired from here.
+//
+// Operations on a key that is no longer parked are passed to the near engine, so a caller
+// that raced with a promotion still reaches the job. Promotion notifies no listeners: the
+// job is announced once when parked and removed by whichever tier holds it at the end. A job
+// the near engine refuses stays parked and is retried on the next pass; after
+// MAX_PROMOTION_ATTEMPTS it is dropped and reported as removed.
+public class TieredSchedulingEngine implements SchedulingEngine {
+    private static final Logger logger = LoggerFactory.getLogger(TieredSchedulingEngine.class);
+    private static final int MAX_PROMOTIONS_PER_PASS = 10_000;
+    private static final int MAX_PROMOTION_ATTEMPTS = 5;
+
+    private final SchedulingEngine near;
+    private final long horizonMillis;
+    private final long promoteAheadMillis;
+    private final MappedRecordStore records;
+    private final Map<JobKey, Parked> parked = new HashMap<>();
+    private final NavigableSet<Parked> byFireTime = new TreeSet<>(
+            Comparator.comparingLong((Parked p) -> p.fireTime).thenComparing(p -> p.jobKey));
+    private final List<Parked> retries = new ArrayList<>();
+    private final List<JobKey> dropped = new ArrayList<>();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService loader;
+
+    public TieredSchedulingEngine(SchedulingEngine near, long horizonMillis, long promoteAheadMillis,
+                                  long loadIntervalMillis, Path directory, int segmentBytes) throws IOException {
+        this.near = near;
+        this.horizonMillis = horizonMillis;
+        this.promoteAheadMillis = Math.min(promoteAheadMillis, horizonMillis);
+        this.records = new MappedRecordStore(directory, segmentBytes);
+        this.loader = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "tier-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.loader.scheduleWithFixedDelay(this::load, loadIntervalMillis, loadIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public String getName() {
+        return "tiered";
+    }
+
+    // Only one-shot jobs due after the horizon are parked; everything else goes straight to
+    // the near engine.
+    @Override
+    public boolean supports(JobDetails jobDetails) {
+        return (jobDetails.getCronExpression() == null || jobDetails.getCronExpression().trim().isEmpty())
+                && jobDetails.getScheduleTime() != null
+                && isBeyondHorizon(jobDetails.getScheduleTime());
+    }
+
+    public boolean isBeyondHorizon(LocalDateTime scheduleTime) {
+        return toMillis(scheduleTime) > System.currentTimeMillis() + horizonMillis;
+    }
+
+    @Override
+    public boolean schedule(JobDetails jobDetails) throws SchedulerException {
+        JobKey jobKey = new JobKey(jobDetails.getJobId(), jobDetails.getJobGroup());
+        synchronized (this) {
+            if (parked.containsKey(jobKey) || near.contains(jobKey)) {
+                return false;
+            }
+            park(jobKey, jobDetails, false);
+        }
+        for (Listener listener : listeners) {
+            listener.jobAdded(jobKey);
+        }
+        return true;
+    }
+
+    @Override
+    public synchronized boolean contains(JobKey jobKey) {
+        return parked.containsKey(jobKey);
+    }
+
+    @Override
+    public boolean cancel(JobKey jobKey) throws SchedulerException {
+        synchronized (this) {
+            Parked entry = parked.remove(jobKey);
+            if (entry == null) {
+                return near.cancel(jobKey);
+            }
+            byFireTime.remove(entry);
+            records.remove(jobKey);
+        }
+        for (Listener listener : listeners) {
+            listener.jobRemoved(jobKey);
+        }
+        return true;
+    }
+
+    // A new time inside the horizon promotes the job at once. Cron schedules belong to Quartz
+    // and are moved there by the caller.
+    @Override
+    public synchronized boolean reschedule(JobKey jobKey, LocalDateTime newScheduleTime, String newCronExpression)
+            throws SchedulerException {
+        Parked entry = parked.get(jobKey);
+        if (entry == null) {
+            return near.reschedule(jobKey, newScheduleTime, newCronExpression);
+        }
+        if (newScheduleTime == null || (newCronExpression != null && !newCronExpression.trim().isEmpty())) {
+            return false;
+        }
+        return moveTo(entry, toMillis(newScheduleTime));
+    }
+
+    @Override
+    public synchronized boolean shift(JobKey jobKey, long shiftMillis) throws SchedulerException {
+        Parked entry = parked.get(jobKey);
+        if (entry == null) {
+            return near.shift(jobKey, shiftMillis);
+        }
+        return moveTo(entry, entry.fireTime + shiftMillis);
+    }
+
+    @Override
+    public synchronized boolean pause(JobKey jobKey) throws SchedulerException {
+        Parked entry = parked.get(jobKey);
+        if (entry == null) {
+            return near.pause(jobKey);
+        }
+        setPaused(entry, true);
+        return true;
+    }
+
+    @Override
+    public synchronized boolean resume(JobKey jobKey) throws SchedulerException {
+        Parked entry = parked.get(jobKey);
+        if (entry == null) {
+            return near.resume(jobKey);
+        }
+        setPaused(entry, false);
+        return true;
+    }
+
+    @Override
+    public synchronized Date getNextFireTime(JobKey jobKey) throws SchedulerException {
+        Parked entry = parked.get(jobKey);
+        return entry != null ? new Date(entry.fireTime) : near.getNextFireTime(jobKey);
+    }
+
+    @Override
+    public synchronized boolean isPaused(JobKey jobKey) throws SchedulerException {
+        Parked entry = parked.get(jobKey);
+        return entry != null ? entry.paused : near.isPaused(jobKey);
+    }
+
+    @Override
+    public synchronized JobDetails getJobDetails(JobKey jobKey) throws SchedulerException {
+        return parked.containsKey(jobKey) ? decode(records.get(jobKey)) : near.getJobDetails(jobKey);
+    }
+
+    @Override
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public synchronized int getParkedCount() {
+        return parked.size();
+    }
+
+    public long getParkedBytes() {
+        return records.getLiveBytes();
+    }
+
+    // Stops the loader; the near engine is shut down by its owner.
+    @Override
+    public void shutdown() {
+        loader.shutdownNow();
+        try {
+            loader.awaitTermination(10, TimeUnit.SECONDS);
+            synchronized (this) {
+                logger.info("Far tier stopped with {} parked jobs", parked.size());
+                records.close();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            logger.warn("Could not delete far tier files: {}", e.getMessage());
+        }
+    }
+
+    // Promotes in bounded batches so request threads are not locked out for long.
+    private void load() {
+        try {
+            int promoted;
+            do {
+                promoted = promoteDue(System.currentTimeMillis() + promoteAheadMillis);
+            } while (promoted == MAX_PROMOTIONS_PER_PASS);
+            synchronized (this) {
+                records.compact();
+            }
+        } catch (Exception e) {
+            logger.error("Far tier load failed: {}", e.getMessage(), e);
+        }
+        List<JobKey> removed;
+        synchronized (this) {
+            // Refused jobs wait for the next pass instead of spinning in this one.
+            for (Parked entry : retries) {
+                if (parked.get(entry.jobKey) == entry) {
+                    byFireTime.add(entry);
+                }
+            }
+            retries.clear();
+            removed = new ArrayList<>(dropped);
+            dropped.clear();
+        }
+        for (JobKey jobKey : removed) {
+            for (Listener listener : listeners) {
+                listener.jobRemoved(jobKey);
+            }
+        }
+    }
+
+    private synchronized int promoteDue(long until) throws SchedulerException {
+        List<Parked> due = new ArrayList<>();
+        while (due.size() < MAX_PROMOTIONS_PER_PASS && !byFireTime.isEmpty() && byFireTime.first().fireTime <= until) {
+            due.add(byFireTime.pollFirst());
+        }
+        if (due.isEmpty()) {
+            return 0;
+        }
+        List<JobDetails> jobs = new ArrayList<>(due.size());
+        for (Parked entry : due) {
+            jobs.add(decode(records.get(entry.jobKey)));
+        }
+        List<String> errors;
+        try {
+            errors = near.scheduleAll(jobs);
+        } catch (SchedulerException e) {
+            errors = new ArrayList<>(jobs.size());
+            for (JobDetails jobDetails : jobs) {
+                try {
+                    errors.add(near.schedule(jobDetails) ? null : "Job already exists");
+                } catch (SchedulerException | RuntimeException scheduleError) {
+                    errors.add(scheduleError.getMessage());
+                }
+            }
+        }
+        for (int i = 0; i < due.size(); i++) {
+            Parked entry = due.get(i);
+            if (errors.get(i) == null) {
+                parked.remove(entry.jobKey);
+                records.remove(entry.jobKey);
+                if (entry.paused) {
+                    near.pause(entry.jobKey);
+                }
+            } else if (entry.attempts + 1 < MAX_PROMOTION_ATTEMPTS) {
+                logger.warn("Could not promote job {}, will retry: {}", entry.jobKey, errors.get(i));
+                Parked retry = new Parked(entry.jobKey, entry.fireTime, entry.paused, entry.attempts + 1);
+                parked.put(entry.jobKey, retry);
+                retries.add(retry);
+            } else {
+                logger.error("Dropping job {} after {} failed promotions: {}", entry.jobKey,
+                        MAX_PROMOTION_ATTEMPTS, errors.get(i));
+                parked.remove(entry.jobKey);
+                records.remove(entry.jobKey);
+                // A key the near engine already holds still names a live job there.
+                if (!near.contains(entry.jobKey)) {
+                    dropped.add(entry.jobKey);
+                }
+            }
+        }
+        logger.debug("Promoted {} jobs to the {} engine", due.size(), near.getName());
+        return due.size();
+    }
+
+    // The job stays parked unless the near engine has accepted it.
+    private boolean moveTo(Parked entry, long fireTime) throws SchedulerException {
+        JobDetails current = decode(records.get(entry.jobKey));
+        JobDetails moved = new JobDetails(current.getJobId(), current.getJobName(), current.getJobGroup(),
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(fireTime), ZoneId.systemDefault()),
+                null, current.getJobData(), current.getDescription(), current.isRecurring(),
+                current.getPriority(), current.getMaxLatenessMs(), current.getMisfirePolicy());
+        if (fireTime > System.currentTimeMillis() + promoteAheadMillis) {
+            park(entry.jobKey, moved, entry.paused);
+            return true;
+        }
+        if (!near.schedule(moved)) {
+            logger.warn("Could not promote job {}; it stays parked", entry.jobKey);
+            return false;
+        }
+        parked.remove(entry.jobKey);
+        byFireTime.remove(entry);
+        records.remove(entry.jobKey);
+        if (entry.paused) {
+            near.pause(entry.jobKey);
+        }
+        return true;
+    }
+
+    private void setPaused(Parked entry, boolean paused) {
+        if (entry.paused != paused) {
+            Parked updated = new Parked(entry.jobKey, entry.fireTime, paused, entry.attempts);
+            byFireTime.remove(entry);
+            byFireTime.add(updated);
+            parked.put(entry.jobKey, updated);
+        }
+    }
+
+    private void park(JobKey jobKey, JobDetails jobDetails, boolean paused) throws SchedulerException {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            JobRecordCodec.writeJob(new DataOutputStream(bytes), jobDetails);
+            records.put(jobKey, bytes.toByteArray());
+        } catch (IOException e) {
+            throw new SchedulerException("Could not park job " + jobKey, e);
+        }
+        Parked entry = new Parked(jobKey, toMillis(jobDetails.getScheduleTime()), paused, 0);
+        Parked previous = parked.put(jobKey, entry);
+        if (previous != null) {
+            byFireTime.remove(previous);
+        }
+        byFireTime.add(entry);
+    }
+
+    private static JobDetails decode(byte[] record) {
+        return JobRecordCodec.readJob(ByteBuffer.wrap(record));
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static final class Parked {
+        private final JobKey jobKey;
+        private final long fireTime;
+        private final boolean paused;
+        private final int attempts;
+
+        private Parked(JobKey jobKey, long fireTime, boolean paused, int attempts) {
+            this.jobKey = jobKey;
+            this.fireTime = fireTime;
+            this.paused = paused;
+            this.attempts = attempts;
+        }
+    }
+}
@@ -0,0 +1,395 @@
+package com.scheduler.service;
+
+import com.scheduler.execution.JobDispatcher;
+import com.scheduler.model.JobDetails;
+import org.quartz.JobKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.UnaryOperator;
+
+// Hierarchical timing wheel for one-shot jobs. Level 0 has one slot per tick and every higher
+// level has slots as wide as a full turn of the level below; a job sits on the lowest level whose
+// current turn contains its fire tick and is cascaded down as the wheel reaches its slot.
+// Request threads only touch the job map and a change queue, so insert and cancel are O(1);
+// the wheel itself is owned by a single worker thread. Cron jobs are not supported.
+public class TimingWheelSchedulingEngine implements SchedulingEngine {
+    private static final Logger logger = LoggerFactory.getLogger(TimingWheelSchedulingEngine.class);
+    private static final int SLOT_BITS = 8;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 6;
+    private static final int MAX_CHANGES_PER_TICK = 100_000;
+    private static final Comparator<Entry> BY_PRIORITY = Comparator.comparingInt(e -> e.details.getPriority().ordinal());
+
+    private final long tickMillis;
+    private final JobDispatcher dispatcher;
+    private final Map<JobKey, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry> changes = new ConcurrentLinkedQueue<>();
+    private final Slot[][] wheel = new Slot[LEVELS][SLOTS];
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final ExecutorService firePool;
+    private final Thread worker;
+    private volatile boolean running = true;
+    private long currentTick;
+
+    public TimingWheelSchedulingEngine(long tickMillis, int fireThreads, JobDispatcher dispatcher) {
+        this.tickMillis = Math.max(1, tickMillis);
+        this.dispatcher = dispatcher;
+        for (Slot[] level : wheel) {
+            for (int i = 0; i < SLOTS; i++) {
+                level[i] = new Slot();
+            }
+        }
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.firePool = Executors.newFixedThreadPool(Math.max(1, fireThreads), r -> {
+            Thread thread = new Thread(r, "timing-wheel-fire-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.currentTick = System.currentTimeMillis() / this.tickMillis;
+        this.worker = new Thread(this::run, "timing-wheel");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    @Override
+    public String getName() {
+        return "wheel";
+    }
+
+    @Override
+    public boolean supports(JobDetails jobDetails) {
+        return (jobDetails.getCronExpression() == null || jobDetails.getCronExpression().trim().isEmpty())
+                && jobDetails.getScheduleTime() != null;
+    }
+
+    @Override
+    public boolean schedule(JobDetails jobDetails) {
+        JobKey jobKey = new JobKey(jobDetails.getJobId(), jobDetails.getJobGroup());
+        Entry entry = new Entry(jobKey, jobDetails, toMillis(jobDetails.getScheduleTime()), false);
+        if (entries.putIfAbsent(jobKey, entry) != null) {
+            return false;
+        }
+        for (Listener listener : listeners) {
+            listener.jobAdded(jobKey);
+        }
+        changes.add(entry);
+        return true;
+    }
+
+    @Override
+    public boolean contains(JobKey jobKey) {
+        return entries.containsKey(jobKey);
+    }
+
+    @Override
+    public boolean cancel(JobKey jobKey) {
+        Entry entry = entries.remove(jobKey);
+        if (entry == null) {
+            return false;
+        }
+        unschedule(entry);
+        for (Listener listener : listeners) {
+            listener.jobRemoved(jobKey);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean reschedule(JobKey jobKey, LocalDateTime newScheduleTime, String newCronExpression) {
+        if (newScheduleTime == null || (newCronExpression != null && !newCronExpression.trim().isEmpty())) {
+            return false;
+        }
+        long fireTime = toMillis(newScheduleTime);
+        return replace(jobKey, old -> new Entry(jobKey, old.details, fireTime, old.paused));
+    }
+
+    @Override
+    public boolean shift(JobKey jobKey, long shiftMillis) {
+        return replace(jobKey, old -> new Entry(jobKey, old.details, old.fireTime + shiftMillis, old.paused));
+    }
+
+    // A paused job leaves the wheel but keeps its fire time; resuming a job whose time has
+    // passed fires it on the next tick.
+    @Override
+    public boolean pause(JobKey jobKey) {
+        return replace(jobKey, old -> old.paused ? old : new Entry(jobKey, old.details, old.fireTime, true));
+    }
+
+    @Override
+    public boolean resume(JobKey jobKey) {
+        return replace(jobKey, old -> old.paused ? new Entry(jobKey, old.details, old.fireTime, false) : old);
+    }
+
+    @Override
+    public Date getNextFireTime(JobKey jobKey) {
+        Entry entry = entries.get(jobKey);
+        return entry != null ? new Date(entry.fireTime) : null;
+    }
+
+    @Override
+    public boolean isPaused(JobKey jobKey) {
+        Entry entry = entries.get(jobKey);
+        return entry != null && entry.paused;
+    }
+
+    @Override
+    public JobDetails getJobDetails(JobKey jobKey) {
+        Entry entry = entries.get(jobKey);
+        if (entry == null) {
+            return null;
+        }
+        JobDetails details = entry.details;
+        if (toMillis(details.getScheduleTime()) == entry.fireTime) {
+            return details;
+        }
+        return new JobDetails(details.getJobId(), details.getJobName(), details.getJobGroup(),
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(entry.fireTime), ZoneId.systemDefault()),
+                null, details.getJobData(), details.getDescription(), details.isRecurring(),
+                details.getPriority(), details.getMaxLatenessMs(), details.getMisfirePolicy());
+    }
+
+    @Override
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void shutdown() {
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(5000);
+            firePool.shutdown();
+            if (!firePool.awaitTermination(30, TimeUnit.SECONDS)) {
+                firePool.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            firePool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        logger.info("Timing wheel stopped with {} pending jobs", entries.size());
+    }
+
+    private boolean replace(JobKey jobKey, UnaryOperator<Entry> update) {
+        Entry[] swapped = new Entry[2];
+        entries.computeIfPresent(jobKey, (key, old) -> {
+            Entry updated = update.apply(old);
+            if (updated != old) {
+                swapped[0] = old;
+                swapped[1] = updated;
+            }
+            return updated;
+        });
+        if (swapped[0] != null) {
+            unschedule(swapped[0]);
+            if (!swapped[1].paused) {
+                changes.add(swapped[1]);
+            }
+            return true;
+        }
+        return entries.containsKey(jobKey);
+    }
+
+    private void unschedule(Entry entry) {
+        entry.cancelled = true;
+        if (!entry.paused) {
+            changes.add(entry);
+        }
+    }
+
+    private void run() {
+        while (running) {
+            applyChanges();
+            long nowTick = System.currentTimeMillis() / tickMillis;
+            while (currentTick < nowTick && running) {
+                currentTick++;
+                cascade();
+                expire(wheel[0][(int) (currentTick & SLOT_MASK)]);
+            }
+            if (changes.isEmpty()) {
+                long sleepMillis = (currentTick + 1) * tickMillis - System.currentTimeMillis();
+                if (sleepMillis > 0) {
+                    LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(sleepMillis));
+                }
+            }
+        }
+    }
+
+    // Cancelled entries are unlinked here; new ones are placed, or fired if already due.
+    private void applyChanges() {
+        for (int i = 0; i < MAX_CHANGES_PER_TICK; i++) {
+            Entry entry = changes.poll();
+            if (entry == null) {
+                return;
+            }
+            if (entry.cancelled) {
+                if (entry.slot != null) {
+                    entry.slot.remove(entry);
+                }
+            } else if (entry.slot == null) {
+                place(entry);
+            }
+        }
+    }
+
+    private void place(Entry entry) {
+        long fireTick = (entry.fireTime + tickMillis - 1) / tickMillis;
+        if (fireTick <= currentTick) {
+            fire(entry);
+            return;
+        }
+        int level = 0;
+        while (level < LEVELS && (fireTick >>> (SLOT_BITS * (level + 1))) != (currentTick >>> (SLOT_BITS * (level + 1)))) {
+            level++;
+        }
+        if (level == LEVELS) {
+            // Beyond the top level's current turn: park on the top slot visited last and place
+            // again when it is cascaded.
+            long topDigit = currentTick >>> (SLOT_BITS * (LEVELS - 1));
+            wheel[LEVELS - 1][(int) ((topDigit - 1) & SLOT_MASK)].add(entry);
+            return;
+        }
+        wheel[level][(int) ((fireTick >>> (SLOT_BITS * level)) & SLOT_MASK)].add(entry);
+    }
+
+    // When the lower digits of the tick roll over to zero, the matching slots of the higher
+    // levels are redistributed, highest first so entries can fall through several levels.
+    private void cascade() {
+        int level = 0;
+        while (level < LEVELS - 1 && ((currentTick >>> (SLOT_BITS * level)) & SLOT_MASK) == 0) {
+            level++;
+        }
+        for (; level > 0; level--) {
+            Slot slot = wheel[level][(int) ((currentTick >>> (SLOT_BITS * level)) & SLOT_MASK)];
+            Entry entry = slot.clear();
+            while (entry != null) {
+                Entry next = entry.next;
+                entry.next = null;
+                entry.prev = null;
+                entry.slot = null;
+                if (!entry.cancelled) {
+                    place(entry);
+                }
+                entry = next;
+            }
+        }
+    }
+
+    // Jobs due on the same tick are handed to the fire pool by priority class, highest first.
+    private void expire(Slot slot) {
+        Entry entry = slot.clear();
+        List<Entry> due = new ArrayList<>();
+        while (entry != null) {
+            Entry next = entry.next;
+            entry.next = null;
+            entry.prev = null;
+            entry.slot = null;
+            if (!entry.cancelled) {
+                due.add(entry);
+            }
+            entry = next;
+        }
+        due.sort(BY_PRIORITY);
+        for (Entry dueEntry : due) {
+            fire(dueEntry);
+        }
+    }
+
+    // The job leaves the engine once its handler has started it, as in Quartz; jobExecuted
+    // follows when the dispatch completes.
+    private void fire(Entry entry) {
+        if (!entries.remove(entry.jobKey, entry)) {
+            return;
+        }
+        firePool.execute(() -> {
+            for (Listener listener : listeners) {
+                listener.jobExecuting(entry.jobKey);
+            }
+            dispatcher.dispatch(entry.jobKey, new Date(entry.fireTime), entry.details.getPriority(),
+                    entry.details.getMaxLatenessMs(), entry.details.getMisfirePolicy(), entry.details.getJobData())
+                    .whenComplete((ignored, error) -> {
+                        Exception exception = JobDispatcher.toException(error);
+                        for (Listener listener : listeners) {
+                            listener.jobExecuted(entry.jobKey, exception);
+                        }
+                    });
+            for (Listener listener : listeners) {
+                listener.jobRemoved(entry.jobKey);
+            }
+        });
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static final class Entry {
+        private final JobKey jobKey;
+        private final JobDetails details;
+        private final long fireTime;
+        private final boolean paused;
+        private volatile boolean cancelled;
+        private Slot slot;
+        private Entry next;
+        private Entry prev;
+
+        private Entry(JobKey jobKey, JobDetails details, long fireTime, boolean paused) {
+            this.jobKey = jobKey;
+            this.details = details;
+            this.fireTime = fireTime;
+            this.paused = paused;
+        }
+    }
+
+    private static final class Slot {
+        private Entry head;
+
+        void add(Entry entry) {
+            entry.slot = this;
+            entry.next = head;
+            if (head != null) {
+                head.prev = entry;
+            }
+            head = entry;
+        }
+
+        void remove(Entry entry) {
+            if (entry.prev != null) {
+                entry.prev.next = entry.next;
+            } else {
+                head = entry.next;
+            }
+            if (entry.next != null) {
+                entry.next.prev = entry.prev;
+            }
+            entry.next = null;
+            entry.prev = null;
+            entry.slot = null;
+        }
+
+        Entry clear() {
+            Entry first = head;
+            head = null;
+            return first;
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.scheduler.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+// Append-only log of length- and CRC-framed records in memory-mapped segment files
+// (wal-<seq>.log). Appends only copy into the mapping; a flusher thread forces everything
+// appended since its last pass in one call, so concurrent writers share each disk sync.
+// A zero length or a CRC mismatch marks the end of the valid data in a segment.
+public class WriteAheadLog implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(WriteAheadLog.class);
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int FRAME_HEADER = 8;
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final boolean fsync;
+    private final Object flushMonitor = new Object();
+    private final Thread flusher;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private long segment;
+    private long appended;
+    private volatile long durable;
+    private volatile boolean closed;
+
+    // Always starts a fresh segment after the existing ones, which are only read by replay.
+    public WriteAheadLog(Path directory, int segmentBytes, boolean fsync) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.fsync = fsync;
+        List<Long> existing = segments(directory);
+        openSegment(existing.isEmpty() ? 0 : existing.get(existing.size() - 1) + 1, segmentBytes);
+        if (fsync) {
+            this.flusher = new Thread(this::flushLoop, "wal-flusher");
+            this.flusher.setDaemon(true);
+            this.flusher.start();
+        } else {
+            this.flusher = null;
+        }
+    }
+
+    // Returns a ticket to pass to awaitDurable.
+    public synchronized long append(byte[] payload) throws IOException {
+        if (closed) {
+            throw new IOException("Log is closed");
+        }
+        int frameLength = FRAME_HEADER + payload.length;
+        if (buffer.remaining() < frameLength) {
+            rollTo(segment + 1, frameLength);
+        }
+        writeFrame(buffer, payload);
+        appended += frameLength;
+        notifyAll();
+        return appended;
+    }
+
+    public void awaitDurable(long ticket) {
+        if (!fsync) {
+            return;
+        }
+        synchronized (flushMonitor) {
+            while (durable < ticket && !closed) {
+                try {
+                    flushMonitor.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    public synchronized long getAppended() {
+        return appended;
+    }
+
+    // Starts a new segment; every record appended afterwards lands in it or a later one.
+    public synchronized long roll() throws IOException {
+        rollTo(segment + 1, segmentBytes);
+        return segment;
+    }
+
+    public void deleteSegmentsBefore(long firstKept) throws IOException {
+        for (long existing : segments(directory)) {
+            if (existing < firstKept) {
+                Files.deleteIfExists(segmentPath(directory, existing));
+            }
+        }
+    }
+
+    // Hands every valid record of segments >= fromSegment to the consumer, in log order.
+    public static int replay(Path directory, long fromSegment, Consumer<ByteBuffer> consumer) throws IOException {
+        int records = 0;
+        for (long existing : segments(directory)) {
+            if (existing < fromSegment) {
+                continue;
+            }
+            records += readFrames(mapReadOnly(segmentPath(directory, existing)), consumer);
+        }
+        return records;
+    }
+
+    static ByteBuffer mapReadOnly(Path path) throws IOException {
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+            return file.map(FileChannel.MapMode.READ_ONLY, 0, file.size());
+        }
+    }
+
+    static int readFrames(ByteBuffer data, Consumer<ByteBuffer> consumer) {
+        int records = 0;
+        while (data.remaining() >= FRAME_HEADER) {
+            int length = data.getInt();
+            int checksum = data.getInt();
+            if (length <= 0 || length > data.remaining()) {
+                break;
+            }
+            ByteBuffer payload = data.slice(data.position(), length);
+            CRC32C crc = new CRC32C();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != checksum) {
+                logger.warn("Log record failed its checksum; ignoring the rest of the segment");
+                break;
+            }
+            data.position(data.position() + length);
+            consumer.accept(payload);
+            records++;
+        }
+        return records;
+    }
+
+    static void writeFrame(ByteBuffer target, byte[] payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        target.putInt(payload.length);
+        target.putInt((int) crc.getValue());
+        target.put(payload);
+    }
+
+    @Override
+    public void close() throws IOException {
+        long total;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            buffer.force();
+            channel.close();
+            total = appended;
+            notifyAll();
+        }
+        synchronized (flushMonitor) {
+            durable = total;
+            flushMonitor.notifyAll();
+        }
+    }
+
+    private void flushLoop() {
+        long forced = 0;
+        while (true) {
+            long target;
+            MappedByteBuffer toForce;
+            synchronized (this) {
+                while (appended == forced && !closed) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        // Re-check the state.
+                    }
+                }
+                if (closed) {
+                    return;
+                }
+                target = appended;
+                toForce = buffer;
+            }
+            toForce.force();
+            forced = target;
+            synchronized (flushMonitor) {
+                durable = target;
+                flushMonitor.notifyAll();
+            }
+        }
+    }
+
+    // The previous segment is forced before it is left, so durability never depends on a
+    // mapping the flusher no longer sees.
+    private void rollTo(long nextSegment, int minimumBytes) throws IOException {
+        if (buffer != null) {
+            buffer.force();
+            channel.close();
+        }
+        openSegment(nextSegment, Math.max(segmentBytes, minimumBytes));
+    }
+
+    private void openSegment(long sequence, int size) throws IOException {
+        Files.createDirectories(directory);
+        this.segment = sequence;
+        this.channel = FileChannel.open(segmentPath(directory, sequence),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        logger.debug("Opened log segment {}", sequence);
+    }
+
+    private static Path segmentPath(Path directory, long sequence) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX));
+    }
+
+    private static List<Long> segments(Path directory) throws IOException {
+        List<Long> sequences = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return sequences;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .forEach(sequences::add);
+        }
+        return sequences;
+    }
+}
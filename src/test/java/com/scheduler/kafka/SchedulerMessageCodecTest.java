@@ -0,0 +1,159 @@
+package com.scheduler.kafka;
+
+import com.scheduler.model.BulkOperation;
+import com.scheduler.model.BulkResult;
+import com.scheduler.model.JobDetails;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SchedulerMessageCodecTest {
+    private static final String[] FORMATS = {SchedulerMessageCodec.FORMAT_JSON, SchedulerMessageCodec.FORMAT_BINARY};
+    private static final int WARMUP_ROUNDS = 20_000;
+    private static final int MEASURED_ROUNDS = 100_000;
+
+    @Test
+    void reschedulesRoundTripInBothFormats() {
+        SchedulerMessage message = SchedulerMessage.rescheduleJob("job-1", "tenant-a", "MicroService1",
+                "MicroService2", LocalDateTime.of(2026, 3, 29, 2, 30, 15, 123_456_789), null);
+        for (String format : FORMATS) {
+            SchedulerMessage decoded = roundTrip(message, format);
+            assertCommonFields(message, decoded);
+            assertEquals(message.getNewScheduleTime(), decoded.getNewScheduleTime(), format);
+            assertEquals(message.getNewCronExpression(), decoded.getNewCronExpression(), format);
+        }
+    }
+
+    @Test
+    void responsesKeepTheirFlagsAndError() {
+        SchedulerMessage message = SchedulerMessage.response("not-a-uuid",
+                SchedulerMessage.MessageType.CANCEL_RESPONSE, "MicroService2", false, true, "Job not found");
+        for (String format : FORMATS) {
+            SchedulerMessage decoded = roundTrip(message, format);
+            assertCommonFields(message, decoded);
+            assertEquals(message.isSuccess(), decoded.isSuccess(), format);
+            assertEquals(message.isJobFound(), decoded.isJobFound(), format);
+            assertEquals(message.getErrorMessage(), decoded.getErrorMessage(), format);
+        }
+    }
+
+    @Test
+    void batchesRoundTripInBothFormats() {
+        SchedulerMessage message = SchedulerMessage.batchResponse("5b0d8f0e-7f0a-4b7e-9a51-0d3f4c1a2b3c",
+                SchedulerMessage.MessageType.CANCEL_BATCH_RESPONSE, "MicroService1", true,
+                List.of(BatchEntry.outcome("job-1", "tenant-a", true, null),
+                        BatchEntry.outcome("job-2", "tenant-a", false, "Failed to cancel job")), null);
+        for (String format : FORMATS) {
+            SchedulerMessage decoded = roundTrip(message, format);
+            assertCommonFields(message, decoded);
+            assertEquals(2, decoded.getEntries().size(), format);
+            for (int i = 0; i < 2; i++) {
+                BatchEntry expected = message.getEntries().get(i);
+                BatchEntry actual = decoded.getEntries().get(i);
+                assertEquals(expected.getJobId(), actual.getJobId(), format);
+                assertEquals(expected.getJobGroup(), actual.getJobGroup(), format);
+                assertEquals(expected.isSuccess(), actual.isSuccess(), format);
+                assertEquals(expected.getErrorMessage(), actual.getErrorMessage(), format);
+            }
+        }
+    }
+
+    @Test
+    void createBatchesCarryTheirJobs() {
+        SchedulerMessage message = SchedulerMessage.createBatch(List.of(job("job-1"), job("job-2")),
+                "MicroService1", "MicroService2");
+        for (String format : FORMATS) {
+            SchedulerMessage decoded = roundTrip(message, format);
+            assertCommonFields(message, decoded);
+            assertEquals(2, decoded.getJobs().size(), format);
+            assertEquals("job-2", decoded.getJobs().get(1).getJobId(), format);
+            assertEquals(message.getJobs().get(0).getScheduleTime(), decoded.getJobs().get(0).getScheduleTime(), format);
+            assertEquals(Map.of("tenant", "acme"), decoded.getJobs().get(0).getJobData(), format);
+        }
+    }
+
+    @Test
+    void bulkMessagesRoundTripInBothFormats() {
+        SchedulerMessage operation = SchedulerMessage.bulkOperation(
+                new BulkOperation(BulkOperation.Action.SHIFT, null, "tenant-", "tenant", "acme", 3600), "MicroService1");
+        SchedulerMessage result = SchedulerMessage.bulkResponse(operation.getMessageId(), "MicroService2",
+                new BulkResult("MicroService2", 1, 1800, 1790, 10, true), null);
+        for (String format : FORMATS) {
+            SchedulerMessage decodedOperation = roundTrip(operation, format);
+            assertCommonFields(operation, decodedOperation);
+            assertEquals(3600, decodedOperation.getBulkOperation().getShiftSeconds(), format);
+            assertEquals("tenant-", decodedOperation.getBulkOperation().getGroupPrefix(), format);
+
+            SchedulerMessage decodedResult = roundTrip(result, format);
+            assertCommonFields(result, decodedResult);
+            assertEquals(1790, decodedResult.getBulkResult().getSucceeded(), format);
+            assertTrue(decodedResult.getBulkResult().isComplete(), format);
+        }
+    }
+
+    // Not a pass/fail benchmark: it records size and round-trip cost of both formats so a
+    // change to the codec can be compared against the numbers in the commit history.
+    @Test
+    void comparesBinaryWithJson() {
+        Map<String, SchedulerMessage> samples = Map.of(
+                "reschedule", SchedulerMessage.rescheduleJob("job-42", "tenant-a", "MicroService1", "MicroService2",
+                        LocalDateTime.of(2026, 10, 16, 12, 0), null),
+                "cancel", SchedulerMessage.cancelJob("job-42", "tenant-a", "MicroService1", null),
+                "response", SchedulerMessage.response("5b0d8f0e-7f0a-4b7e-9a51-0d3f4c1a2b3c",
+                        SchedulerMessage.MessageType.RESCHEDULE_RESPONSE, "MicroService2", true, true, null));
+
+        samples.forEach((name, message) -> {
+            int jsonBytes = SchedulerMessageCodec.encode(message, SchedulerMessageCodec.FORMAT_JSON).length;
+            int binaryBytes = SchedulerMessageCodec.encode(message, SchedulerMessageCodec.FORMAT_BINARY).length;
+            assertTrue(binaryBytes < jsonBytes, name + ": binary " + binaryBytes + " B, JSON " + jsonBytes + " B");
+
+            double jsonNanos = nanosPerRoundTrip(message, SchedulerMessageCodec.FORMAT_JSON);
+            double binaryNanos = nanosPerRoundTrip(message, SchedulerMessageCodec.FORMAT_BINARY);
+            System.out.printf("%-10s json %4d B %8.0f ns/op | binary %4d B %8.0f ns/op%n",
+                    name, jsonBytes, jsonNanos, binaryBytes, binaryNanos);
+        });
+    }
+
+    private static double nanosPerRoundTrip(SchedulerMessage message, String format) {
+        Function<SchedulerMessage, SchedulerMessage> roundTrip = m -> roundTrip(m, format);
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink += roundTrip.apply(message).getTimestamp();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            sink += roundTrip.apply(message).getTimestamp();
+        }
+        double nanos = (double) (System.nanoTime() - start) / MEASURED_ROUNDS;
+        assertEquals(message.getTimestamp() * (WARMUP_ROUNDS + MEASURED_ROUNDS), sink);
+        return nanos;
+    }
+
+    private static SchedulerMessage roundTrip(SchedulerMessage message, String format) {
+        SchedulerMessage decoded = SchedulerMessageCodec.decode(SchedulerMessageCodec.encode(message, format));
+        assertNotNull(decoded, format);
+        return decoded;
+    }
+
+    private static void assertCommonFields(SchedulerMessage expected, SchedulerMessage actual) {
+        assertEquals(expected.getMessageId(), actual.getMessageId());
+        assertEquals(expected.getType(), actual.getType());
+        assertEquals(expected.getJobId(), actual.getJobId());
+        assertEquals(expected.getJobGroup(), actual.getJobGroup());
+        assertEquals(expected.getInstanceId(), actual.getInstanceId());
+        assertEquals(expected.getTargetInstanceId(), actual.getTargetInstanceId());
+        assertEquals(expected.getTimestamp(), actual.getTimestamp());
+    }
+
+    private static JobDetails job(String jobId) {
+        return new JobDetails(jobId, "Report " + jobId, "tenant-a", LocalDateTime.of(2026, 12, 1, 8, 0),
+                null, Map.of("tenant", "acme"), "nightly report", false, null, null, null);
+    }
+}
@@ -0,0 +1,198 @@
+package com.scheduler.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.quartz.CronExpression;
+
+import java.text.ParseException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// CronSchedule must agree with Quartz's CronExpression on every fire time; Quartz is the
+// reference because triggers built from either must fire at the same instants.
+class CronScheduleTest {
+    private static final long SEED = 20261016L;
+    private static final int EXPRESSIONS_PER_ZONE = 400;
+    private static final int FIRES_PER_EXPRESSION = 25;
+    // Zones with DST gaps and overlaps at different hours, including a 30-minute shift.
+    private static final List<String> ZONES = List.of("UTC", "America/New_York", "Europe/London",
+            "Australia/Lord_Howe", "Asia/Kolkata");
+    private static final String[] MONTHS = {"JAN", "FEB", "MAR", "APR", "MAY", "JUN", "JUL", "AUG", "SEP",
+            "OCT", "NOV", "DEC"};
+    private static final String[] WEEKDAYS = {"SUN", "MON", "TUE", "WED", "THU", "FRI", "SAT"};
+    private static final int WARMUP_ROUNDS = 20_000;
+    private static final int MEASURED_ROUNDS = 100_000;
+
+    private TimeZone defaultZone;
+
+    @BeforeEach
+    void saveDefaultZone() {
+        defaultZone = TimeZone.getDefault();
+    }
+
+    @AfterEach
+    void restoreDefaultZone() {
+        TimeZone.setDefault(defaultZone);
+    }
+
+    @Test
+    void matchesQuartzOnRandomExpressions() throws ParseException {
+        Random random = new Random(SEED);
+        for (String zone : ZONES) {
+            TimeZone.setDefault(TimeZone.getTimeZone(zone));
+            for (int i = 0; i < EXPRESSIONS_PER_ZONE; i++) {
+                String cron = randomExpression(random);
+                Date start = new Date(randomInstant(random));
+                assertSameFireTimes(cron, start, FIRES_PER_EXPRESSION, zone);
+            }
+        }
+    }
+
+    @Test
+    void matchesQuartzAcrossDaylightSavingChanges() throws ParseException {
+        String[] expressions = {"0 0/15 * * * ?", "0 30 1 * * ?", "0 30 2 * * ?", "0 0 1-3 ? * SUN",
+                "*/20 59 1 * * ?", "0 0 0 * * ?"};
+        for (String zone : ZONES) {
+            TimeZone.setDefault(TimeZone.getTimeZone(zone));
+            ZoneId zoneId = ZoneId.of(zone);
+            // A few days before the spring and autumn changes in both hemispheres.
+            LocalDateTime[] starts = {LocalDateTime.of(2026, 3, 6, 0, 0), LocalDateTime.of(2026, 3, 26, 0, 0),
+                    LocalDateTime.of(2026, 4, 1, 0, 0), LocalDateTime.of(2026, 9, 30, 0, 0),
+                    LocalDateTime.of(2026, 10, 22, 0, 0), LocalDateTime.of(2026, 10, 30, 0, 0)};
+            for (String cron : expressions) {
+                for (LocalDateTime start : starts) {
+                    assertSameFireTimes(cron, Date.from(start.atZone(zoneId).toInstant()), 400, zone);
+                }
+            }
+        }
+    }
+
+    @Test
+    void matchesQuartzForQuartzOnlyFeatures() throws ParseException {
+        Date start = new Date(1_790_000_000_000L);
+        for (String cron : new String[]{"0 0 12 L * ?", "0 0 12 15W * ?", "0 0 12 ? * 6#3", "0 0 12 ? * 2L"}) {
+            assertSameFireTimes(cron, start, 50, "default");
+        }
+    }
+
+    @Test
+    void stopsAfterTheLastYear() throws ParseException {
+        assertSameFireTimes("0 0 12 1 JAN ? 2027-2028", new Date(1_790_000_000_000L), 5, "default");
+    }
+
+    // Not a pass/fail benchmark: it records the cost of a next-fire lookup against Quartz so a
+    // change to the evaluator can be compared against the numbers in the commit history.
+    @Test
+    void comparesNextFireTimeWithQuartz() throws ParseException {
+        TimeZone.setDefault(TimeZone.getTimeZone("America/New_York"));
+        Date after = new Date(1_790_000_000_000L);
+        for (String cron : new String[]{"0 0/15 * * * ?", "0 15 10 ? * MON-FRI", "0 0 0 1 * ?", "0 0 12 ? * 6#3"}) {
+            CronSchedule schedule = CronSchedule.compile(cron);
+            CronExpression expression = quartz(cron);
+            double quartzNanos = nanosPerLookup(() -> expression.getNextValidTimeAfter(after));
+            double scheduleNanos = nanosPerLookup(() -> schedule.nextFireTimeAfter(after));
+            System.out.printf("%-22s quartz %8.0f ns/op | schedule %8.0f ns/op%n", cron, quartzNanos, scheduleNanos);
+        }
+    }
+
+    private static void assertSameFireTimes(String cron, Date start, int count, String zone) throws ParseException {
+        CronSchedule schedule = CronSchedule.compile(cron);
+        CronExpression expression = quartz(cron);
+        Date expected = start;
+        for (int i = 0; i < count && expected != null; i++) {
+            Date after = expected;
+            expected = expression.getNextValidTimeAfter(after);
+            assertEquals(expected, schedule.nextFireTimeAfter(after), () -> "\"" + cron + "\" in " + zone + " after " + after.toInstant());
+        }
+    }
+
+    private static CronExpression quartz(String cron) throws ParseException {
+        CronExpression expression = new CronExpression(cron);
+        expression.setTimeZone(TimeZone.getDefault());
+        return expression;
+    }
+
+    // Between 2000 and 2040, at any millisecond, so starts both on and between whole seconds.
+    private static long randomInstant(Random random) {
+        return 946_684_800_000L + (long) (random.nextDouble() * 40L * 365 * 24 * 3600 * 1000);
+    }
+
+    private static String randomExpression(Random random) {
+        String seconds = randomField(random, 0, 59, null);
+        String minutes = randomField(random, 0, 59, null);
+        String hours = randomField(random, 0, 23, null);
+        String months = randomField(random, 1, 12, random.nextInt(4) == 0 ? MONTHS : null);
+        String daysOfMonth;
+        String daysOfWeek;
+        if (random.nextBoolean()) {
+            daysOfMonth = randomField(random, 1, 31, null);
+            daysOfWeek = "?";
+        } else {
+            daysOfMonth = "?";
+            daysOfWeek = randomField(random, 1, 7, random.nextInt(3) == 0 ? WEEKDAYS : null);
+        }
+        String expression = String.join(" ", seconds, minutes, hours, daysOfMonth, months, daysOfWeek);
+        if (random.nextInt(10) == 0) {
+            int first = 2000 + random.nextInt(45);
+            expression += " " + first + "-" + (first + random.nextInt(5));
+        }
+        return expression;
+    }
+
+    // A '*', a single value, a range, a list or a step, optionally written with names.
+    private static String randomField(Random random, int min, int max, String[] names) {
+        int span = max - min + 1;
+        switch (random.nextInt(6)) {
+            case 0:
+                return "*";
+            case 1:
+                return value(min + random.nextInt(span), min, names);
+            case 2: {
+                int from = min + random.nextInt(span);
+                int to = from + random.nextInt(max - from + 1);
+                return value(from, min, names) + "-" + value(to, min, names);
+            }
+            case 3: {
+                StringBuilder list = new StringBuilder(value(min + random.nextInt(span), min, names));
+                for (int n = random.nextInt(3); n >= 0; n--) {
+                    list.append(',').append(value(min + random.nextInt(span), min, names));
+                }
+                return list.toString();
+            }
+            case 4:
+                return (random.nextBoolean() ? "*" : String.valueOf(min + random.nextInt(span)))
+                        + "/" + (1 + random.nextInt(Math.max(1, span / 2)));
+            default: {
+                int from = min + random.nextInt(span);
+                int to = from + random.nextInt(max - from + 1);
+                return from + "-" + to + "/" + (1 + random.nextInt(Math.max(1, (to - from) / 2 + 1)));
+            }
+        }
+    }
+
+    private static String value(int value, int min, String[] names) {
+        return names != null ? names[value - min] : String.valueOf(value);
+    }
+
+    private static double nanosPerLookup(Supplier<Date> lookup) {
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink += lookup.get().getTime();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            sink += lookup.get().getTime();
+        }
+        double nanos = (double) (System.nanoTime() - start) / MEASURED_ROUNDS;
+        assertEquals(0, sink % 1000);
+        return nanos;
+    }
+}